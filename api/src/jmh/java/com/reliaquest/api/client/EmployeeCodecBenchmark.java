@@ -0,0 +1,74 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the Jackson JSON body against the CBOR body for employee lists.
+ * Payload sizes are printed once per trial; encode and decode times are measured per operation.
+ * Run with {@code ./gradlew :api:jmh}.
+ *
+ * @author skurade
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeCodecBenchmark {
+
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<>() {};
+
+    @Param({"50", "1000", "10000"})
+    private int size;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final EmployeeCborCodec cbor = new EmployeeCborCodec();
+
+    private List<Employee> employees;
+    private byte[] jsonBytes;
+    private byte[] cborBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee(
+                    "5255f1a5-f9f7-4be5-829a-" + String.format("%012d", i),
+                    "Employee Name " + i,
+                    50_000 + (i * 37) % 400_000,
+                    16 + i % 60,
+                    "Documentation Engineer",
+                    "employee" + i + "@company.com"));
+        }
+        jsonBytes = json.writeValueAsBytes(employees);
+        cborBytes = cbor.encodeList(employees);
+        System.out.printf(
+                "%n[size=%d] json=%d bytes, cbor=%d bytes (%.1f%%)%n",
+                size, jsonBytes.length, cborBytes.length, 100.0 * cborBytes.length / jsonBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return json.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        return cbor.encodeList(employees);
+    }
+
+    @Benchmark
+    public List<Employee> decodeJson() throws IOException {
+        return json.readValue(jsonBytes, EMPLOYEE_LIST);
+    }
+
+    @Benchmark
+    public List<Employee> decodeCbor() throws IOException {
+        return cbor.decodeList(cborBytes);
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.api.kernel;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the scalar and vector {@link IntKernels} over salary-like int columns.
+ * Run with {@code ./gradlew :api:jmh}; the Vector API module is added to the benchmark JVM by the build.
+ *
+ * @author skurade
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IntKernelsBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    private final IntKernels scalar = IntKernels.scalar();
+    private final IntKernels vector = new VectorIntKernels();
+    private int[] salaries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        salaries = new Random(42).ints(size, 20_000, 500_000).toArray();
+    }
+
+    @Benchmark
+    public int maxScalar() {
+        return scalar.max(salaries);
+    }
+
+    @Benchmark
+    public int maxVector() {
+        return vector.max(salaries);
+    }
+
+    @Benchmark
+    public long sumScalar() {
+        return scalar.sum(salaries);
+    }
+
+    @Benchmark
+    public long sumVector() {
+        return vector.sum(salaries);
+    }
+
+    @Benchmark
+    public int countInRangeScalar() {
+        return scalar.countInRange(salaries, 100_000, 200_000);
+    }
+
+    @Benchmark
+    public int countInRangeVector() {
+        return vector.countInRange(salaries, 100_000, 200_000);
+    }
+
+    @Benchmark
+    public int[] rowsAtLeastScalar() {
+        return scalar.rowsAtLeast(salaries, 490_000);
+    }
+
+    @Benchmark
+    public int[] rowsAtLeastVector() {
+        return vector.rowsAtLeast(salaries, 490_000);
+    }
+}
@@ -0,0 +1,110 @@
+package com.reliaquest.api.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the retained heap of {@link Employee} against a plain bean holding its own copy of every string,
+ * as each decoded upstream record did before titles and email domains were shared.
+ * Retained heap per {@value #SIZE} employees is printed once per trial; building them is measured per operation.
+ * Run with {@code ./gradlew :api:jmh}.
+ *
+ * @author skurade
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EmployeeFootprintBenchmark {
+
+    private static final int SIZE = 100_000;
+    private static final String[] TITLES = {
+        "Documentation Engineer", "Software Engineer", "Product Manager", "QA Analyst", "Engineering Lead"
+    };
+
+    private String[] ids;
+
+    /**
+     * Same fields as an employee, each decoded record holding its own strings.
+     */
+    private record PlainEmployee(String id, String name, int salary, int age, String title, String email) {}
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ids = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            ids[i] = UUID.nameUUIDFromBytes(Integer.toString(i).getBytes()).toString();
+        }
+        long plain = retained(this::buildPlain);
+        long compact = retained(this::buildCompact);
+        System.out.printf(
+                "%n[%d employees] plain=%.1f MB (%d B each), compact=%.1f MB (%d B each), %.1f%%%n",
+                SIZE, plain / 1e6, plain / SIZE, compact / 1e6, compact / SIZE, 100.0 * compact / plain);
+    }
+
+    @Benchmark
+    public List<PlainEmployee> buildPlain() {
+        List<PlainEmployee> employees = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            employees.add(
+                    new PlainEmployee(new String(ids[i]), name(i), salary(i), age(i), new String(title(i)), email(i)));
+        }
+        return employees;
+    }
+
+    @Benchmark
+    public List<Employee> buildCompact() {
+        List<Employee> employees = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            employees.add(new Employee(new String(ids[i]), name(i), salary(i), age(i), new String(title(i)), email(i)));
+        }
+        return employees;
+    }
+
+    private static String name(int i) {
+        return "Employee Name " + i;
+    }
+
+    private static int salary(int i) {
+        return 50_000 + (i * 37) % 400_000;
+    }
+
+    private static int age(int i) {
+        return 16 + i % 60;
+    }
+
+    private static String title(int i) {
+        return TITLES[i % TITLES.length];
+    }
+
+    private static String email(int i) {
+        return "employee" + i + "@company.com";
+    }
+
+    /**
+     * Measures the heap retained by the result of a builder after full collections.
+     *
+     * @param builder builds the objects to measure
+     * @return the retained bytes
+     */
+    private static long retained(Supplier<List<?>> builder) {
+        long before = usedAfterGc();
+        List<?> retained = builder.get();
+        long after = usedAfterGc();
+        if (retained.size() != SIZE) {
+            throw new IllegalStateException();
+        }
+        return after - before;
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
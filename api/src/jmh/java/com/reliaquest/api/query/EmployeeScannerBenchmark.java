@@ -0,0 +1,79 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares sequential and parallel scans of employee lists of growing size, to place the threshold
+ * above which {@link EmployeeScanner} splits work across cores ({@code employee.parallel.threshold}).
+ * Run with {@code ./gradlew :api:jmh}.
+ *
+ * @author skurade
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeScannerBenchmark {
+
+    @Param({"1000", "10000", "50000", "200000", "1000000"})
+    private int size;
+
+    private List<Employee> employees;
+    private EmployeeScanner sequential;
+    private EmployeeScanner parallel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee(
+                    "id-" + i,
+                    "Employee Name " + i,
+                    50_000 + (i * 37) % 400_000,
+                    16 + i % 60,
+                    "Documentation Engineer",
+                    "employee" + i + "@company.com"));
+        }
+        sequential = new EmployeeScanner(Integer.MAX_VALUE, 1);
+        parallel = new EmployeeScanner(1, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sequential.destroy();
+        parallel.destroy();
+    }
+
+    @Benchmark
+    public List<Employee> searchSequential() {
+        return sequential.filter(employees, e -> e.getName().toLowerCase().contains("name 42"));
+    }
+
+    @Benchmark
+    public List<Employee> searchParallel() {
+        return parallel.filter(employees, e -> e.getName().toLowerCase().contains("name 42"));
+    }
+
+    @Benchmark
+    public int maxSalarySequential() {
+        return sequential.maxSalary(employees);
+    }
+
+    @Benchmark
+    public int maxSalaryParallel() {
+        return parallel.maxSalary(employees);
+    }
+
+    @Benchmark
+    public List<Employee> topTenSequential() {
+        return sequential.topBySalary(employees, 10);
+    }
+
+    @Benchmark
+    public List<Employee> topTenParallel() {
+        return parallel.topBySalary(employees, 10);
+    }
+}
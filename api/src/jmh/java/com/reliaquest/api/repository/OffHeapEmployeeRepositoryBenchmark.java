@@ -0,0 +1,97 @@
+package com.reliaquest.api.repository;
+
+import com.reliaquest.api.model.Employee;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures {@link OffHeapEmployeeRepository} against a heap list of the same employees.
+ * Heap and direct memory retained per dataset size are printed once per trial; lookups by id and salary
+ * scans are measured per operation. Run with {@code ./gradlew :api:jmh}.
+ *
+ * @author skurade
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OffHeapEmployeeRepositoryBenchmark {
+
+    @Param({"100000", "1000000", "3000000"})
+    private int size;
+
+    private OffHeapEmployeeRepository repository;
+    private String[] lookups;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long heapBefore = usedHeapAfterGc();
+        long directBefore = directMemory();
+        List<Employee> employees = employees(size);
+        long heapWithList = usedHeapAfterGc();
+        repository = OffHeapEmployeeRepository.of(employees);
+        employees = null;
+        long heapOffHeap = usedHeapAfterGc();
+        System.out.printf(
+                "%n[%d employees] heap list=%.1f MB, off-heap repository: heap=%.1f MB direct=%.1f MB%n",
+                size,
+                (heapWithList - heapBefore) / 1e6,
+                (heapOffHeap - heapBefore) / 1e6,
+                (directMemory() - directBefore) / 1e6);
+        lookups = new String[1024];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = id(ThreadLocalRandom.current().nextInt(size));
+        }
+    }
+
+    @Benchmark
+    public int rowOf() {
+        return repository.rowOf(lookups[ThreadLocalRandom.current().nextInt(lookups.length)]);
+    }
+
+    @Benchmark
+    public int maxSalary() {
+        int max = Integer.MIN_VALUE;
+        for (int row = 0; row < repository.size(); row++) {
+            max = Math.max(max, repository.salary(row));
+        }
+        return max;
+    }
+
+    private static List<Employee> employees(int size) {
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee(
+                    id(i),
+                    "Employee Name " + i,
+                    50_000 + (i * 37) % 400_000,
+                    16 + i % 60,
+                    "Documentation Engineer",
+                    "employee" + i + "@company.com"));
+        }
+        return employees;
+    }
+
+    private static String id(int i) {
+        return "5255f1a5-f9f7-4be5-829a-" + String.format("%012d", i);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long directMemory() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
@@ -0,0 +1,181 @@
+package com.reliaquest.api.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to measured latency, after the gradient algorithm.
+ * <p>
+ * The mean latency of each sampling window is compared with a long moving average of it. While they
+ * agree, no queue is building and the limit grows by roughly its square root per window. Once the
+ * window mean rises above the long average, requests are queueing somewhere and the limit shrinks in
+ * proportion. The limit only grows while it is actually being used, so a quiet period cannot inflate
+ * it. Requests beyond the limit are rejected by the caller rather than queued, which keeps latency, and
+ * so goodput, flat past saturation. Requests without priority may only use a share of the limit, so
+ * they are shed first.
+ * <p>
+ * Completed requests only add to lock-free counters. The averages and the limit are recomputed once per
+ * window of {@value #SAMPLE_WINDOW} samples, by the request that closes it, so the hot path never
+ * blocks. A timed out request shrinks the limit at once.
+ *
+ * @author skurade
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final int SAMPLE_WINDOW = 10;
+    private static final int LONG_WINDOW = 600 / SAMPLE_WINDOW;
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double nonPriorityShare;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits = new AtomicLong();
+    private final LongAdder windowRttNanos = new LongAdder();
+    private final AtomicInteger windowSamples = new AtomicInteger();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    /**
+     * Constructs an {@link AdaptiveConcurrencyLimit}.
+     *
+     * @param initialLimit the limit before any latency has been measured
+     * @param minLimit the lowest the limit may fall
+     * @param maxLimit the highest the limit may rise
+     * @param nonPriorityShare the share of the limit, between 0 and 1, requests without priority may use
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double nonPriorityShare) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.nonPriorityShare = nonPriorityShare;
+        this.limitBits.set(Double.doubleToRawLongBits(Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit))));
+    }
+
+    /**
+     * Admits a request if the requests in flight are below its share of the limit.
+     *
+     * @param priority whether the request may use the whole limit
+     * @return true if the request was admitted and must later be passed to {@link #release}
+     */
+    public boolean tryAcquire(boolean priority) {
+        double limit = currentLimit();
+        int allowed = (int) Math.max(1, priority ? limit : limit * nonPriorityShare);
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Completes an admitted request and adapts the limit to its latency.
+     *
+     * @param rttNanos how long the request took
+     * @param dropped whether the request timed out, which shrinks the limit regardless of latency
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (dropped) {
+            double current;
+            double next;
+            do {
+                current = currentLimit();
+                next = Math.max(minLimit, current * DROP_BACKOFF);
+            } while (!compareAndSetLimit(current, next));
+            return;
+        }
+        windowRttNanos.add(rttNanos);
+        windowMaxInFlight.accumulateAndGet(inFlightAtCompletion, Math::max);
+        if (windowSamples.incrementAndGet() == SAMPLE_WINDOW) {
+            closeWindow();
+        }
+    }
+
+    /**
+     * Gets the current limit.
+     *
+     * @return the number of requests that may be in flight at once
+     */
+    public int limit() {
+        return (int) currentLimit();
+    }
+
+    /**
+     * Gets the number of admitted requests that have not completed.
+     *
+     * @return the requests in flight
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Closes the current sampling window and adapts the limit to its mean latency.
+     * Only the request that completed the window gets here, so this runs once per window. A sample that
+     * races the close may be counted in the next window, which a mean over the window tolerates.
+     */
+    private synchronized void closeWindow() {
+        long rttNanos = windowRttNanos.sumThenReset();
+        int maxInFlight = windowMaxInFlight.getAndSet(0);
+        int samples = windowSamples.getAndSet(0);
+        if (samples <= 0 || rttNanos <= 0) {
+            return;
+        }
+        shortRttNanos = (double) rttNanos / samples;
+        longRttNanos = average(longRttNanos, shortRttNanos, LONG_WINDOW);
+        if (longRttNanos / shortRttNanos > 2) {
+            // latency has dropped for good, let the long average catch up
+            longRttNanos *= 0.95;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRttNanos));
+        double current;
+        double next;
+        do {
+            current = currentLimit();
+            if (maxInFlight < current / 2) {
+                return;
+            }
+            double target = current * gradient + Math.sqrt(current);
+            next = Math.min(maxLimit, Math.max(minLimit, current * (1 - SMOOTHING) + target * SMOOTHING));
+        } while (!compareAndSetLimit(current, next));
+    }
+
+    /**
+     * Gets the limit with its fractional part.
+     *
+     * @return the limit
+     */
+    private double currentLimit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    /**
+     * Sets the limit if it has not changed since it was read.
+     *
+     * @param expected the limit that was read
+     * @param next the new limit
+     * @return true if the limit was set
+     */
+    private boolean compareAndSetLimit(double expected, double next) {
+        return limitBits.compareAndSet(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(next));
+    }
+
+    /**
+     * Adds a sample to an exponential moving average over roughly the given number of windows.
+     *
+     * @param average the current average, or 0 if there is none yet
+     * @param sample the sample
+     * @param window the number of windows averaged over
+     * @return the new average
+     */
+    private static double average(double average, double sample, int window) {
+        return average == 0 ? sample : average + (sample - average) * 2 / (window + 1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.reliaquest.api.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Servlet filter that sheds load ahead of authentication and the controllers.
+ * Requests beyond the {@link AdaptiveConcurrencyLimit} are answered at once with 503 Service Unavailable
+ * and a {@code Retry-After} header instead of queueing. Reads may use the whole limit while writes only
+ * get a share of it, so writes are shed first. Health, authentication and admin endpoints are never shed.
+ *
+ * @author skurade
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+
+    /**
+     * Constructs an {@link AdmissionControlFilter}.
+     *
+     * @param enabled whether requests are subject to admission control
+     * @param initialLimit the concurrency limit before any latency has been measured
+     * @param minLimit the lowest the concurrency limit may fall
+     * @param maxLimit the highest the concurrency limit may rise
+     * @param writeShare the share of the concurrency limit writes may use
+     * @param retryAfter how long rejected clients are asked to wait before retrying
+     */
+    public AdmissionControlFilter(
+            @Value("${employee.admission.enabled:true}") boolean enabled,
+            @Value("${employee.admission.initial-limit:20}") int initialLimit,
+            @Value("${employee.admission.min-limit:4}") int minLimit,
+            @Value("${employee.admission.max-limit:200}") int maxLimit,
+            @Value("${employee.admission.write-share:0.8}") double writeShare,
+            @Value("${employee.admission.retry-after:PT1S}") Duration retryAfter) {
+        this.enabled = enabled;
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, writeShare);
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    /**
+     * Admits the request if the concurrency limit allows it, otherwise responds with 503 Service Unavailable.
+     *
+     * @param request the HTTP request
+     * @param response the HTTP response
+     * @param chain the filter chain
+     * @throws ServletException if a servlet error occurs
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String method = request.getMethod();
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+        if (!limit.tryAcquire(read)) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start, response.getStatus() == HttpServletResponse.SC_GATEWAY_TIMEOUT);
+        }
+    }
+
+    /**
+     * Skips admission control when disabled and for health, authentication and admin endpoints.
+     *
+     * @param request the HTTP request
+     * @return true if the filter should not be applied, false otherwise
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !enabled
+                || path.startsWith("/api/v1/auth/")
+                || path.startsWith("/api/v1/health")
+                || path.startsWith("/api/v1/admin/");
+    }
+
+    /**
+     * Gets the adaptive concurrency limit applied by this filter.
+     *
+     * @return the limit
+     */
+    AdaptiveConcurrencyLimit limit() {
+        return limit;
+    }
+}
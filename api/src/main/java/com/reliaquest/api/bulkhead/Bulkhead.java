@@ -0,0 +1,158 @@
+package com.reliaquest.api.bulkhead;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.exception.BulkheadFullException;
+import com.reliaquest.api.model.BulkheadMetrics;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded compartment for one kind of upstream operation.
+ * At most a fixed number of operations run at once and a fixed number wait for capacity. Anything
+ * beyond that is rejected at once, and a waiting operation gives up after the maximum wait or at the
+ * deadline of its request, so one kind of operation cannot tie up the threads every other kind needs.
+ *
+ * @author skurade
+ */
+public final class Bulkhead {
+
+    /**
+     * Operation run inside a bulkhead.
+     *
+     * @param <T> the type of the result
+     * @param <E> the type of the checked failure
+     */
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+
+        /**
+         * Runs the operation.
+         *
+         * @return the result
+         * @throws E if the operation fails
+         */
+        T call() throws E;
+    }
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructs a {@link Bulkhead}.
+     *
+     * @param name the name of the compartment
+     * @param maxConcurrent the maximum number of operations running at once
+     * @param maxQueued the maximum number of operations waiting for capacity
+     * @param maxWait how long an operation waits for capacity before it is rejected
+     */
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, Duration maxWait) {
+        this.name = name;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxQueued = Math.max(0, maxQueued);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(this.maxConcurrent, true);
+    }
+
+    /**
+     * Runs an operation once the compartment has capacity for it.
+     *
+     * @param call the operation
+     * @param <T> the type of the result
+     * @param <E> the type of the checked failure
+     * @return the result of the operation
+     * @throws E if the operation fails
+     * @throws BulkheadFullException if the compartment has no capacity for the operation
+     */
+    public <T, E extends Exception> T call(Call<T, E> call) throws E {
+        acquire();
+        try {
+            return call.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Gets the current saturation of the compartment.
+     *
+     * @return the metrics
+     */
+    public BulkheadMetrics metrics() {
+        return new BulkheadMetrics(
+                name,
+                maxConcurrent,
+                maxQueued,
+                maxConcurrent - permits.availablePermits(),
+                queued.get(),
+                peakActive.get(),
+                accepted.sum(),
+                rejected.sum());
+    }
+
+    /**
+     * Takes a permit, waiting in the bounded queue if none is free.
+     * The first attempt uses a zero timeout rather than the untimed {@link Semaphore#tryAcquire()}, which
+     * would take a just-released permit ahead of the operations already queued for it.
+     *
+     * @throws BulkheadFullException if the queue is full or no permit became free in time
+     */
+    private void acquire() {
+        if (!tryAcquireNow()) {
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                throw reject("is full");
+            }
+            try {
+                Deadline deadline = Deadline.current();
+                long wait = deadline == null ? maxWaitNanos : Math.min(maxWaitNanos, deadline.remainingNanos());
+                if (!permits.tryAcquire(wait, TimeUnit.NANOSECONDS)) {
+                    Deadline.checkNotExpired(null);
+                    throw reject("timed out waiting for capacity");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject("was interrupted waiting for capacity");
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+        accepted.increment();
+        peakActive.accumulateAndGet(maxConcurrent - permits.availablePermits(), Math::max);
+    }
+
+    /**
+     * Takes a free permit without waiting, unless operations are already queued for one.
+     *
+     * @return true if a permit was taken
+     * @throws BulkheadFullException if interrupted
+     */
+    private boolean tryAcquireNow() {
+        try {
+            return permits.tryAcquire(0, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("was interrupted waiting for capacity");
+        }
+    }
+
+    /**
+     * Counts a rejection and creates the exception reporting it.
+     *
+     * @param reason why the operation was rejected
+     * @return the exception
+     */
+    private BulkheadFullException reject(String reason) {
+        rejected.increment();
+        return new BulkheadFullException("Bulkhead " + name + " " + reason);
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.api.bulkhead;
+
+import com.reliaquest.api.model.BulkheadMetrics;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The bulkhead compartments separating upstream access by kind of operation:
+ * single-employee reads, writes, and bulk reads of the full employee list.
+ *
+ * @author skurade
+ */
+@Component
+public class Bulkheads {
+
+    private final Bulkhead read;
+    private final Bulkhead write;
+    private final Bulkhead bulk;
+
+    /**
+     * Constructs the compartments with their configured sizes.
+     *
+     * @param readConcurrent the maximum number of single-employee reads running at once
+     * @param readQueued the maximum number of single-employee reads waiting for capacity
+     * @param writeConcurrent the maximum number of creates and deletes running at once
+     * @param writeQueued the maximum number of creates and deletes waiting for capacity
+     * @param bulkConcurrent the maximum number of full-list fetches running at once
+     * @param bulkQueued the maximum number of full-list fetches waiting for capacity
+     * @param maxWait how long an operation waits for capacity before it is rejected
+     */
+    public Bulkheads(
+            @Value("${employee.bulkhead.read.max-concurrent:32}") int readConcurrent,
+            @Value("${employee.bulkhead.read.max-queued:64}") int readQueued,
+            @Value("${employee.bulkhead.write.max-concurrent:8}") int writeConcurrent,
+            @Value("${employee.bulkhead.write.max-queued:16}") int writeQueued,
+            @Value("${employee.bulkhead.bulk.max-concurrent:4}") int bulkConcurrent,
+            @Value("${employee.bulkhead.bulk.max-queued:16}") int bulkQueued,
+            @Value("${employee.bulkhead.max-wait:PT0.5S}") Duration maxWait) {
+        this.read = new Bulkhead("read", readConcurrent, readQueued, maxWait);
+        this.write = new Bulkhead("write", writeConcurrent, writeQueued, maxWait);
+        this.bulk = new Bulkhead("bulk", bulkConcurrent, bulkQueued, maxWait);
+    }
+
+    /**
+     * Gets the compartment for single-employee reads.
+     *
+     * @return the read bulkhead
+     */
+    public Bulkhead read() {
+        return read;
+    }
+
+    /**
+     * Gets the compartment for creates and deletes.
+     *
+     * @return the write bulkhead
+     */
+    public Bulkhead write() {
+        return write;
+    }
+
+    /**
+     * Gets the compartment for fetches of the full employee list.
+     *
+     * @return the bulk bulkhead
+     */
+    public Bulkhead bulk() {
+        return bulk;
+    }
+
+    /**
+     * Gets the saturation of every compartment.
+     *
+     * @return the metrics of the read, write and bulk compartments
+     */
+    public List<BulkheadMetrics> metrics() {
+        return List.of(read.metrics(), write.metrics(), bulk.metrics());
+    }
+}
@@ -0,0 +1,146 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeOrder;
+import com.reliaquest.api.profiling.ThreadCosts;
+import com.reliaquest.api.timing.ServerTiming;
+import com.reliaquest.api.timing.TimingStage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Immutable, versioned copy of the employee data set.
+ * Anything computed from the data (aggregates, serialized bodies) is memoized on the snapshot itself,
+ * so replacing the snapshot invalidates all of it at once and no response can mix two versions.
+ * The heap allocated while computing each memoized value is counted, as an upper bound of what the
+ * snapshot retains beyond its employees.
+ *
+ * @author skurade
+ */
+public final class EmployeeSnapshot {
+
+    private final long version;
+    private final SnapshotView<Employee> employees;
+    private static final ThreadLocal<int[]> DERIVING = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final ConcurrentMap<String, Object> derived = new ConcurrentHashMap<>();
+    private final LongAdder derivedBytes = new LongAdder();
+
+    /**
+     * Constructs a snapshot of the given employees.
+     *
+     * @param version the employee-data version of this snapshot
+     * @param employees the employees contained in this snapshot
+     */
+    public EmployeeSnapshot(long version, List<Employee> employees) {
+        this.version = version;
+        this.employees = new SnapshotView<>(this, "employees", List.copyOf(employees));
+    }
+
+    /**
+     * Gets the employee-data version of this snapshot.
+     *
+     * @return the version
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Gets the employees of this snapshot as a read-only list.
+     *
+     * @return the employees
+     */
+    public SnapshotView<Employee> employees() {
+        return employees;
+    }
+
+    /**
+     * Looks up an employee of this snapshot by id.
+     *
+     * @param id the unique identifier of the employee
+     * @return the {@link Employee}, or null if the snapshot does not contain it
+     */
+    public Employee employeeById(String id) {
+        Map<String, Employee> byId = derive("byId", s -> {
+            Map<String, Employee> map = new HashMap<>(s.employees().size() * 2);
+            s.employees().forEach(e -> map.put(e.getId(), e));
+            return map;
+        });
+        return byId.get(id);
+    }
+
+    /**
+     * Gets the employees of this snapshot sorted by the given order.
+     * The sorted list is built once per snapshot and supports binary search.
+     *
+     * @param order the ordering
+     * @return the sorted, read-only list of employees
+     */
+    public List<Employee> sorted(EmployeeOrder order) {
+        return derive("sorted:" + order.name(), s -> {
+            long start = ServerTiming.start();
+            Employee[] sorted = s.employees().toArray(new Employee[0]);
+            Arrays.sort(sorted, order.comparator());
+            ServerTiming.stop(TimingStage.SORT, start);
+            return List.of(sorted);
+        });
+    }
+
+    /**
+     * Gets the number of values memoized on this snapshot.
+     *
+     * @return the number of derived values
+     */
+    public int derivedValues() {
+        return derived.size();
+    }
+
+    /**
+     * Gets the heap allocated while computing the values memoized on this snapshot.
+     * Temporary objects are included, so this is an upper bound of the heap the values retain.
+     *
+     * @return the allocated bytes, or 0 if allocation cannot be measured
+     */
+    public long derivedBytes() {
+        return derivedBytes.sum();
+    }
+
+    /**
+     * Returns the value memoized under the given key, computing it on first access.
+     * The factory may itself call {@code derive} for other keys; the allocation of such nested values is
+     * counted as part of the outermost one.
+     *
+     * @param key the memoization key
+     * @param factory computes the value from this snapshot
+     * @param <T> the value type
+     * @return the memoized value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T derive(String key, Function<EmployeeSnapshot, T> factory) {
+        Object value = derived.get(key);
+        if (value == null) {
+            int[] depth = DERIVING.get();
+            long start = depth[0] == 0 ? ThreadCosts.allocatedBytes() : -1;
+            depth[0]++;
+            try {
+                value = factory.apply(this);
+            } finally {
+                depth[0]--;
+            }
+            Object previous = derived.putIfAbsent(key, value);
+            if (previous != null) {
+                value = previous;
+            } else if (start >= 0) {
+                derivedBytes.add(ThreadCosts.since(start, ThreadCosts.allocatedBytes()));
+            }
+        }
+        return (T) value;
+    }
+}
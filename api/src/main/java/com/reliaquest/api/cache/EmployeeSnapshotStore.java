@@ -0,0 +1,402 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import com.reliaquest.api.model.CacheFootprint;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.profiling.HeapEstimates;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current {@link EmployeeSnapshot} and assigns employee-data versions.
+ * A new version is only issued when the employee set actually changes, so everything memoized on an
+ * unchanged snapshot stays valid across refreshes. The most recent versions are retained so that
+ * paginated reads can stay pinned to the version they started on.
+ * <p>
+ * Creates and deletes acknowledged by upstream are applied locally as a new version, so a client
+ * sees its own write immediately. They are kept as overlays until a refresh whose fetch started
+ * after the write replaces them, so a fetch that raced with the write cannot drop it again.
+ * <p>
+ * Each version follows the one it replaces and is installed with a compare-and-set, so versions have
+ * no gaps however many threads race to replace the snapshot. Concurrent refreshes of a stale snapshot
+ * share a single upstream fetch.
+ *
+ * @author skurade
+ */
+@Component
+public class EmployeeSnapshotStore {
+
+    /**
+     * Fetch of the full employee list from upstream.
+     *
+     * @param <E> the type of the checked failure
+     */
+    @FunctionalInterface
+    public interface Fetch<E extends Exception> {
+
+        /**
+         * Fetches the employees.
+         *
+         * @return the employees
+         * @throws E if the fetch fails
+         */
+        List<Employee> fetch() throws E;
+    }
+
+    private final AtomicReference<EmployeeSnapshot> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<EmployeeSnapshot>> inFlight = new AtomicReference<>();
+    private final ConcurrentSkipListMap<Long, EmployeeSnapshot> retained = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, LocalWrite> pendingWrites = new ConcurrentSkipListMap<>();
+    private final AtomicLong writeSequence = new AtomicLong();
+    private final long maxAgeNanos;
+    private final int retainedVersions;
+    private volatile long refreshedAtNanos;
+    private volatile long freshUntilNanos;
+    private volatile long lastReadNanos;
+    private volatile boolean read;
+
+    /**
+     * Constructs a store whose snapshots are considered fresh for the given duration.
+     *
+     * @param maxAge how long a snapshot may be served before it must be refreshed from upstream
+     * @param retainedVersions how many of the most recent versions stay addressable by {@link #get(long)}
+     */
+    public EmployeeSnapshotStore(
+            @Value("${employee.snapshot.max-age:PT1S}") Duration maxAge,
+            @Value("${employee.snapshot.retained-versions:4}") int retainedVersions) {
+        this.maxAgeNanos = maxAge.toNanos();
+        this.retainedVersions = Math.max(1, retainedVersions);
+    }
+
+    /**
+     * Gets the current snapshot.
+     *
+     * @return the current snapshot, or null if no data has been loaded yet
+     */
+    public EmployeeSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Gets a recent snapshot by version.
+     *
+     * @param version the employee-data version
+     * @return the snapshot, or null if the version is unknown or no longer retained
+     */
+    public EmployeeSnapshot get(long version) {
+        return retained.get(version);
+    }
+
+    /**
+     * Estimates the heap retained by the snapshots of every retained version.
+     * Employees shared between versions are counted once.
+     *
+     * @return the cache footprint
+     */
+    public CacheFootprint footprint() {
+        Set<Employee> employees = Collections.newSetFromMap(new IdentityHashMap<>());
+        long employeeBytes = 0;
+        int derivedValues = 0;
+        long derivedBytes = 0;
+        int versionCount = 0;
+        for (EmployeeSnapshot snapshot : retained.values()) {
+            versionCount++;
+            employeeBytes += HeapEstimates.referenceArray(snapshot.employees().size());
+            for (Employee employee : snapshot.employees()) {
+                if (employees.add(employee)) {
+                    employeeBytes += employee.estimatedBytes();
+                }
+            }
+            derivedValues += snapshot.derivedValues();
+            derivedBytes += snapshot.derivedBytes();
+        }
+        EmployeeSnapshot snapshot = current.get();
+        return new CacheFootprint(
+                versionCount,
+                snapshot == null ? 0 : snapshot.version(),
+                employees.size(),
+                employeeBytes,
+                derivedValues,
+                derivedBytes);
+    }
+
+    /**
+     * Checks whether the current snapshot may be served without contacting upstream.
+     *
+     * @return true if a snapshot exists and is younger than the configured max age
+     */
+    public boolean isFresh() {
+        long now = System.nanoTime();
+        return current.get() != null && (now - refreshedAtNanos < maxAgeNanos || now - freshUntilNanos < 0);
+    }
+
+    /**
+     * Keeps the current snapshot fresh beyond the configured max age, until a background refresh
+     * that is already scheduled has replaced it.
+     *
+     * @param duration how long from now the current snapshot stays fresh
+     */
+    public void holdFreshFor(Duration duration) {
+        freshUntilNanos = System.nanoTime() + duration.toNanos();
+    }
+
+    /**
+     * Records that employee data is being read.
+     */
+    public void markRead() {
+        lastReadNanos = System.nanoTime();
+        read = true;
+    }
+
+    /**
+     * Gets how long ago employee data was last read.
+     *
+     * @return the time since the last read, or null if data has never been read
+     */
+    public Duration sinceLastRead() {
+        return read ? Duration.ofNanos(System.nanoTime() - lastReadNanos) : null;
+    }
+
+    /**
+     * Gets the position of the most recent local write.
+     * Read before fetching from upstream and passed to {@link #refresh(List, long)}, so the refresh
+     * knows which local writes the fetched data is guaranteed to contain.
+     *
+     * @return the write mark
+     */
+    public long writeMark() {
+        return writeSequence.get();
+    }
+
+    /**
+     * Refreshes the current data set from upstream, sharing one fetch between concurrent callers.
+     * The first caller runs the fetch; callers arriving while it runs wait for its snapshot or failure,
+     * for no longer than the deadline of their request allows, instead of fetching the same data again.
+     *
+     * @param fetch fetches the employees from upstream
+     * @param <E> the type of the checked failure
+     * @return the snapshot that is current after the refresh
+     * @throws E if the fetch, or the fetch a caller waited for, fails
+     * @throws DeadlineExceededException if the deadline passes while waiting for another caller's fetch
+     */
+    public <E extends Exception> EmployeeSnapshot refreshShared(Fetch<E> fetch) throws E {
+        CompletableFuture<EmployeeSnapshot> shared = new CompletableFuture<>();
+        CompletableFuture<EmployeeSnapshot> running = inFlight.compareAndExchange(null, shared);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            long writeMark = writeMark();
+            EmployeeSnapshot snapshot = refresh(fetch.fetch(), writeMark);
+            shared.complete(snapshot);
+            return snapshot;
+        } catch (Throwable e) {
+            shared.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    /**
+     * Installs the given employees as the current data set, assuming they were fetched after every
+     * local write so far.
+     *
+     * @param employees the employees fetched from upstream
+     * @return the snapshot that is current after the refresh
+     */
+    public EmployeeSnapshot refresh(List<Employee> employees) {
+        return refresh(employees, writeMark());
+    }
+
+    /**
+     * Installs the given employees as the current data set.
+     * Local writes made after the write mark are re-applied on top, as the fetch may have missed them.
+     * Keeps the current snapshot, and its version, if the resulting employees are unchanged.
+     *
+     * @param employees the employees fetched from upstream
+     * @param writeMark the {@link #writeMark()} read before the fetch started
+     * @return the snapshot that is current after the refresh
+     */
+    public EmployeeSnapshot refresh(List<Employee> employees, long writeMark) {
+        pendingWrites.headMap(writeMark, true).clear();
+        EmployeeSnapshot snapshot = update(previous -> {
+            List<Employee> merged = employees;
+            for (LocalWrite write : pendingWrites.values()) {
+                merged = write.applyTo(merged);
+            }
+            return previous != null && previous.employees().equals(merged) ? previous.employees() : merged;
+        });
+        refreshedAtNanos = System.nanoTime();
+        retain(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Applies an employee created upstream to the current data set as a new version.
+     *
+     * @param employee the employee as returned by upstream
+     * @return the snapshot that is current after the write, or null if no data has been loaded yet
+     */
+    public EmployeeSnapshot applyCreated(Employee employee) {
+        return apply(new LocalWrite(employee.getId(), employee));
+    }
+
+    /**
+     * Removes an employee deleted upstream from the current data set as a new version.
+     *
+     * @param id the unique identifier of the deleted employee
+     * @return the snapshot that is current after the write, or null if no data has been loaded yet
+     */
+    public EmployeeSnapshot applyDeleted(String id) {
+        return apply(new LocalWrite(id, null));
+    }
+
+    /**
+     * Records a local write as an overlay and applies it copy-on-write to the current snapshot.
+     *
+     * @param write the write acknowledged by upstream
+     * @return the snapshot that is current after the write, or null if no data has been loaded yet
+     */
+    private EmployeeSnapshot apply(LocalWrite write) {
+        pendingWrites.put(writeSequence.incrementAndGet(), write);
+        EmployeeSnapshot snapshot = update(previous -> previous == null ? null : write.applyTo(previous.employees()));
+        if (snapshot != null) {
+            retain(snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Replaces the current snapshot with one holding the employees computed from it.
+     * The new snapshot takes the version after the one it replaces and is installed with a
+     * compare-and-set, so losing a race recomputes the employees without using up a version.
+     *
+     * @param next computes the employees from the current snapshot, or null if there is none; returns the
+     *     current employees, or null, to keep the current snapshot, and may run more than once
+     * @return the snapshot that is current afterwards
+     */
+    private EmployeeSnapshot update(Function<EmployeeSnapshot, List<Employee>> next) {
+        while (true) {
+            EmployeeSnapshot previous = current.get();
+            List<Employee> employees = next.apply(previous);
+            if (employees == null || (previous != null && employees == previous.employees())) {
+                return previous;
+            }
+            EmployeeSnapshot snapshot = new EmployeeSnapshot(previous == null ? 1 : previous.version() + 1, employees);
+            if (current.compareAndSet(previous, snapshot)) {
+                return snapshot;
+            }
+        }
+    }
+
+    /**
+     * Waits for the refresh started by another caller, for no longer than the current deadline allows.
+     *
+     * @param refresh the refresh in flight
+     * @param <E> the type of the checked failure
+     * @return the snapshot installed by the refresh
+     * @throws E if the refresh failed
+     * @throws DeadlineExceededException if the deadline passes first
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Exception> EmployeeSnapshot await(CompletableFuture<EmployeeSnapshot> refresh) throws E {
+        Deadline deadline = Deadline.current();
+        try {
+            return deadline == null ? refresh.get() : refresh.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Request deadline exceeded waiting for the employee refresh", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the employee refresh", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (E) e.getCause();
+        }
+    }
+
+    /**
+     * Keeps the snapshot addressable by version and evicts the oldest versions beyond the retention limit.
+     *
+     * @param snapshot the snapshot that just became current
+     */
+    private void retain(EmployeeSnapshot snapshot) {
+        retained.putIfAbsent(snapshot.version(), snapshot);
+        while (retained.size() > retainedVersions) {
+            retained.pollFirstEntry();
+        }
+    }
+
+    /**
+     * A create or delete acknowledged by upstream. Applying it is idempotent, so it can be replayed
+     * over data that may or may not already contain it.
+     */
+    private static final class LocalWrite {
+
+        private final String id;
+        private final Employee created;
+
+        /**
+         * Constructs a local write.
+         *
+         * @param id the unique identifier of the written employee
+         * @param created the created employee, or null for a delete
+         */
+        LocalWrite(String id, Employee created) {
+            this.id = id;
+            this.created = created;
+        }
+
+        /**
+         * Applies this write to a list of employees.
+         *
+         * @param employees the employees to write to
+         * @return a new list with the write applied, or the given list if it already reflects the write
+         */
+        List<Employee> applyTo(List<Employee> employees) {
+            int index = -1;
+            for (int i = 0; i < employees.size(); i++) {
+                if (Objects.equals(id, employees.get(i).getId())) {
+                    index = i;
+                    break;
+                }
+            }
+            if (created == null) {
+                if (index < 0) {
+                    return employees;
+                }
+                List<Employee> updated = new ArrayList<>(employees);
+                updated.remove(index);
+                return updated;
+            }
+            if (index >= 0) {
+                return employees;
+            }
+            List<Employee> updated = new ArrayList<>(employees.size() + 1);
+            updated.addAll(employees);
+            updated.add(created);
+            return updated;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.api.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized response body with a lazily computed gzip variant.
+ * Instances are immutable once both variants have been computed and are shared between requests.
+ *
+ * @author skurade
+ */
+public final class SerializedBody {
+
+    private final byte[] json;
+    private volatile byte[] gzip;
+
+    /**
+     * Constructs a body from serialized JSON bytes.
+     *
+     * @param json the JSON bytes; must not be modified afterwards
+     */
+    public SerializedBody(byte[] json) {
+        this.json = json;
+    }
+
+    /**
+     * Gets the uncompressed JSON bytes.
+     *
+     * @return the JSON bytes
+     */
+    public byte[] json() {
+        return json;
+    }
+
+    /**
+     * Gets the gzip-compressed JSON bytes, compressing them on first access.
+     *
+     * @return the gzip bytes
+     */
+    public byte[] gzip() {
+        byte[] result = gzip;
+        if (result == null) {
+            result = compress(json);
+            gzip = result;
+        }
+        return result;
+    }
+
+    private static byte[] compress(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
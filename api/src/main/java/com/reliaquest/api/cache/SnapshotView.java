@@ -0,0 +1,71 @@
+package com.reliaquest.api.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list bound to an {@link EmployeeSnapshot} and a cache key.
+ * Behaves like any other {@link List}, but its serialized body is computed once per snapshot and
+ * then written as-is by {@link SnapshotViewHttpMessageConverter}.
+ *
+ * @param <E> the element type
+ * @author skurade
+ */
+public class SnapshotView<E> extends AbstractList<E> implements RandomAccess {
+
+    private final EmployeeSnapshot snapshot;
+    private final String key;
+    private final List<E> items;
+
+    /**
+     * Constructs a view over the given items.
+     *
+     * @param snapshot the snapshot the items were derived from
+     * @param key the key identifying this view within the snapshot
+     * @param items the items of the view
+     */
+    public SnapshotView(EmployeeSnapshot snapshot, String key, List<E> items) {
+        this.snapshot = snapshot;
+        this.key = key;
+        this.items = items;
+    }
+
+    /**
+     * Gets the snapshot this view belongs to.
+     *
+     * @return the snapshot
+     */
+    public EmployeeSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the serialized JSON body of this view, serializing it on first access for this snapshot.
+     *
+     * @param objectMapper the mapper used to serialize the items
+     * @return the cached {@link SerializedBody}
+     */
+    public SerializedBody serialized(ObjectMapper objectMapper) {
+        return snapshot.derive("body:" + key, s -> {
+            try {
+                return new SerializedBody(objectMapper.writeValueAsBytes(items));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public E get(int index) {
+        return items.get(index);
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+}
@@ -0,0 +1,94 @@
+package com.reliaquest.api.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Writes {@link SnapshotView} bodies as JSON straight from the bytes cached on their snapshot.
+ * Clients sending {@code Accept-Encoding: gzip} receive the cached gzip variant, so an unchanged
+ * data set is neither re-serialized nor recompressed.
+ *
+ * @author skurade
+ */
+public class SnapshotViewHttpMessageConverter extends AbstractHttpMessageConverter<SnapshotView<?>> {
+
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a converter that serializes cache misses with the given mapper.
+     *
+     * @param objectMapper the mapper used to serialize a view the first time it is written
+     */
+    public SnapshotViewHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SnapshotView.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected SnapshotView<?> readInternal(Class<? extends SnapshotView<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Snapshot views are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(SnapshotView<?> view, HttpOutputMessage outputMessage) throws IOException {
+        SerializedBody body = view.serialized(objectMapper);
+        HttpHeaders headers = outputMessage.getHeaders();
+        if (!headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING)) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        byte[] bytes;
+        if (acceptsGzip()) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            bytes = body.gzip();
+        } else {
+            bytes = body.json();
+        }
+        headers.setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    /**
+     * Checks the current request's {@code Accept-Encoding} header for a non-zero gzip entry.
+     * A JSON snapshot view written for the current request is gzip-coded exactly when this holds.
+     *
+     * @return true if the client accepts gzip
+     */
+    public static boolean acceptsGzip() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+        String header = servletAttributes.getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (header == null) {
+            return false;
+        }
+        for (String entry : header.split(",")) {
+            String[] parts = entry.trim().split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
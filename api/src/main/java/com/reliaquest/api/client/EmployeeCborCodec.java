@@ -0,0 +1,86 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Client-side codec for the {@code application/cbor} representation served by the employee routes.
+ * Encodes and decodes {@link Employee} and {@code List<Employee>} with the same field names as the JSON body.
+ *
+ * @author skurade
+ */
+public class EmployeeCborCodec {
+
+    /**
+     * Media type to send in the {@code Accept} header to receive CBOR bodies.
+     */
+    public static final String MEDIA_TYPE = "application/cbor";
+
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<>() {};
+
+    private final ObjectMapper mapper;
+
+    /**
+     * Constructs a codec backed by a default {@link CBORMapper}.
+     */
+    public EmployeeCborCodec() {
+        this(new CBORMapper());
+    }
+
+    /**
+     * Constructs a codec backed by the given CBOR mapper.
+     *
+     * @param mapper the mapper used for encoding and decoding
+     */
+    public EmployeeCborCodec(CBORMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Encodes a single employee.
+     *
+     * @param employee the employee to encode
+     * @return the CBOR bytes
+     * @throws IOException if encoding fails
+     */
+    public byte[] encode(Employee employee) throws IOException {
+        return mapper.writeValueAsBytes(employee);
+    }
+
+    /**
+     * Encodes a list of employees.
+     *
+     * @param employees the employees to encode
+     * @return the CBOR bytes
+     * @throws IOException if encoding fails
+     */
+    public byte[] encodeList(List<Employee> employees) throws IOException {
+        return mapper.writeValueAsBytes(employees);
+    }
+
+    /**
+     * Decodes a single employee.
+     *
+     * @param bytes the CBOR bytes
+     * @return the decoded {@link Employee}
+     * @throws IOException if the bytes are not a valid employee
+     */
+    public Employee decode(byte[] bytes) throws IOException {
+        return mapper.readValue(bytes, Employee.class);
+    }
+
+    /**
+     * Decodes a list of employees.
+     *
+     * @param bytes the CBOR bytes
+     * @return the decoded list of {@link Employee} objects
+     * @throws IOException if the bytes are not a valid employee list
+     */
+    public List<Employee> decodeList(byte[] bytes) throws IOException {
+        return mapper.readValue(bytes, EMPLOYEE_LIST);
+    }
+}
@@ -1,12 +1,18 @@
 package com.reliaquest.api.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.reliaquest.api.deadline.DeadlineClientHttpRequestFactory;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.client.RestTemplate;
 
 /**
  * Configuration class for API-related beans.
- * Provides a {@link RestTemplate} bean for HTTP requests.
+ * Provides a {@link RestTemplate} bean for HTTP requests and the compact binary message converter.
  *
  * @author skurade
  */
@@ -15,11 +21,33 @@ public class ApiConfig {
 
     /**
      * Creates a {@link RestTemplate} bean to facilitate HTTP requests.
+     * Each call is given no more time than is left until the deadline of the request it serves.
      *
+     * @param connectTimeout the connect timeout of calls made without a deadline
+     * @param readTimeout the read timeout of calls made without a deadline
      * @return a new instance of {@link RestTemplate}
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(
+            @Value("${employee.upstream.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${employee.upstream.read-timeout:PT10S}") Duration readTimeout) {
+        DeadlineClientHttpRequestFactory requestFactory = new DeadlineClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) connectTimeout.toMillis());
+        requestFactory.setReadTimeout((int) readTimeout.toMillis());
+        return new RestTemplate(requestFactory);
+    }
+
+    /**
+     * Registers a CBOR message converter so that employee routes answer {@code Accept: application/cbor}
+     * with the compact binary encoding of the same Jackson model used for JSON.
+     * The mapper comes from Boot's builder, so modules and {@code spring.jackson.*} settings apply to both.
+     *
+     * @param builder the auto-configured Jackson builder, a fresh instance per injection point
+     * @return the CBOR {@link MappingJackson2CborHttpMessageConverter}
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                builder.factory(new CBORFactory()).build());
     }
 }
@@ -1,6 +1,7 @@
 package com.reliaquest.api.config;
 
 import com.reliaquest.api.security.JwtFilter;
+import com.reliaquest.api.security.SubjectRateLimiter;
 import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,14 +19,16 @@ public class SecurityConfig {
 
     /**
      * Defines the security filter chain for HTTP requests.
-     * Disables CSRF protection, sets public endpoints, and adds JWT authentication filter.
+     * Disables CSRF protection, sets public endpoints, and adds JWT authentication filter
+     * with per-subject rate limiting.
      *
      * @param http the {@link HttpSecurity} to configure
+     * @param rateLimiter the rate limiter the JWT filter applies per token subject
      * @return the configured {@link SecurityFilterChain}
      * @throws Exception if an error occurs during security configuration
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, SubjectRateLimiter rateLimiter) throws Exception {
         http.csrf()
                 .disable()
                 .authorizeHttpRequests(auth -> auth.requestMatchers("/api/v1/auth/**", "/api/v1/health")
@@ -35,7 +38,7 @@ public class SecurityConfig {
                         .anyRequest()
                         .authenticated())
                 .addFilterBefore(
-                        new JwtFilter(),
+                        new JwtFilter(rateLimiter),
                         org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
@@ -0,0 +1,64 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.SnapshotViewHttpMessageConverter;
+import com.reliaquest.api.deadline.DeadlineInterceptor;
+import com.reliaquest.api.profiling.EndpointCostInterceptor;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration for the API.
+ * Registers the converter that writes cached snapshot bodies ahead of the default Jackson converter,
+ * the interceptor that binds a deadline to every request, and the interceptor that measures the heap
+ * allocation and CPU time of employee requests.
+ *
+ * @author skurade
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final DeadlineInterceptor deadlineInterceptor;
+    private final EndpointCostInterceptor endpointCostInterceptor;
+
+    /**
+     * Constructs the configuration with the application {@link ObjectMapper}.
+     *
+     * @param objectMapper the mapper used to serialize snapshot views on a cache miss
+     * @param deadlineInterceptor the interceptor binding request deadlines
+     * @param endpointCostInterceptor the interceptor measuring the cost of employee requests
+     */
+    public WebConfig(
+            ObjectMapper objectMapper,
+            DeadlineInterceptor deadlineInterceptor,
+            EndpointCostInterceptor endpointCostInterceptor) {
+        this.objectMapper = objectMapper;
+        this.deadlineInterceptor = deadlineInterceptor;
+        this.endpointCostInterceptor = endpointCostInterceptor;
+    }
+
+    /**
+     * Adds the {@link DeadlineInterceptor}, and the {@link EndpointCostInterceptor} for employee endpoints.
+     *
+     * @param registry the interceptor registry
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(endpointCostInterceptor).addPathPatterns("/api/v1/employee/**");
+        registry.addInterceptor(deadlineInterceptor);
+    }
+
+    /**
+     * Adds the {@link SnapshotViewHttpMessageConverter} in front of the default converters.
+     *
+     * @param converters the configured message converters
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new SnapshotViewHttpMessageConverter(objectMapper));
+    }
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.api.controller.admin;
+
+import com.reliaquest.api.bulkhead.Bulkheads;
+import com.reliaquest.api.cache.EmployeeSnapshotStore;
+import com.reliaquest.api.model.BulkheadMetrics;
+import com.reliaquest.api.model.CostReport;
+import com.reliaquest.api.model.RefreshStatus;
+import com.reliaquest.api.model.RequestTiming;
+import com.reliaquest.api.model.UpstreamMetrics;
+import com.reliaquest.api.profiling.EndpointCosts;
+import com.reliaquest.api.service.EmployeeSnapshotRefresher;
+import com.reliaquest.api.timing.ServerTimingLog;
+import com.reliaquest.api.upstream.UpstreamBalancer;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing operational state of the API to administrators.
+ *
+ * @author skurade
+ */
+@RestController
+@RequestMapping("/api/v1/admin")
+public class AdminController {
+
+    private final EmployeeSnapshotRefresher refresher;
+    private final Bulkheads bulkheads;
+    private final EndpointCosts endpointCosts;
+    private final EmployeeSnapshotStore snapshotStore;
+    private final ServerTimingLog timingLog;
+    private final UpstreamBalancer upstreams;
+
+    /**
+     * Constructs an {@link AdminController}.
+     *
+     * @param refresher the background refresher of the employee data
+     * @param bulkheads the compartments bounding concurrent upstream access
+     * @param endpointCosts the heap allocation and CPU time measured per endpoint
+     * @param snapshotStore the store holding the cached employee data
+     * @param timingLog the rolling log of sampled request timings
+     * @param upstreams the balancer spreading requests across upstream instances
+     */
+    public AdminController(
+            EmployeeSnapshotRefresher refresher,
+            Bulkheads bulkheads,
+            EndpointCosts endpointCosts,
+            EmployeeSnapshotStore snapshotStore,
+            ServerTimingLog timingLog,
+            UpstreamBalancer upstreams) {
+        this.refresher = refresher;
+        this.bulkheads = bulkheads;
+        this.endpointCosts = endpointCosts;
+        this.snapshotStore = snapshotStore;
+        this.timingLog = timingLog;
+        this.upstreams = upstreams;
+    }
+
+    /**
+     * Gets the current schedule and the last outcome of the background employee data refresh.
+     *
+     * @return a {@link ResponseEntity} containing the refresher status
+     */
+    @GetMapping("/refresh")
+    public ResponseEntity<RefreshStatus> getRefreshStatus() {
+        return ResponseEntity.ok(refresher.status());
+    }
+
+    /**
+     * Gets the saturation of the read, write and bulk compartments of upstream access.
+     *
+     * @return a {@link ResponseEntity} containing the metrics of each compartment
+     */
+    @GetMapping("/bulkheads")
+    public ResponseEntity<List<BulkheadMetrics>> getBulkheadMetrics() {
+        return ResponseEntity.ok(bulkheads.metrics());
+    }
+
+    /**
+     * Gets the heap allocated and CPU time used per request by each endpoint since startup,
+     * and the heap retained by the cached employee data.
+     *
+     * @return a {@link ResponseEntity} containing the cost report
+     */
+    @GetMapping("/costs")
+    public ResponseEntity<CostReport> getCosts() {
+        return ResponseEntity.ok(new CostReport(endpointCosts.metrics(), snapshotStore.footprint()));
+    }
+
+    /**
+     * Gets the per-stage latency breakdown of the most recently sampled requests.
+     *
+     * @return a {@link ResponseEntity} containing the timings, most recent first
+     */
+    @GetMapping("/timings")
+    public ResponseEntity<List<RequestTiming>> getRequestTimings() {
+        return ResponseEntity.ok(timingLog.recent());
+    }
+
+    /**
+     * Gets whether each upstream instance is in rotation, its requests in flight and its failures.
+     *
+     * @return a {@link ResponseEntity} containing the metrics of each instance
+     */
+    @GetMapping("/upstreams")
+    public ResponseEntity<List<UpstreamMetrics>> getUpstreamMetrics() {
+        return ResponseEntity.ok(upstreams.metrics());
+    }
+}
@@ -0,0 +1,59 @@
+package com.reliaquest.api.controller.employee;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Access to optional headers and query parameters, and the authenticated subject, of the request being handled.
+ * The {@link IEmployeeController} signatures are fixed, so optional inputs such as conditional headers
+ * and pagination parameters are read from the current request instead of method arguments.
+ *
+ * @author skurade
+ */
+final class CurrentRequest {
+
+    private CurrentRequest() {
+        throw new IllegalStateException("Instantiation of this class from outside not allowed");
+    }
+
+    /**
+     * Gets a header of the current request.
+     *
+     * @param name the header name
+     * @return the header value, or null if absent or outside of a request
+     */
+    static String header(String name) {
+        HttpServletRequest request = request();
+        return request != null ? request.getHeader(name) : null;
+    }
+
+    /**
+     * Gets a query parameter of the current request.
+     *
+     * @param name the parameter name
+     * @return the parameter value, or null if absent or outside of a request
+     */
+    static String parameter(String name) {
+        HttpServletRequest request = request();
+        return request != null ? request.getParameter(name) : null;
+    }
+
+    /**
+     * Gets the subject of the token the current request was authenticated with.
+     *
+     * @return the subject, or null if the request is not authenticated
+     */
+    static String subject() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    private static HttpServletRequest request() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+}
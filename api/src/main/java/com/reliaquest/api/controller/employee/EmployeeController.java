@@ -1,9 +1,19 @@
 package com.reliaquest.api.controller.employee;
 
+import com.reliaquest.api.deadline.RequestDeadline;
+import com.reliaquest.api.exception.InvalidPageRequestException;
+import com.reliaquest.api.model.AutocompleteRank;
+import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeFilter;
+import com.reliaquest.api.model.EmployeeOrder;
+import com.reliaquest.api.model.EmployeePage;
 import com.reliaquest.api.service.IEmployeeService;
+import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,30 +21,44 @@ import org.springframework.web.bind.annotation.*;
  * REST controller for employee operations.
  * Implements endpoints for retrieving, searching, creating, and deleting employees.
  * Delegates business logic to the {@link IEmployeeService}.
+ * Read endpoints carry a strong ETag per representation and answer a matching {@code If-None-Match} with
+ * 304 Not Modified.
+ * The list and search endpoints page through a stable order when {@code limit} or {@code cursor} is given,
+ * returning the cursor of the next page in the {@value #NEXT_CURSOR_HEADER} header.
+ * Endpoints whose callers wait on them interactively carry a shorter {@link RequestDeadline}.
  *
  * @author skurade
  */
 @RestController
 @RequestMapping("/api/v1/employee")
-public class EmployeeController implements IEmployeeController {
+public class EmployeeController implements IEmployeeController<Employee, CreateEmployeeInput> {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final String[] VARY = {HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING};
 
     @Autowired
     private IEmployeeService service;
 
     /**
-     * Retrieves all employees.
+     * Retrieves all employees, or one page of them when {@code limit} or {@code cursor} is given.
      * Delegates to the service layer to fetch the list.
      *
-     * @return a {@link ResponseEntity} containing a list of {@link Employee} objects
+     * @return a {@link ResponseEntity} containing a list of {@link Employee} objects, or 304 if unchanged
      */
     @Override
     @GetMapping
     public ResponseEntity<List<Employee>> getAllEmployees() {
-        return ResponseEntity.ok(service.getAllEmployees());
+        if (isPaged()) {
+            return page(service.getEmployeePage(order(), CurrentRequest.parameter("cursor"), limit()));
+        }
+        List<Employee> employees = service.getAllEmployees();
+        return conditional(employees, EmployeeETags.forList(employees, "employees"));
     }
 
     /**
-     * Searches employees by name fragment.
+     * Searches employees by name fragment, returning one page of them when {@code limit} or {@code cursor} is given.
      * Delegates to the service layer to find matching employees.
      *
      * @param searchString the name fragment to search for
@@ -43,58 +67,112 @@ public class EmployeeController implements IEmployeeController {
     @Override
     @GetMapping("/search/{searchString}")
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        if (isPaged()) {
+            return page(service.searchEmployeePage(searchString, order(), CurrentRequest.parameter("cursor"), limit()));
+        }
         return ResponseEntity.ok(service.searchEmployeesByName(searchString));
     }
 
+    /**
+     * Suggests employees whose first or last name starts with the typed prefix, for people pickers.
+     * First-name matches come first, then the configured rank orders the suggestions.
+     *
+     * @param prefix the typed prefix
+     * @param limit the maximum number of suggestions, at most 20
+     * @param rank {@code SALARY} for highest salary first or {@code ALPHABETICAL} for name order
+     * @return a {@link ResponseEntity} containing a list of suggested {@link Employee} objects
+     */
+    @GetMapping("/autocomplete")
+    @RequestDeadline(millis = 500)
+    public ResponseEntity<List<Employee>> autocompleteEmployees(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "${employee.autocomplete.default-rank:SALARY}") AutocompleteRank rank) {
+        return ResponseEntity.ok(service.autocompleteEmployees(prefix, rank, limit));
+    }
+
+    /**
+     * Retrieves employees matching a multi-attribute filter, e.g.
+     * {@code /filter?title=Engineer&minAge=30&maxAge=40&minSalary=200000}.
+     * Repeated {@code title} parameters are combined with OR, all other criteria with AND, and {@code name}
+     * matches like the name search endpoint.
+     *
+     * @param filter the criteria bound from the query parameters
+     * @return a {@link ResponseEntity} containing a list of matching {@link Employee} objects
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<List<Employee>> filterEmployees(EmployeeFilter filter) {
+        return ResponseEntity.ok(service.filterEmployees(filter));
+    }
+
     /**
      * Retrieves an employee by their unique identifier.
      * Delegates to the service layer to fetch the employee.
+     * A conditional request is answered from the current snapshot when possible, without contacting upstream.
      *
      * @param id the unique identifier of the employee
-     * @return a {@link ResponseEntity} containing the {@link Employee} if found, or 404 if not found
+     * @return a {@link ResponseEntity} containing the {@link Employee} if found, 304 if unchanged, or 404 if not found
      */
     @Override
     @GetMapping("/{id}")
+    @RequestDeadline(millis = 1000)
     public ResponseEntity<Employee> getEmployeeById(@PathVariable String id) {
+        String ifNoneMatch = EmployeeETags.ifNoneMatch();
+        if (ifNoneMatch != null) {
+            Employee cached = service.getCachedEmployeeById(id);
+            String etag = cached != null ? EmployeeETags.forEmployee(cached) : null;
+            if (EmployeeETags.matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+        }
         Employee emp = service.getEmployeeById(id);
-        return emp != null ? ResponseEntity.ok(emp) : ResponseEntity.notFound().build();
+        return emp != null
+                ? conditional(emp, EmployeeETags.forEmployee(emp))
+                : ResponseEntity.notFound().build();
     }
 
     /**
      * Retrieves the highest salary among all employees.
      * Delegates to the service layer to compute the highest salary.
      *
-     * @return a {@link ResponseEntity} containing the highest salary as an {@link Integer}
+     * @return a {@link ResponseEntity} containing the highest salary as an {@link Integer}, or 304 if unchanged
      */
     @Override
     @GetMapping("/highestSalary")
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        return ResponseEntity.ok(service.getHighestSalary());
+        int salary = service.getHighestSalary();
+        return conditional(salary, EmployeeETags.forSalary(salary));
     }
 
     /**
      * Retrieves the top 10 highest earning employees.
      * Delegates to the service layer to fetch the list.
      *
-     * @return a {@link ResponseEntity} containing a list of top earning {@link Employee} objects
+     * @return a {@link ResponseEntity} containing a list of top earning {@link Employee} objects, or 304 if unchanged
      */
     @Override
     @GetMapping("/topTenHighestEarningEmployeeNames")
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        return ResponseEntity.ok(service.getTop10HighestEarningEmployeeNames());
+        List<String> names = service.getTop10HighestEarningEmployeeNames();
+        return conditional(names, EmployeeETags.forList(names, "top10"));
     }
 
     /**
      * Creates a new employee.
      * Delegates to the service layer to create and return the employee.
+     * A retry sent with the same {@value #IDEMPOTENCY_KEY_HEADER} as an earlier create of the same token
+     * subject gets that create's result instead of creating the employee again.
+     * An input that fails validation is rejected with 400 Bad Request before any upstream call.
      *
-     * @param employee the {@link Employee} object to create
+     * @param employeeInput the attributes of the employee to create
      * @return a {@link ResponseEntity} containing the created {@link Employee}
      */
     @Override
     @PostMapping
-    public ResponseEntity<Object> createEmployee(@RequestBody Object employee) {
-        return ResponseEntity.ok(service.createEmployee(employee));
+    @RequestDeadline(millis = 5000)
+    public ResponseEntity<Employee> createEmployee(@Valid @RequestBody CreateEmployeeInput employeeInput) {
+        return ResponseEntity.ok(service.createEmployee(
+                employeeInput, CurrentRequest.subject(), CurrentRequest.header(IDEMPOTENCY_KEY_HEADER)));
     }
 
     /**
@@ -106,10 +184,88 @@ public class EmployeeController implements IEmployeeController {
      */
     @Override
     @PostMapping("/{id}")
+    @RequestDeadline(millis = 5000)
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
         String name = service.deleteEmployeeById(id);
         return name != null
                 ? ResponseEntity.ok(name)
                 : ResponseEntity.notFound().build();
     }
+
+    /**
+     * Builds a 200 response tagged with the given ETag, or a bodiless 304 if the client already has it.
+     * Both vary by the headers the tag depends on.
+     *
+     * @param body the response body
+     * @param etag the quoted ETag of the body, or null if it has none
+     * @return the {@link ResponseEntity}
+     */
+    private static <T> ResponseEntity<T> conditional(T body, String etag) {
+        if (etag == null) {
+            return ResponseEntity.ok(body);
+        }
+        if (EmployeeETags.matches(EmployeeETags.ifNoneMatch(), etag)) {
+            return notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(VARY).body(body);
+    }
+
+    /**
+     * Builds a bodiless 304 response carrying the given ETag.
+     *
+     * @param etag the quoted ETag
+     * @return the {@link ResponseEntity}
+     */
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .varyBy(VARY)
+                .build();
+    }
+
+    /**
+     * Checks whether the current request asks for a single page.
+     *
+     * @return true if a {@code limit} or {@code cursor} parameter is present
+     */
+    private static boolean isPaged() {
+        return CurrentRequest.parameter("limit") != null || CurrentRequest.parameter("cursor") != null;
+    }
+
+    /**
+     * Parses the {@code limit} parameter of the current request.
+     *
+     * @return the page size, or the default page size if absent
+     */
+    private static int limit() {
+        String limit = CurrentRequest.parameter("limit");
+        try {
+            return limit != null ? Integer.parseInt(limit) : DEFAULT_PAGE_SIZE;
+        } catch (NumberFormatException e) {
+            throw new InvalidPageRequestException("limit must be a number");
+        }
+    }
+
+    /**
+     * Parses the {@code sort} parameter of the current request.
+     *
+     * @return the ordering, by id if absent
+     */
+    private static EmployeeOrder order() {
+        return EmployeeOrder.fromParameter(CurrentRequest.parameter("sort"));
+    }
+
+    /**
+     * Builds the response for one page, exposing the next cursor as a header.
+     *
+     * @param page the page returned by the service
+     * @return the {@link ResponseEntity}
+     */
+    private static ResponseEntity<List<Employee>> page(EmployeePage page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return builder.body(page.getItems());
+    }
 }
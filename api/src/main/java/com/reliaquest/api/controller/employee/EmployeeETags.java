@@ -0,0 +1,167 @@
+package com.reliaquest.api.controller.employee;
+
+import com.reliaquest.api.cache.SnapshotView;
+import com.reliaquest.api.cache.SnapshotViewHttpMessageConverter;
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Strong entity tags for the employee read endpoints.
+ * List bodies are tagged with the employee-data version they were built from, single employees with a
+ * hash of their attributes, so a tag changes exactly when the body would.
+ * <p>
+ * Each representation of the same data gets its own tag: CBOR bodies are suffixed {@code -cbor} and
+ * gzip-coded JSON bodies {@code -gz}, so a cache never answers a request for one representation with
+ * another. Responses carrying a tag vary by {@code Accept} and {@code Accept-Encoding}.
+ *
+ * @author skurade
+ */
+final class EmployeeETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private EmployeeETags() {
+        throw new IllegalStateException("Instantiation of this class from outside not allowed");
+    }
+
+    /**
+     * Derives the tag of a list body from the snapshot version it belongs to.
+     *
+     * @param body the list returned by the service
+     * @param view the name of the endpoint's view of the snapshot
+     * @return the quoted tag, or null if the list is not bound to a snapshot
+     */
+    static String forList(List<?> body, String view) {
+        if (body instanceof SnapshotView<?> snapshotView) {
+            return tag("v" + snapshotView.snapshot().version() + "-" + view, true);
+        }
+        return null;
+    }
+
+    /**
+     * Derives the tag of a single employee from its attributes.
+     *
+     * @param employee the employee
+     * @return the quoted tag
+     */
+    static String forEmployee(Employee employee) {
+        String attributes = employee.getId()
+                + '\0'
+                + employee.getName()
+                + '\0'
+                + employee.getSalary()
+                + '\0'
+                + employee.getAge()
+                + '\0'
+                + employee.getTitle()
+                + '\0'
+                + employee.getEmail();
+        long hash = FNV_OFFSET;
+        for (byte b : attributes.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return tag("r" + Long.toHexString(hash), false);
+    }
+
+    /**
+     * Derives the tag of a salary value, which is its own version.
+     *
+     * @param salary the salary body
+     * @return the quoted tag
+     */
+    static String forSalary(int salary) {
+        return tag("s" + salary, false);
+    }
+
+    /**
+     * Quotes an opaque tag, suffixed with the representation the current request negotiates.
+     *
+     * @param opaque the tag of the data
+     * @param gzipCoded whether the body is a snapshot view, whose JSON is gzip-coded when the client accepts it
+     * @return the quoted tag
+     */
+    private static String tag(String opaque, boolean gzipCoded) {
+        if (prefersCbor()) {
+            return "\"" + opaque + "-cbor\"";
+        }
+        if (gzipCoded && SnapshotViewHttpMessageConverter.acceptsGzip()) {
+            return "\"" + opaque + "-gz\"";
+        }
+        return "\"" + opaque + "\"";
+    }
+
+    /**
+     * Checks whether content negotiation picks CBOR over JSON for the current request.
+     * Accepted types are ranked by quality and specificity as Spring MVC ranks them, and the first one
+     * that either converter can produce decides; a wildcard resolves to JSON, the first converter.
+     *
+     * @return true if the body will be written as CBOR
+     */
+    private static boolean prefersCbor() {
+        String accept = CurrentRequest.header(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the {@code If-None-Match} header of the current request.
+     *
+     * @return the header value, or null if absent or outside of a request
+     */
+    static String ifNoneMatch() {
+        return CurrentRequest.header(HttpHeaders.IF_NONE_MATCH);
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header against a tag using weak comparison.
+     *
+     * @param ifNoneMatch the header value
+     * @param etag the current quoted tag
+     * @return true if the client's copy is still current
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
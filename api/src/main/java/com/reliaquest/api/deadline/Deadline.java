@@ -0,0 +1,111 @@
+package com.reliaquest.api.deadline;
+
+import com.reliaquest.api.exception.DeadlineExceededException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Point in time by which the current request must be answered.
+ * The deadline of the request being handled is bound to its thread, so the service and repository
+ * layers see it without it being passed through every method, and upstream calls can be given no
+ * more time than the client is still willing to wait.
+ *
+ * @author skurade
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Creates a deadline the given timeout from now.
+     *
+     * @param timeout the time left until the deadline
+     * @return the deadline
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Gets the time left until this deadline.
+     *
+     * @return the remaining time in nanoseconds, zero or negative once the deadline has passed
+     */
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    /**
+     * Checks whether this deadline has passed.
+     *
+     * @return true if no time is left
+     */
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Gets the deadline of the request handled by the current thread.
+     *
+     * @return the deadline, or null if the current thread has none
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a deadline to the current thread.
+     *
+     * @param deadline the deadline, or null to remove it
+     */
+    public static void set(Deadline deadline) {
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+    }
+
+    /**
+     * Wraps a task so that it runs with the given deadline bound to whichever thread executes it.
+     *
+     * @param deadline the deadline to propagate, or null for none
+     * @param task the task
+     * @param <T> the type of the result
+     * @return the wrapped task
+     */
+    public static <T> Supplier<T> propagate(Deadline deadline, Supplier<T> task) {
+        return () -> {
+            Deadline previous = CURRENT.get();
+            set(deadline);
+            try {
+                return task.get();
+            } finally {
+                set(previous);
+            }
+        };
+    }
+
+    /**
+     * Fails with a {@link DeadlineExceededException} if the current deadline has passed.
+     * Called where an upstream failure is handled, so that a timeout caused by the deadline is
+     * reported as such rather than as a generic upstream error.
+     *
+     * @param cause the failure observed, or null
+     * @throws DeadlineExceededException if the current thread has a deadline that has passed
+     */
+    public static void checkNotExpired(Throwable cause) {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw cause instanceof DeadlineExceededException deadlineExceeded
+                    ? deadlineExceeded
+                    : new DeadlineExceededException("Request deadline exceeded", cause);
+        }
+    }
+}
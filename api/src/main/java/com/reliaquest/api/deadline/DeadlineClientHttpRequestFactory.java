@@ -0,0 +1,49 @@
+package com.reliaquest.api.deadline;
+
+import com.reliaquest.api.exception.DeadlineExceededException;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+/**
+ * Request factory that limits the connect and read timeouts of every upstream call to the time left
+ * until the current {@link Deadline}. Calls made without a deadline keep the configured timeouts.
+ * Every connection is registered with the {@link UpstreamAttempt} of the current thread, if any, so the
+ * attempt can be aborted while it waits for a response.
+ *
+ * @author skurade
+ */
+public class DeadlineClientHttpRequestFactory extends SimpleClientHttpRequestFactory {
+
+    /**
+     * Applies the configured timeouts, then shortens them to the remaining deadline.
+     *
+     * @throws DeadlineExceededException if the deadline has already passed
+     * @throws IOException if the attempt making the call has been aborted
+     */
+    @Override
+    protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+        super.prepareConnection(connection, httpMethod);
+        UpstreamAttempt.register(connection);
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return;
+        }
+        long remainingNanos = deadline.remainingNanos();
+        if (remainingNanos <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded before calling upstream");
+        }
+        int remainingMillis =
+                (int) Math.max(1, Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMillis(remainingNanos)));
+        connection.setConnectTimeout(shorter(connection.getConnectTimeout(), remainingMillis));
+        connection.setReadTimeout(shorter(connection.getReadTimeout(), remainingMillis));
+    }
+
+    /**
+     * Picks the shorter of two timeouts, where zero means no timeout.
+     */
+    private static int shorter(int configured, int remaining) {
+        return configured <= 0 ? remaining : Math.min(configured, remaining);
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.api.deadline;
+
+import com.reliaquest.api.exception.DeadlineExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Binds a {@link Deadline} to every request handled by a controller.
+ * The timeout comes from the {@value #TIMEOUT_HEADER} header in milliseconds, capped at the configured
+ * maximum, or else from the {@link RequestDeadline} of the endpoint or the configured default.
+ *
+ * @author skurade
+ */
+@Component
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+
+    /**
+     * Constructs a {@link DeadlineInterceptor}.
+     *
+     * @param defaultTimeout the deadline of endpoints without a {@link RequestDeadline}
+     * @param maxTimeout the longest deadline a client may ask for
+     */
+    public DeadlineInterceptor(
+            @Value("${employee.deadline.default-timeout:PT3S}") Duration defaultTimeout,
+            @Value("${employee.deadline.max-timeout:PT30S}") Duration maxTimeout) {
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    /**
+     * Binds the deadline of the request to the handling thread.
+     *
+     * @throws DeadlineExceededException if the client asked for a timeout of zero or less
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Duration timeout = timeout(request, handler);
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new DeadlineExceededException("Request deadline exceeded before handling");
+        }
+        Deadline.set(Deadline.after(timeout));
+        return true;
+    }
+
+    /**
+     * Unbinds the deadline from the handling thread.
+     */
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Deadline.set(null);
+    }
+
+    /**
+     * Determines the timeout of a request.
+     *
+     * @param request the request
+     * @param handler the handler chosen for the request
+     * @return the timeout
+     */
+    Duration timeout(HttpServletRequest request, Object handler) {
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header != null) {
+            try {
+                Duration requested = Duration.ofMillis(Long.parseLong(header.trim()));
+                return requested.compareTo(maxTimeout) > 0 ? maxTimeout : requested;
+            } catch (NumberFormatException ignored) {
+                // fall back to the endpoint default
+            }
+        }
+        if (handler instanceof HandlerMethod handlerMethod) {
+            RequestDeadline endpointDeadline = handlerMethod.getMethodAnnotation(RequestDeadline.class);
+            if (endpointDeadline != null) {
+                return Duration.ofMillis(endpointDeadline.millis());
+            }
+        }
+        return defaultTimeout;
+    }
+}
@@ -0,0 +1,24 @@
+package com.reliaquest.api.deadline;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the default deadline of an endpoint, used when the client does not send
+ * {@value DeadlineInterceptor#TIMEOUT_HEADER}.
+ *
+ * @author skurade
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestDeadline {
+
+    /**
+     * Gets the default time the endpoint has to answer.
+     *
+     * @return the timeout in milliseconds
+     */
+    long millis();
+}
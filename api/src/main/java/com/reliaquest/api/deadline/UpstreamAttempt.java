@@ -0,0 +1,80 @@
+package com.reliaquest.api.deadline;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * One attempt at an upstream request, which can be aborted once its response is no longer wanted.
+ * Interrupting the thread of an attempt does not stop a read blocked on an {@link HttpURLConnection},
+ * but disconnecting the connection does. Like the {@link Deadline}, the attempt is bound to the thread
+ * running it, and {@link DeadlineClientHttpRequestFactory} registers every connection it prepares with
+ * it, so {@link #abort()} can disconnect them from another thread.
+ *
+ * @author skurade
+ */
+public final class UpstreamAttempt {
+
+    private static final ThreadLocal<UpstreamAttempt> CURRENT = new ThreadLocal<>();
+
+    private final List<HttpURLConnection> connections = new ArrayList<>();
+    private boolean aborted;
+
+    /**
+     * Wraps a task so that it runs as this attempt on whichever thread executes it.
+     *
+     * @param task the task
+     * @param <T> the type of the result
+     * @return the wrapped task
+     */
+    public <T> Supplier<T> bind(Supplier<T> task) {
+        return () -> {
+            UpstreamAttempt previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Disconnects every connection of this attempt, failing a read blocked on one of them, and fails
+     * the connections it prepares from now on.
+     */
+    public void abort() {
+        List<HttpURLConnection> open;
+        synchronized (this) {
+            aborted = true;
+            open = new ArrayList<>(connections);
+            connections.clear();
+        }
+        open.forEach(HttpURLConnection::disconnect);
+    }
+
+    /**
+     * Registers a connection with the attempt running on the current thread, if any.
+     *
+     * @param connection the connection about to be used
+     * @throws IOException if the attempt has already been aborted
+     */
+    static void register(HttpURLConnection connection) throws IOException {
+        UpstreamAttempt attempt = CURRENT.get();
+        if (attempt == null) {
+            return;
+        }
+        synchronized (attempt) {
+            if (attempt.aborted) {
+                throw new IOException("Upstream attempt aborted");
+            }
+            attempt.connections.add(connection);
+        }
+    }
+}
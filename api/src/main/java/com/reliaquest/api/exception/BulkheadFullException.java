@@ -0,0 +1,23 @@
+package com.reliaquest.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a bulkhead compartment has no free capacity and its queue is full or the wait timed out.
+ * Answered with 503 Service Unavailable.
+ *
+ * @author skurade
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BulkheadFullException extends EmployeeRuntimeException {
+
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.reliaquest.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a write brings a new idempotency key while every remembered key belongs to a write still
+ * running, so none can be forgotten to make room. Answered with 503 Service Unavailable.
+ *
+ * @author skurade
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class IdempotencyStoreFullException extends EmployeeRuntimeException {
+
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public IdempotencyStoreFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.reliaquest.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an {@code Idempotency-Key} is malformed or was already used for a different request.
+ * Answered with 422 Unprocessable Entity.
+ *
+ * @author skurade
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class InvalidIdempotencyKeyException extends EmployeeRuntimeException {
+
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
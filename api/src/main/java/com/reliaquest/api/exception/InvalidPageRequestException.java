@@ -0,0 +1,24 @@
+package com.reliaquest.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a paginated read has an invalid limit, sort order or cursor,
+ * including a cursor whose employee-data version is no longer retained.
+ * Answered with 400 Bad Request.
+ *
+ * @author skurade
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPageRequestException extends EmployeeRuntimeException {
+
+    /**
+     * Constructs a new exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
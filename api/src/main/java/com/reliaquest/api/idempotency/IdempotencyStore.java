@@ -0,0 +1,239 @@
+package com.reliaquest.api.idempotency;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import com.reliaquest.api.exception.IdempotencyStoreFullException;
+import com.reliaquest.api.exception.InvalidIdempotencyKeyException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the outcome of writes sent with an idempotency key, so a client retrying a write after a
+ * timeout or a 429 cannot apply it twice.
+ * <p>
+ * The first request with a key runs the write. Requests with the same key that arrive while it runs
+ * wait for its result, and requests that arrive after it succeeded get the stored result without
+ * running the write again. A failed write is not stored, so a later retry runs it again. Results
+ * expire after the configured time to live. The store is bounded however many distinct keys clients
+ * send: when it is full, the oldest completed results are forgotten first. Keys of writes still running
+ * are never forgotten, as that would let a retry run the write a second time; if every key belongs to
+ * a running write, a write with a new key is rejected with {@link IdempotencyStoreFullException}.
+ *
+ * @author skurade
+ */
+@Component
+public class IdempotencyStore {
+
+    /**
+     * Longest idempotency key accepted.
+     */
+    public static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * Write run under an idempotency key.
+     *
+     * @param <T> the type of the result
+     * @param <E> the type of the checked failure
+     */
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+
+        /**
+         * Runs the write.
+         *
+         * @return the result
+         * @throws E if the write fails
+         */
+        T call() throws E;
+    }
+
+    private final int maxKeys;
+    private final long ttlNanos;
+    private final Map<String, Attempt> attempts = new HashMap<>();
+    private final Map<String, Attempt> completed = new LinkedHashMap<>();
+
+    /**
+     * Constructs an {@link IdempotencyStore}.
+     *
+     * @param maxKeys the maximum number of keys remembered, the oldest completed being forgotten first
+     * @param ttl how long the result of a write is replayed after it completed
+     */
+    public IdempotencyStore(
+            @Value("${employee.idempotency.max-keys:10000}") int maxKeys,
+            @Value("${employee.idempotency.ttl:PT1H}") Duration ttl) {
+        this.maxKeys = Math.max(1, maxKeys);
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Runs a write at most once per key of a subject.
+     * Without a key the write simply runs. Keys are scoped by the subject that sent them, so two clients
+     * choosing the same key never see each other's result. A duplicate waits for the first attempt no
+     * longer than the deadline of its request allows, and gets the same result or failure.
+     *
+     * @param subject the authenticated subject that sent the key, or null if the request is anonymous
+     * @param key the idempotency key sent by the client, or null for none
+     * @param request the request the key was sent with, compared with the request of the first attempt
+     * @param call the write
+     * @param <T> the type of the result
+     * @param <E> the type of the checked failure
+     * @return the result of the first attempt with the key
+     * @throws E if the write, or the first attempt a duplicate waited for, fails
+     * @throws InvalidIdempotencyKeyException if the key is too long or was used for a different request
+     * @throws IdempotencyStoreFullException if the key is new and every remembered key belongs to a running write
+     * @throws DeadlineExceededException if the deadline passes while waiting for the first attempt
+     */
+    public <T, E extends Exception> T execute(String subject, String key, Object request, Call<T, E> call) throws E {
+        if (key == null) {
+            return call.call();
+        }
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        // header values cannot carry NUL, so the last one separates the subject from the key
+        key = (subject != null ? subject : "") + '\0' + key;
+
+        Attempt attempt;
+        boolean first;
+        synchronized (attempts) {
+            long now = System.nanoTime();
+            evictExpired(now);
+            attempt = attempts.get(key);
+            first = attempt == null;
+            if (first) {
+                makeRoom();
+                attempt = new Attempt(request);
+                attempts.put(key, attempt);
+            }
+        }
+        if (!Objects.equals(attempt.request, request)) {
+            throw new InvalidIdempotencyKeyException("Idempotency key was already used for a different request");
+        }
+        if (!first) {
+            return await(attempt);
+        }
+
+        try {
+            T result = call.call();
+            synchronized (attempts) {
+                attempt.expiresAtNanos = System.nanoTime() + ttlNanos;
+                completed.put(key, attempt);
+            }
+            attempt.result.complete(result);
+            return result;
+        } catch (Throwable e) {
+            synchronized (attempts) {
+                attempts.remove(key, attempt);
+            }
+            attempt.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of keys currently remembered.
+     *
+     * @return the number of keys, including those whose first attempt is still running
+     */
+    public int size() {
+        synchronized (attempts) {
+            return attempts.size();
+        }
+    }
+
+    /**
+     * Forgets every key whose result has expired.
+     * Completed keys are visited in the order their writes completed, which is the order in which they
+     * expire, so the visit stops at the first key still valid and costs only the keys forgotten. Keys of
+     * running writes are not among them.
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<String, Attempt>> oldest = completed.entrySet().iterator();
+        while (oldest.hasNext()) {
+            Map.Entry<String, Attempt> entry = oldest.next();
+            if (now - entry.getValue().expiresAtNanos <= 0) {
+                return;
+            }
+            oldest.remove();
+            attempts.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Makes room for a new key by forgetting the oldest completed keys while the store is full.
+     *
+     * @throws IdempotencyStoreFullException if the store is full of keys of running writes
+     */
+    private void makeRoom() {
+        Iterator<Map.Entry<String, Attempt>> oldest = completed.entrySet().iterator();
+        while (attempts.size() >= maxKeys && oldest.hasNext()) {
+            Map.Entry<String, Attempt> entry = oldest.next();
+            oldest.remove();
+            attempts.remove(entry.getKey(), entry.getValue());
+        }
+        if (attempts.size() >= maxKeys) {
+            throw new IdempotencyStoreFullException("Too many writes with an idempotency key are running, retry later");
+        }
+    }
+
+    /**
+     * Waits for the first attempt with the same key, for no longer than the current deadline allows.
+     *
+     * @param attempt the first attempt
+     * @param <T> the type of the result
+     * @param <E> the type of the checked failure
+     * @return the result of the first attempt
+     * @throws E if the first attempt failed
+     * @throws DeadlineExceededException if the deadline passes first
+     */
+    @SuppressWarnings("unchecked")
+    private static <T, E extends Exception> T await(Attempt attempt) throws E {
+        Deadline deadline = Deadline.current();
+        try {
+            return (T)
+                    (deadline == null
+                            ? attempt.result.get()
+                            : attempt.result.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Request deadline exceeded waiting for the first attempt", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the first attempt", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (E) e.getCause();
+        }
+    }
+
+    /**
+     * First attempt of a write with a given key.
+     */
+    private static final class Attempt {
+
+        private final Object request;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private long expiresAtNanos;
+
+        private Attempt(Object request) {
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.reliaquest.api.kernel;
+
+/**
+ * Scan kernels over int columns, such as the salaries or ages of a snapshot indexed by row.
+ * <p>
+ * {@link #get()} returns scalar kernels unless the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, in which case it returns kernels built on the incubating Vector
+ * API. Those are compiled in a source set of their own, so nothing else depends on the incubating module.
+ * Both give identical results.
+ *
+ * @author skurade
+ */
+public interface IntKernels {
+
+    /**
+     * Gets the fastest kernels available in this JVM.
+     *
+     * @return the vector kernels if the Vector API is available, otherwise the scalar kernels
+     */
+    static IntKernels get() {
+        return IntKernelsHolder.BEST;
+    }
+
+    /**
+     * Gets the scalar kernels.
+     *
+     * @return kernels using plain loops
+     */
+    static IntKernels scalar() {
+        return ScalarIntKernels.INSTANCE;
+    }
+
+    /**
+     * Gets the largest value.
+     *
+     * @param column the values
+     * @return the largest value, or {@link Integer#MIN_VALUE} if there are none
+     */
+    int max(int[] column);
+
+    /**
+     * Gets the sum of all values.
+     *
+     * @param column the values
+     * @return the sum, without overflow for any int column
+     */
+    long sum(int[] column);
+
+    /**
+     * Counts the values within an inclusive range.
+     *
+     * @param column the values
+     * @param min the lower bound
+     * @param max the upper bound
+     * @return the number of values between min and max
+     */
+    int countInRange(int[] column, int min, int max);
+
+    /**
+     * Selects the rows whose value is at least a threshold.
+     *
+     * @param column the values
+     * @param threshold the smallest value selected
+     * @return the selected row indexes, ascending
+     */
+    int[] rowsAtLeast(int[] column, int threshold);
+
+    /**
+     * Gets a short name of the implementation, for diagnostics.
+     *
+     * @return the implementation name
+     */
+    String name();
+}
@@ -0,0 +1,38 @@
+package com.reliaquest.api.kernel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves the best {@link IntKernels} once, on first use.
+ * The vector kernels are loaded by name, and only when the {@code jdk.incubator.vector} module is in the boot
+ * layer, so this class and the scalar kernels link without the module and without the vector classes.
+ *
+ * @author skurade
+ */
+final class IntKernelsHolder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IntKernelsHolder.class);
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNELS = "com.reliaquest.api.kernel.VectorIntKernels";
+
+    static final IntKernels BEST = resolve();
+
+    private IntKernelsHolder() {}
+
+    private static IntKernels resolve() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            LOGGER.info("Module {} not present, using scalar int kernels", VECTOR_MODULE);
+            return ScalarIntKernels.INSTANCE;
+        }
+        try {
+            IntKernels kernels = (IntKernels)
+                    Class.forName(VECTOR_KERNELS).getDeclaredConstructor().newInstance();
+            LOGGER.info("Using {} int kernels", kernels.name());
+            return kernels;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOGGER.warn("Vector int kernels unavailable, using scalar int kernels", e);
+            return ScalarIntKernels.INSTANCE;
+        }
+    }
+}
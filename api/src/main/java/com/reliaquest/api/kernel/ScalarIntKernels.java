@@ -0,0 +1,61 @@
+package com.reliaquest.api.kernel;
+
+import java.util.Arrays;
+
+/**
+ * {@link IntKernels} using plain loops, available on every JVM.
+ *
+ * @author skurade
+ */
+final class ScalarIntKernels implements IntKernels {
+
+    static final ScalarIntKernels INSTANCE = new ScalarIntKernels();
+
+    private ScalarIntKernels() {}
+
+    @Override
+    public int max(int[] column) {
+        int max = Integer.MIN_VALUE;
+        for (int value : column) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    @Override
+    public long sum(int[] column) {
+        long sum = 0;
+        for (int value : column) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Override
+    public int countInRange(int[] column, int min, int max) {
+        int count = 0;
+        for (int value : column) {
+            if (value >= min && value <= max) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int[] rowsAtLeast(int[] column, int threshold) {
+        int[] rows = new int[column.length];
+        int count = 0;
+        for (int row = 0; row < column.length; row++) {
+            if (column[row] >= threshold) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,245 @@
+package com.reliaquest.api.logging;
+
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the statements of {@link HotPathLogger}s on a background thread.
+ * <p>
+ * Request threads hand events to a bounded {@link LogRingBuffer} and return without formatting or I/O.
+ * A single writer thread drains the buffer into the underlying loggers. DEBUG and INFO statements are
+ * sampled and rate capped per message template by the {@link HotPathLogger}, and dropped if the buffer is
+ * full; how many were suppressed is logged periodically. WARN and ERROR statements are never dropped: if
+ * the buffer is full they are written on the calling thread. As the writer formats the events, log lines
+ * carry the writer's thread name and may be a few milliseconds late. An idle writer parks until a statement
+ * is handed to it or the next summary is due, so it costs no CPU while nothing is logged.
+ * <p>
+ * While the dispatcher is not running, for example in unit tests or during shutdown, every statement is
+ * written synchronously and unsampled.
+ *
+ * @author skurade
+ */
+@Component
+public class AsyncLogDispatcher implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncLogDispatcher.class);
+
+    private static volatile AsyncLogDispatcher installed;
+
+    private final boolean enabled;
+    private final int sampleEvery;
+    private final int maxPerSecond;
+    private final long summaryIntervalNanos;
+    private final LogRingBuffer<LogEvent> buffer;
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicBoolean writerParked = new AtomicBoolean();
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    /**
+     * Constructs an {@link AsyncLogDispatcher}.
+     *
+     * @param enabled whether hot-path statements are written asynchronously at all
+     * @param capacity the number of statements the buffer holds
+     * @param sampleEvery one in how many DEBUG and INFO statements of a template is kept
+     * @param maxPerSecond the most DEBUG and INFO statements of a template written per second
+     * @param summaryInterval how often the number of suppressed statements is logged
+     */
+    public AsyncLogDispatcher(
+            @Value("${employee.logging.async:true}") boolean enabled,
+            @Value("${employee.logging.capacity:8192}") int capacity,
+            @Value("${employee.logging.sample-every:10}") int sampleEvery,
+            @Value("${employee.logging.max-per-second:100}") int maxPerSecond,
+            @Value("${employee.logging.summary-interval:PT1M}") Duration summaryInterval) {
+        this.enabled = enabled;
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.maxPerSecond = Math.max(1, maxPerSecond);
+        this.summaryIntervalNanos = summaryInterval.toNanos();
+        this.buffer = new LogRingBuffer<>(capacity);
+    }
+
+    /**
+     * Gets the dispatcher hot-path loggers hand their statements to.
+     *
+     * @return the running dispatcher, or null if statements are written synchronously
+     */
+    static AsyncLogDispatcher installed() {
+        return installed;
+    }
+
+    /**
+     * Starts the writer thread and routes hot-path statements to it.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::drain, "async-log-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+        installed = this;
+    }
+
+    /**
+     * Routes hot-path statements back to the calling threads and writes what is still buffered.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        installed = null;
+        running = false;
+        Thread thread = writer;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return enabled;
+    }
+
+    /**
+     * Gets one in how many DEBUG and INFO statements of a template is kept.
+     *
+     * @return the sampling interval
+     */
+    int sampleEvery() {
+        return sampleEvery;
+    }
+
+    /**
+     * Gets the most DEBUG and INFO statements of a template written per second.
+     *
+     * @return the rate cap
+     */
+    int maxPerSecond() {
+        return maxPerSecond;
+    }
+
+    /**
+     * Hands a statement to the writer thread. A WARN or ERROR statement that does not fit in the buffer
+     * is written on the calling thread instead; any other is dropped.
+     *
+     * @param event the statement
+     */
+    void dispatch(LogEvent event) {
+        if (buffer.offer(event)) {
+            wakeWriter();
+            return;
+        }
+        if (event.level() == Level.WARN || event.level() == Level.ERROR) {
+            event.write();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Gets the number of statements dropped because the buffer was full.
+     *
+     * @return the dropped statements
+     */
+    long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Writes every statement currently in the buffer.
+     *
+     * @return the number of statements written
+     */
+    int drainOnce() {
+        int written = 0;
+        for (LogEvent event = buffer.poll(); event != null; event = buffer.poll()) {
+            try {
+                event.write();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to write log statement", e);
+            }
+            written++;
+        }
+        return written;
+    }
+
+    /**
+     * Unparks the writer thread if it is parked on an empty buffer.
+     * Only the first statement handed to a parked writer pays for the unpark.
+     */
+    private void wakeWriter() {
+        // the offer publishes the statement with a lazy write, which must not be reordered after this read
+        VarHandle.fullFence();
+        if (writerParked.get() && writerParked.compareAndSet(true, false)) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Body of the writer thread: drains the buffer until stopped, parking while it is empty until a
+     * statement arrives or the next summary is due, and periodically logs how many statements were
+     * suppressed.
+     */
+    private void drain() {
+        long nextSummary = System.nanoTime() + summaryIntervalNanos;
+        long droppedReported = 0;
+        while (running) {
+            if (drainOnce() == 0) {
+                writerParked.set(true);
+                // a statement offered before the flag was set did not unpark the writer, so look once more
+                if (running && drainOnce() == 0) {
+                    LockSupport.parkNanos(this, Math.max(0, nextSummary - System.nanoTime()));
+                }
+                writerParked.set(false);
+            }
+            if (System.nanoTime() - nextSummary >= 0) {
+                nextSummary += summaryIntervalNanos;
+                droppedReported = reportSuppressed(droppedReported);
+            }
+        }
+        drainOnce();
+        reportSuppressed(droppedReported);
+    }
+
+    /**
+     * Logs how many statements were sampled out, rate capped or dropped since the last report.
+     *
+     * @param droppedReported the number of dropped statements already reported
+     * @return the number of dropped statements reported so far
+     */
+    private long reportSuppressed(long droppedReported) {
+        long suppressed = HotPathLogger.drainSuppressed();
+        long droppedTotal = dropped.sum();
+        if (suppressed > 0 || droppedTotal > droppedReported) {
+            LOGGER.info(
+                    "Suppressed {} sampled or rate-capped log statements and dropped {} on a full buffer",
+                    suppressed,
+                    droppedTotal - droppedReported);
+        }
+        return droppedTotal;
+    }
+}
@@ -0,0 +1,176 @@
+package com.reliaquest.api.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+/**
+ * Logger for statements on the request hot path, written asynchronously by the {@link AsyncLogDispatcher}.
+ * Takes the same message templates and arguments as an SLF4J {@link Logger}, with a trailing throwable
+ * logged as the cause. Arguments are formatted on the writer thread, so they must not be mutated after
+ * the call.
+ * <p>
+ * DEBUG and INFO statements are sampled and rate capped per message template, so a message logged on
+ * every request keeps a bounded share of the log. WARN and ERROR statements are always written.
+ *
+ * @author skurade
+ */
+public final class HotPathLogger {
+
+    private static final LongAdder SUPPRESSED = new LongAdder();
+
+    private final Logger logger;
+    private final Map<String, TemplateBudget> budgets = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a {@link HotPathLogger}.
+     *
+     * @param logger the logger statements are written to
+     */
+    HotPathLogger(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Gets a hot-path logger writing to the SLF4J logger of the given class.
+     *
+     * @param type the class the statements belong to
+     * @return the logger
+     */
+    public static HotPathLogger getLogger(Class<?> type) {
+        return new HotPathLogger(LoggerFactory.getLogger(type));
+    }
+
+    /**
+     * Logs a DEBUG statement, subject to sampling and the rate cap of its template.
+     *
+     * @param template the message template
+     * @param arguments the arguments of the placeholders
+     */
+    public void debug(String template, Object... arguments) {
+        if (logger.isDebugEnabled()) {
+            sampled(Level.DEBUG, template, arguments);
+        }
+    }
+
+    /**
+     * Logs an INFO statement, subject to sampling and the rate cap of its template.
+     *
+     * @param template the message template
+     * @param arguments the arguments of the placeholders
+     */
+    public void info(String template, Object... arguments) {
+        if (logger.isInfoEnabled()) {
+            sampled(Level.INFO, template, arguments);
+        }
+    }
+
+    /**
+     * Logs a WARN statement. It is never dropped.
+     *
+     * @param template the message template
+     * @param arguments the arguments of the placeholders, optionally followed by a throwable
+     */
+    public void warn(String template, Object... arguments) {
+        if (logger.isWarnEnabled()) {
+            always(Level.WARN, template, arguments);
+        }
+    }
+
+    /**
+     * Logs an ERROR statement. It is never dropped.
+     *
+     * @param template the message template
+     * @param arguments the arguments of the placeholders, optionally followed by a throwable
+     */
+    public void error(String template, Object... arguments) {
+        if (logger.isErrorEnabled()) {
+            always(Level.ERROR, template, arguments);
+        }
+    }
+
+    /**
+     * Gets and resets the number of statements suppressed by sampling or rate caps across all loggers.
+     *
+     * @return the suppressed statements since the last call
+     */
+    static long drainSuppressed() {
+        return SUPPRESSED.sumThenReset();
+    }
+
+    /**
+     * Hands a DEBUG or INFO statement to the dispatcher if its template's budget admits it,
+     * or writes it directly while no dispatcher is running.
+     *
+     * @param level the level of the statement
+     * @param template the message template
+     * @param arguments the arguments of the placeholders
+     */
+    private void sampled(Level level, String template, Object[] arguments) {
+        AsyncLogDispatcher dispatcher = AsyncLogDispatcher.installed();
+        if (dispatcher == null) {
+            new LogEvent(logger, level, template, arguments).write();
+            return;
+        }
+        if (!budgets.computeIfAbsent(template, t -> new TemplateBudget())
+                .admit(dispatcher.sampleEvery(), dispatcher.maxPerSecond())) {
+            SUPPRESSED.increment();
+            return;
+        }
+        dispatcher.dispatch(new LogEvent(logger, level, template, arguments));
+    }
+
+    /**
+     * Hands a WARN or ERROR statement to the dispatcher, or writes it directly while no dispatcher is running.
+     *
+     * @param level the level of the statement
+     * @param template the message template
+     * @param arguments the arguments of the placeholders, optionally followed by a throwable
+     */
+    private void always(Level level, String template, Object[] arguments) {
+        LogEvent event = new LogEvent(logger, level, template, arguments);
+        AsyncLogDispatcher dispatcher = AsyncLogDispatcher.installed();
+        if (dispatcher == null) {
+            event.write();
+        } else {
+            dispatcher.dispatch(event);
+        }
+    }
+
+    /**
+     * Sampling and rate cap state of one message template. The window of the rate cap is about a second,
+     * taken from the high bits of {@link System#nanoTime()}.
+     */
+    private static final class TemplateBudget {
+
+        private static final int WINDOW_SHIFT = 30;
+
+        private final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger admitted = new AtomicInteger();
+
+        /**
+         * Decides whether a statement of this template is written.
+         *
+         * @param sampleEvery one in how many statements is kept
+         * @param maxPerSecond the most statements written per window
+         * @return true if the statement is written
+         */
+        boolean admit(int sampleEvery, int maxPerSecond) {
+            if (sampleEvery > 1 && ThreadLocalRandom.current().nextInt(sampleEvery) != 0) {
+                return false;
+            }
+            long now = System.nanoTime() >>> WINDOW_SHIFT;
+            long current = window.get();
+            if (current != now && window.compareAndSet(current, now)) {
+                admitted.set(0);
+            }
+            return admitted.incrementAndGet() <= maxPerSecond;
+        }
+    }
+}
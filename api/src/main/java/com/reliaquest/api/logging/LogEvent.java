@@ -0,0 +1,54 @@
+package com.reliaquest.api.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+/**
+ * A log statement captured on a request thread, to be formatted and written by the {@link AsyncLogDispatcher}.
+ *
+ * @author skurade
+ */
+final class LogEvent {
+
+    private final Logger logger;
+    private final Level level;
+    private final String template;
+    private final Object[] arguments;
+
+    /**
+     * Constructs a {@link LogEvent}.
+     *
+     * @param logger the logger to write to
+     * @param level the level of the statement
+     * @param template the message template with {@code {}} placeholders
+     * @param arguments the arguments of the placeholders, optionally followed by a throwable
+     */
+    LogEvent(Logger logger, Level level, String template, Object[] arguments) {
+        this.logger = logger;
+        this.level = level;
+        this.template = template;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Gets the level of the statement.
+     *
+     * @return the level
+     */
+    Level level() {
+        return level;
+    }
+
+    /**
+     * Formats and writes the statement to its logger.
+     */
+    void write() {
+        switch (level) {
+            case ERROR -> logger.error(template, arguments);
+            case WARN -> logger.warn(template, arguments);
+            case INFO -> logger.info(template, arguments);
+            case DEBUG -> logger.debug(template, arguments);
+            default -> logger.trace(template, arguments);
+        }
+    }
+}
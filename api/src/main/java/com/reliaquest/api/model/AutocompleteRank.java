@@ -0,0 +1,32 @@
+package com.reliaquest.api.model;
+
+import java.util.Comparator;
+
+/**
+ * Orderings of autocomplete suggestions.
+ * Employees whose first name matches the prefix always come before employees matched by a later name
+ * token; the ordering decides within each of those two groups.
+ *
+ * @author skurade
+ */
+public enum AutocompleteRank {
+    SALARY(Comparator.comparingInt(Employee::getSalary)
+            .reversed()
+            .thenComparing(Employee::getName, String.CASE_INSENSITIVE_ORDER)),
+    ALPHABETICAL(Comparator.comparing(Employee::getName, String.CASE_INSENSITIVE_ORDER));
+
+    private final Comparator<Employee> comparator;
+
+    AutocompleteRank(Comparator<Employee> comparator) {
+        this.comparator = comparator.thenComparing(EmployeeOrder.ID.comparator());
+    }
+
+    /**
+     * Gets the comparator ranking employees within a match group.
+     *
+     * @return the comparator
+     */
+    public Comparator<Employee> comparator() {
+        return comparator;
+    }
+}
@@ -0,0 +1,129 @@
+package com.reliaquest.api.model;
+
+/**
+ * Saturation of one bulkhead compartment.
+ *
+ * @author skurade
+ */
+public class BulkheadMetrics {
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final int active;
+    private final int queued;
+    private final int peakActive;
+    private final long accepted;
+    private final long rejected;
+
+    /**
+     * Constructs a {@link BulkheadMetrics}.
+     *
+     * @param name the name of the compartment
+     * @param maxConcurrent the maximum number of operations running at once
+     * @param maxQueued the maximum number of operations waiting for capacity
+     * @param active the number of operations running now
+     * @param queued the number of operations waiting now
+     * @param peakActive the highest number of operations that have run at once
+     * @param accepted the number of operations admitted so far
+     * @param rejected the number of operations rejected so far
+     */
+    public BulkheadMetrics(
+            String name,
+            int maxConcurrent,
+            int maxQueued,
+            int active,
+            int queued,
+            int peakActive,
+            long accepted,
+            long rejected) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.active = active;
+        this.queued = queued;
+        this.peakActive = peakActive;
+        this.accepted = accepted;
+        this.rejected = rejected;
+    }
+
+    /**
+     * Gets the name of the compartment.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the maximum number of operations running at once.
+     *
+     * @return the concurrency limit
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * Gets the maximum number of operations waiting for capacity.
+     *
+     * @return the queue limit
+     */
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    /**
+     * Gets the number of operations running now.
+     *
+     * @return the active operations
+     */
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * Gets the number of operations waiting now.
+     *
+     * @return the queued operations
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * Gets the highest number of operations that have run at once.
+     *
+     * @return the peak active operations
+     */
+    public int getPeakActive() {
+        return peakActive;
+    }
+
+    /**
+     * Gets the number of operations admitted so far.
+     *
+     * @return the accepted operations
+     */
+    public long getAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Gets the number of operations rejected so far.
+     *
+     * @return the rejected operations
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Gets the fraction of the concurrency limit in use.
+     *
+     * @return the saturation between 0 and 1
+     */
+    public double getSaturation() {
+        return maxConcurrent == 0 ? 1 : (double) active / maxConcurrent;
+    }
+}
@@ -0,0 +1,103 @@
+package com.reliaquest.api.model;
+
+/**
+ * Estimated heap retained by the cached employee data.
+ *
+ * @author skurade
+ */
+public class CacheFootprint {
+    private final int versions;
+    private final long currentVersion;
+    private final int employees;
+    private final long employeeBytes;
+    private final int derivedValues;
+    private final long derivedBytes;
+
+    /**
+     * Constructs a {@link CacheFootprint}.
+     *
+     * @param versions the number of snapshot versions retained
+     * @param currentVersion the version of the current snapshot, or 0 if no data has been loaded yet
+     * @param employees the number of distinct employees across the retained versions
+     * @param employeeBytes the estimated heap of those employees and of the lists holding them
+     * @param derivedValues the number of values memoized on the retained versions
+     * @param derivedBytes the heap allocated computing those values, an upper bound of what they retain
+     */
+    public CacheFootprint(
+            int versions,
+            long currentVersion,
+            int employees,
+            long employeeBytes,
+            int derivedValues,
+            long derivedBytes) {
+        this.versions = versions;
+        this.currentVersion = currentVersion;
+        this.employees = employees;
+        this.employeeBytes = employeeBytes;
+        this.derivedValues = derivedValues;
+        this.derivedBytes = derivedBytes;
+    }
+
+    /**
+     * Gets the number of snapshot versions retained.
+     *
+     * @return the versions
+     */
+    public int getVersions() {
+        return versions;
+    }
+
+    /**
+     * Gets the version of the current snapshot.
+     *
+     * @return the current version, or 0 if no data has been loaded yet
+     */
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+
+    /**
+     * Gets the number of distinct employees across the retained versions.
+     *
+     * @return the employees
+     */
+    public int getEmployees() {
+        return employees;
+    }
+
+    /**
+     * Gets the estimated heap of the retained employees and of the lists holding them.
+     *
+     * @return the size in bytes
+     */
+    public long getEmployeeBytes() {
+        return employeeBytes;
+    }
+
+    /**
+     * Gets the number of values, such as indexes and serialized bodies, memoized on the retained versions.
+     *
+     * @return the derived values
+     */
+    public int getDerivedValues() {
+        return derivedValues;
+    }
+
+    /**
+     * Gets the heap allocated computing the memoized values, an upper bound of what they retain.
+     *
+     * @return the size in bytes
+     */
+    public long getDerivedBytes() {
+        return derivedBytes;
+    }
+
+    /**
+     * Gets the estimated heap retained by the cached employee data in total.
+     *
+     * @return the size in bytes
+     */
+    public long getTotalBytes() {
+        return employeeBytes + derivedBytes;
+    }
+}
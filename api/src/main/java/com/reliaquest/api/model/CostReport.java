@@ -0,0 +1,43 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+
+/**
+ * Heap and CPU cost of the API: what each endpoint spends per request, and what the cached employee
+ * data retains.
+ *
+ * @author skurade
+ */
+public class CostReport {
+    private final List<EndpointCostMetrics> endpoints;
+    private final CacheFootprint cache;
+
+    /**
+     * Constructs a {@link CostReport}.
+     *
+     * @param endpoints the costs of each endpoint
+     * @param cache the footprint of the cached employee data
+     */
+    public CostReport(List<EndpointCostMetrics> endpoints, CacheFootprint cache) {
+        this.endpoints = endpoints;
+        this.cache = cache;
+    }
+
+    /**
+     * Gets the costs of each endpoint, most allocating first.
+     *
+     * @return the endpoint costs
+     */
+    public List<EndpointCostMetrics> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Gets the footprint of the cached employee data.
+     *
+     * @return the cache footprint
+     */
+    public CacheFootprint getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,148 @@
+package com.reliaquest.api.model;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.util.Objects;
+
+/**
+ * Request body for creating an employee.
+ * Bound directly from the JSON sent by the client and validated before any upstream call, then sent
+ * to the Mock Employee API as is, since both use the same property names.
+ *
+ * @author skurade
+ */
+public class CreateEmployeeInput {
+
+    @NotBlank
+    private String name;
+
+    @NotNull @Positive private Integer salary;
+
+    @NotNull @Min(16)
+    @Max(75)
+    private Integer age;
+
+    @NotBlank
+    private String title;
+
+    /**
+     * Constructs an empty input, to be populated by data binding.
+     */
+    public CreateEmployeeInput() {}
+
+    /**
+     * Constructs an input with the given attributes.
+     *
+     * @param name the employee's name
+     * @param salary the employee's salary
+     * @param age the employee's age
+     * @param title the employee's job title
+     */
+    public CreateEmployeeInput(String name, Integer salary, Integer age, String title) {
+        this.name = name;
+        this.salary = salary;
+        this.age = age;
+        this.title = title;
+    }
+
+    /**
+     * Gets the employee's name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the employee's name.
+     *
+     * @param name the name, not blank
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the employee's salary.
+     *
+     * @return the salary
+     */
+    public Integer getSalary() {
+        return salary;
+    }
+
+    /**
+     * Sets the employee's salary.
+     *
+     * @param salary the salary, greater than zero
+     */
+    public void setSalary(Integer salary) {
+        this.salary = salary;
+    }
+
+    /**
+     * Gets the employee's age.
+     *
+     * @return the age
+     */
+    public Integer getAge() {
+        return age;
+    }
+
+    /**
+     * Sets the employee's age.
+     *
+     * @param age the age, between 16 and 75
+     */
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    /**
+     * Gets the employee's job title.
+     *
+     * @return the title
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Sets the employee's job title.
+     *
+     * @param title the title, not blank
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Compares inputs by all attributes, so that a retried create can be told apart from a different one.
+     *
+     * @param o the object to compare with
+     * @return true if the other object is a {@link CreateEmployeeInput} with the same attributes
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CreateEmployeeInput other)) return false;
+        return Objects.equals(name, other.name)
+                && Objects.equals(salary, other.salary)
+                && Objects.equals(age, other.age)
+                && Objects.equals(title, other.title);
+    }
+
+    /**
+     * Computes a hash code from all attributes.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, salary, age, title);
+    }
+}
@@ -1,18 +1,35 @@
 package com.reliaquest.api.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.reliaquest.api.profiling.HeapEstimates;
+import java.util.Objects;
+
 /**
  * Represents an employee entity with attributes such as id, name, salary, age, title, and email.
  * Used for API operations involving employee data.
+ * <p>
+ * Instances are immutable and compact: titles come from a small vocabulary and email addresses share
+ * a handful of domains, so titles and email domains are held once in a dictionary and shared by every
+ * employee, and only the local part of each email address is stored per employee. The JSON shape is the
+ * same as for a plain bean with one property per attribute.
  *
  * @author skurade
  */
-public class Employee {
-    private String id;
-    private String name;
-    private int salary;
-    private int age;
-    private String title;
-    private String email;
+public final class Employee {
+
+    private static final int MAX_DICTIONARY_ENTRIES = 4096;
+    private static final StringDictionary TITLES = new StringDictionary(MAX_DICTIONARY_ENTRIES);
+    private static final StringDictionary EMAIL_DOMAINS = new StringDictionary(MAX_DICTIONARY_ENTRIES);
+    private static final int OBJECT_BYTES = HeapEstimates.object(5, 2 * Integer.BYTES);
+
+    private final String id;
+    private final String name;
+    private final int salary;
+    private final int age;
+    private final String title;
+    private final String emailLocalPart;
+    private final String emailDomain;
 
     /**
      * Constructs an {@link Employee} with the specified attributes.
@@ -24,20 +41,29 @@ public class Employee {
      * @param title the job title of the employee
      * @param email the email address of the employee
      */
-    public Employee(String id, String name, int salary, int age, String title, String email) {
+    @JsonCreator
+    public Employee(
+            @JsonProperty("id") String id,
+            @JsonProperty("name") String name,
+            @JsonProperty("salary") int salary,
+            @JsonProperty("age") int age,
+            @JsonProperty("title") String title,
+            @JsonProperty("email") String email) {
         this.id = id;
         this.name = name;
         this.salary = salary;
         this.age = age;
-        this.title = title;
-        this.email = email;
+        this.title = TITLES.canonical(title);
+        int at = email != null ? email.lastIndexOf('@') : -1;
+        if (at < 0) {
+            this.emailLocalPart = email;
+            this.emailDomain = null;
+        } else {
+            this.emailLocalPart = email.substring(0, at);
+            this.emailDomain = EMAIL_DOMAINS.canonical(email.substring(at + 1));
+        }
     }
 
-    /**
-     * Default constructor for Employee.
-     */
-    public Employee() { }
-
     /**
      * Gets the unique identifier of the employee.
      *
@@ -47,15 +73,6 @@ public class Employee {
         return id;
     }
 
-    /**
-     * Sets the unique identifier of the employee.
-     *
-     * @param id the employee id
-     */
-    public void setId(String id) {
-        this.id = id;
-    }
-
     /**
      * Gets the name of the employee.
      *
@@ -65,15 +82,6 @@ public class Employee {
         return name;
     }
 
-    /**
-     * Sets the name of the employee.
-     *
-     * @param name the employee name
-     */
-    public void setName(String name) {
-        this.name = name;
-    }
-
     /**
      * Gets the salary of the employee.
      *
@@ -83,15 +91,6 @@ public class Employee {
         return salary;
     }
 
-    /**
-     * Sets the salary of the employee.
-     *
-     * @param salary the employee salary
-     */
-    public void setSalary(int salary) {
-        this.salary = salary;
-    }
-
     /**
      * Gets the age of the employee.
      *
@@ -102,47 +101,63 @@ public class Employee {
     }
 
     /**
-     * Sets the age of the employee.
+     * Gets the job title of the employee.
      *
-     * @param age the employee age
+     * @return the employee title
      */
-    public void setAge(int age) {
-        this.age = age;
+    public String getTitle() {
+        return title;
     }
 
     /**
-     * Gets the job title of the employee.
+     * Gets the email address of the employee.
      *
-     * @return the employee title
+     * @return the employee email
      */
-    public String getTitle() {
-        return title;
+    public String getEmail() {
+        return emailDomain == null ? emailLocalPart : emailLocalPart + '@' + emailDomain;
     }
 
     /**
-     * Sets the job title of the employee.
+     * Estimates the heap retained by this employee alone: the object itself and the strings it does not
+     * share with other employees. The title and email domain are held once in a dictionary and not counted.
      *
-     * @param title the employee title
+     * @return the estimated size in bytes
      */
-    public void setTitle(String title) {
-        this.title = title;
+    public long estimatedBytes() {
+        return OBJECT_BYTES
+                + HeapEstimates.string(id)
+                + HeapEstimates.string(name)
+                + HeapEstimates.string(emailLocalPart);
     }
 
     /**
-     * Gets the email address of the employee.
+     * Compares employees by all attributes, so that unchanged upstream data can be detected.
      *
-     * @return the employee email
+     * @param o the object to compare with
+     * @return true if the other object is an {@link Employee} with the same attributes
      */
-    public String getEmail() {
-        return email;
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Employee)) return false;
+        Employee other = (Employee) o;
+        return salary == other.salary
+                && age == other.age
+                && Objects.equals(id, other.id)
+                && Objects.equals(name, other.name)
+                && Objects.equals(title, other.title)
+                && Objects.equals(emailLocalPart, other.emailLocalPart)
+                && Objects.equals(emailDomain, other.emailDomain);
     }
 
     /**
-     * Sets the email address of the employee.
+     * Computes a hash code from all attributes.
      *
-     * @param email the employee email
+     * @return the hash code
      */
-    public void setEmail(String email) {
-        this.email = email;
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, salary, age, title, emailLocalPart, emailDomain);
     }
 }
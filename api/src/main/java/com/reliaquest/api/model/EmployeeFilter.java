@@ -0,0 +1,127 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+
+/**
+ * Criteria of a multi-attribute employee query.
+ * All criteria are optional and combined with AND; several titles are combined with OR.
+ * Bound from the query parameters of the filter endpoint.
+ *
+ * @author skurade
+ */
+public class EmployeeFilter {
+    private List<String> title;
+    private Integer minAge;
+    private Integer maxAge;
+    private Integer minSalary;
+    private Integer maxSalary;
+    private String name;
+
+    /**
+     * Gets the accepted job titles, matched ignoring case.
+     *
+     * @return the titles, or null to accept any title
+     */
+    public List<String> getTitle() {
+        return title;
+    }
+
+    /**
+     * Sets the accepted job titles.
+     *
+     * @param title the titles
+     */
+    public void setTitle(List<String> title) {
+        this.title = title;
+    }
+
+    /**
+     * Gets the inclusive lower bound of the age.
+     *
+     * @return the minimum age, or null if unbounded
+     */
+    public Integer getMinAge() {
+        return minAge;
+    }
+
+    /**
+     * Sets the inclusive lower bound of the age.
+     *
+     * @param minAge the minimum age
+     */
+    public void setMinAge(Integer minAge) {
+        this.minAge = minAge;
+    }
+
+    /**
+     * Gets the inclusive upper bound of the age.
+     *
+     * @return the maximum age, or null if unbounded
+     */
+    public Integer getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Sets the inclusive upper bound of the age.
+     *
+     * @param maxAge the maximum age
+     */
+    public void setMaxAge(Integer maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Gets the inclusive lower bound of the salary.
+     *
+     * @return the minimum salary, or null if unbounded
+     */
+    public Integer getMinSalary() {
+        return minSalary;
+    }
+
+    /**
+     * Sets the inclusive lower bound of the salary.
+     *
+     * @param minSalary the minimum salary
+     */
+    public void setMinSalary(Integer minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    /**
+     * Gets the inclusive upper bound of the salary.
+     *
+     * @return the maximum salary, or null if unbounded
+     */
+    public Integer getMaxSalary() {
+        return maxSalary;
+    }
+
+    /**
+     * Sets the inclusive upper bound of the salary.
+     *
+     * @param maxSalary the maximum salary
+     */
+    public void setMaxSalary(Integer maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    /**
+     * Gets the name fragment, matched like the name search endpoint.
+     *
+     * @return the name fragment, or null to accept any name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the name fragment.
+     *
+     * @param name the name fragment
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+}
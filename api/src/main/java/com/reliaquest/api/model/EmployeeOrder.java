@@ -0,0 +1,49 @@
+package com.reliaquest.api.model;
+
+import com.reliaquest.api.exception.InvalidPageRequestException;
+import java.util.Comparator;
+
+/**
+ * Stable orderings available for paginated employee reads.
+ * Every ordering ends with the employee id, so no two employees compare equal.
+ *
+ * @author skurade
+ */
+public enum EmployeeOrder {
+    ID(Comparator.comparing(Employee::getId, Comparator.nullsFirst(Comparator.naturalOrder()))),
+    SALARY(Comparator.comparingInt(Employee::getSalary).thenComparing(ID.comparator));
+
+    private final Comparator<Employee> comparator;
+
+    EmployeeOrder(Comparator<Employee> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Gets the comparator implementing this ordering.
+     *
+     * @return the comparator
+     */
+    public Comparator<Employee> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Resolves an ordering from a {@code sort} request parameter.
+     *
+     * @param value the parameter value, or null for the default ordering by id
+     * @return the matching {@link EmployeeOrder}
+     * @throws InvalidPageRequestException if the value names no ordering
+     */
+    public static EmployeeOrder fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        for (EmployeeOrder order : values()) {
+            if (order.name().equalsIgnoreCase(value.trim())) {
+                return order;
+            }
+        }
+        throw new InvalidPageRequestException("Unsupported sort order: " + value);
+    }
+}
@@ -0,0 +1,43 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+
+/**
+ * One page of a paginated employee read.
+ * Holds the employees of the page and the opaque cursor of the following page.
+ *
+ * @author skurade
+ */
+public class EmployeePage {
+    private final List<Employee> items;
+    private final String nextCursor;
+
+    /**
+     * Constructs an {@link EmployeePage}.
+     *
+     * @param items the employees of this page
+     * @param nextCursor the cursor of the next page, or null if this is the last page
+     */
+    public EmployeePage(List<Employee> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the employees of this page.
+     *
+     * @return the employees
+     */
+    public List<Employee> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the cursor of the next page.
+     *
+     * @return the cursor, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,112 @@
+package com.reliaquest.api.model;
+
+/**
+ * Heap allocation and CPU time spent handling the requests of one endpoint.
+ *
+ * @author skurade
+ */
+public class EndpointCostMetrics {
+    private final String endpoint;
+    private final long requests;
+    private final long allocatedBytes;
+    private final long maxAllocatedBytes;
+    private final long cpuNanos;
+    private final long maxCpuNanos;
+
+    /**
+     * Constructs an {@link EndpointCostMetrics}.
+     *
+     * @param endpoint the name of the handler method
+     * @param requests the number of requests measured
+     * @param allocatedBytes the heap bytes allocated by all measured requests, or -1 if not measurable
+     * @param maxAllocatedBytes the most heap bytes allocated by one request, or -1 if not measurable
+     * @param cpuNanos the CPU time used by all measured requests, or -1 if not measurable
+     * @param maxCpuNanos the most CPU time used by one request, or -1 if not measurable
+     */
+    public EndpointCostMetrics(
+            String endpoint,
+            long requests,
+            long allocatedBytes,
+            long maxAllocatedBytes,
+            long cpuNanos,
+            long maxCpuNanos) {
+        this.endpoint = endpoint;
+        this.requests = requests;
+        this.allocatedBytes = allocatedBytes;
+        this.maxAllocatedBytes = maxAllocatedBytes;
+        this.cpuNanos = cpuNanos;
+        this.maxCpuNanos = maxCpuNanos;
+    }
+
+    /**
+     * Gets the name of the handler method.
+     *
+     * @return the endpoint
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Gets the number of requests measured.
+     *
+     * @return the requests
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * Gets the heap bytes allocated by all measured requests.
+     *
+     * @return the allocated bytes, or -1 if not measurable
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Gets the most heap bytes allocated by one request.
+     *
+     * @return the maximum allocated bytes, or -1 if not measurable
+     */
+    public long getMaxAllocatedBytes() {
+        return maxAllocatedBytes;
+    }
+
+    /**
+     * Gets the CPU time used by all measured requests.
+     *
+     * @return the CPU time in nanoseconds, or -1 if not measurable
+     */
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    /**
+     * Gets the most CPU time used by one request.
+     *
+     * @return the maximum CPU time in nanoseconds, or -1 if not measurable
+     */
+    public long getMaxCpuNanos() {
+        return maxCpuNanos;
+    }
+
+    /**
+     * Gets the mean heap bytes allocated per request.
+     *
+     * @return the mean allocated bytes, or -1 if not measurable
+     */
+    public long getAllocatedBytesPerRequest() {
+        return allocatedBytes < 0 || requests == 0 ? -1 : allocatedBytes / requests;
+    }
+
+    /**
+     * Gets the mean CPU time used per request.
+     *
+     * @return the mean CPU time in nanoseconds, or -1 if not measurable
+     */
+    public long getCpuNanosPerRequest() {
+        return cpuNanos < 0 || requests == 0 ? -1 : cpuNanos / requests;
+    }
+}
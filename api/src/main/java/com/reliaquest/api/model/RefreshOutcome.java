@@ -0,0 +1,19 @@
+package com.reliaquest.api.model;
+
+/**
+ * Outcome of a background refresh of the employee data.
+ *
+ * @author skurade
+ */
+public enum RefreshOutcome {
+    /** The refresh fetched employee data that differs from the current snapshot. */
+    CHANGED,
+    /** The refresh fetched employee data identical to the current snapshot. */
+    UNCHANGED,
+    /** No refresh was made because employee data has not been read recently. */
+    IDLE,
+    /** Upstream answered 429 Too Many Requests. */
+    THROTTLED,
+    /** The refresh failed for any other reason. */
+    FAILED
+}
@@ -0,0 +1,136 @@
+package com.reliaquest.api.model;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Current schedule and last outcome of the background employee data refresher.
+ *
+ * @author skurade
+ */
+public class RefreshStatus {
+    private final boolean running;
+    private final Duration interval;
+    private final Instant nextRefreshAt;
+    private final Instant lastRefreshAt;
+    private final RefreshOutcome lastOutcome;
+    private final Duration lastLatency;
+    private final double changeRate;
+    private final double throttleRate;
+    private final int consecutiveFailures;
+
+    /**
+     * Constructs a {@link RefreshStatus}.
+     *
+     * @param running whether the refresher is scheduled
+     * @param interval the current refresh interval, before jitter
+     * @param nextRefreshAt when the next refresh is due, or null if none is scheduled
+     * @param lastRefreshAt when the last refresh ran, or null if none has run yet
+     * @param lastOutcome the outcome of the last refresh, or null if none has run yet
+     * @param lastLatency how long the last upstream fetch took, or null if none has been made
+     * @param changeRate the smoothed fraction of refreshes that found changed data
+     * @param throttleRate the smoothed fraction of refreshes answered with 429 Too Many Requests
+     * @param consecutiveFailures the number of failed refreshes since the last successful one
+     */
+    public RefreshStatus(
+            boolean running,
+            Duration interval,
+            Instant nextRefreshAt,
+            Instant lastRefreshAt,
+            RefreshOutcome lastOutcome,
+            Duration lastLatency,
+            double changeRate,
+            double throttleRate,
+            int consecutiveFailures) {
+        this.running = running;
+        this.interval = interval;
+        this.nextRefreshAt = nextRefreshAt;
+        this.lastRefreshAt = lastRefreshAt;
+        this.lastOutcome = lastOutcome;
+        this.lastLatency = lastLatency;
+        this.changeRate = changeRate;
+        this.throttleRate = throttleRate;
+        this.consecutiveFailures = consecutiveFailures;
+    }
+
+    /**
+     * Checks whether the refresher is scheduled.
+     *
+     * @return true if the refresher is running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Gets the current refresh interval, before jitter.
+     *
+     * @return the interval
+     */
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * Gets when the next refresh is due.
+     *
+     * @return the time of the next refresh, or null if none is scheduled
+     */
+    public Instant getNextRefreshAt() {
+        return nextRefreshAt;
+    }
+
+    /**
+     * Gets when the last refresh ran.
+     *
+     * @return the time of the last refresh, or null if none has run yet
+     */
+    public Instant getLastRefreshAt() {
+        return lastRefreshAt;
+    }
+
+    /**
+     * Gets the outcome of the last refresh.
+     *
+     * @return the outcome, or null if none has run yet
+     */
+    public RefreshOutcome getLastOutcome() {
+        return lastOutcome;
+    }
+
+    /**
+     * Gets how long the last upstream fetch took.
+     *
+     * @return the latency, or null if no fetch has been made
+     */
+    public Duration getLastLatency() {
+        return lastLatency;
+    }
+
+    /**
+     * Gets the smoothed fraction of refreshes that found changed data.
+     *
+     * @return the change rate between 0 and 1
+     */
+    public double getChangeRate() {
+        return changeRate;
+    }
+
+    /**
+     * Gets the smoothed fraction of refreshes answered with 429 Too Many Requests.
+     *
+     * @return the throttle rate between 0 and 1
+     */
+    public double getThrottleRate() {
+        return throttleRate;
+    }
+
+    /**
+     * Gets the number of failed refreshes since the last successful one.
+     *
+     * @return the consecutive failures
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+}
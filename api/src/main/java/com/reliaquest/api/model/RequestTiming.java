@@ -0,0 +1,79 @@
+package com.reliaquest.api.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Per-stage latency breakdown of one sampled request.
+ *
+ * @author skurade
+ */
+public class RequestTiming {
+    private final Instant completedAt;
+    private final String method;
+    private final String path;
+    private final int status;
+    private final Map<String, Double> millis;
+
+    /**
+     * Constructs a {@link RequestTiming}.
+     *
+     * @param completedAt when the request completed
+     * @param method the HTTP method of the request
+     * @param path the path of the request
+     * @param status the HTTP status of the response
+     * @param millis the duration of each measured stage and the total, in milliseconds
+     */
+    public RequestTiming(Instant completedAt, String method, String path, int status, Map<String, Double> millis) {
+        this.completedAt = completedAt;
+        this.method = method;
+        this.path = path;
+        this.status = status;
+        this.millis = millis;
+    }
+
+    /**
+     * Gets when the request completed.
+     *
+     * @return the completion time
+     */
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    /**
+     * Gets the HTTP method of the request.
+     *
+     * @return the method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Gets the path of the request.
+     *
+     * @return the path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the HTTP status of the response.
+     *
+     * @return the status code
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the duration of each measured stage, followed by the total.
+     *
+     * @return the durations in milliseconds keyed by stage name
+     */
+    public Map<String, Double> getMillis() {
+        return millis;
+    }
+}
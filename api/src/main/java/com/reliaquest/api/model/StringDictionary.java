@@ -0,0 +1,56 @@
+package com.reliaquest.api.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonicalizes strings drawn from a small vocabulary, so equal values share one instance.
+ * Once the dictionary holds its maximum number of entries, further new values are returned as given,
+ * so arbitrary client input cannot grow it without bound.
+ *
+ * @author skurade
+ */
+final class StringDictionary {
+
+    private final ConcurrentMap<String, String> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    /**
+     * Constructs a {@link StringDictionary}.
+     *
+     * @param maxEntries the most distinct values kept
+     */
+    StringDictionary(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Gets the shared instance equal to the given value.
+     *
+     * @param value the value, may be null
+     * @return the shared instance, or the value itself if it is null or the dictionary is full
+     */
+    String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = entries.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (entries.size() >= maxEntries) {
+            return value;
+        }
+        existing = entries.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    /**
+     * Gets the number of distinct values held.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.api.model;
+
+/**
+ * State and load of one instance of the Mock Employee API.
+ *
+ * @author skurade
+ */
+public class UpstreamMetrics {
+    private final String url;
+    private final boolean available;
+    private final int outstanding;
+    private final long requests;
+    private final long failures;
+    private final long ejections;
+
+    /**
+     * Constructs an {@link UpstreamMetrics}.
+     *
+     * @param url the base URL of the instance
+     * @param available whether the instance is in rotation
+     * @param outstanding the number of requests in flight to the instance
+     * @param requests the number of requests sent to the instance so far
+     * @param failures the number of requests the instance failed to answer so far
+     * @param ejections the number of times the instance has been ejected after consecutive failures
+     */
+    public UpstreamMetrics(
+            String url, boolean available, int outstanding, long requests, long failures, long ejections) {
+        this.url = url;
+        this.available = available;
+        this.outstanding = outstanding;
+        this.requests = requests;
+        this.failures = failures;
+        this.ejections = ejections;
+    }
+
+    /**
+     * Gets the base URL of the instance.
+     *
+     * @return the URL
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Checks whether the instance is in rotation.
+     *
+     * @return true if requests may be sent to it
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Gets the number of requests in flight to the instance.
+     *
+     * @return the outstanding requests
+     */
+    public int getOutstanding() {
+        return outstanding;
+    }
+
+    /**
+     * Gets the number of requests sent to the instance so far.
+     *
+     * @return the requests
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * Gets the number of requests the instance failed to answer so far.
+     *
+     * @return the failures
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Gets the number of times the instance has been ejected after consecutive failures.
+     *
+     * @return the ejections
+     */
+    public long getEjections() {
+        return ejections;
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.api.profiling;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Measures the heap bytes allocated and the CPU time used by the handling thread of each request,
+ * and records them in {@link EndpointCosts} under the name of the handler method.
+ * The measurement spans the handler, mapping and response serialization, as the body is written
+ * before {@link #afterCompletion} runs.
+ *
+ * @author skurade
+ */
+@Component
+public class EndpointCostInterceptor implements HandlerInterceptor {
+
+    private static final String START_ALLOCATED = EndpointCostInterceptor.class.getName() + ".allocated";
+    private static final String START_CPU = EndpointCostInterceptor.class.getName() + ".cpu";
+
+    private final EndpointCosts costs;
+    private final boolean enabled;
+
+    /**
+     * Constructs an {@link EndpointCostInterceptor}.
+     *
+     * @param costs the per-endpoint aggregates the measurements are recorded in
+     * @param enabled whether requests are measured at all
+     */
+    public EndpointCostInterceptor(
+            EndpointCosts costs, @Value("${employee.profiling.endpoint-costs:true}") boolean enabled) {
+        this.costs = costs;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Reads the counters of the handling thread before the handler runs.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (enabled && handler instanceof HandlerMethod) {
+            request.setAttribute(START_ALLOCATED, ThreadCosts.allocatedBytes());
+            request.setAttribute(START_CPU, ThreadCosts.cpuNanos());
+        }
+        return true;
+    }
+
+    /**
+     * Reads the counters again once the response has been written and records the difference.
+     */
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        long allocated = ThreadCosts.allocatedBytes();
+        long cpu = ThreadCosts.cpuNanos();
+        if (request.getAttribute(START_ALLOCATED) instanceof Long startAllocated
+                && request.getAttribute(START_CPU) instanceof Long startCpu
+                && handler instanceof HandlerMethod handlerMethod) {
+            costs.record(
+                    endpoint(handlerMethod),
+                    ThreadCosts.since(startAllocated, allocated),
+                    ThreadCosts.since(startCpu, cpu));
+        }
+    }
+
+    /**
+     * Names the endpoint of a handler method.
+     *
+     * @param handlerMethod the handler method
+     * @return the simple name of the controller and the name of the method
+     */
+    static String endpoint(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "."
+                + handlerMethod.getMethod().getName();
+    }
+}
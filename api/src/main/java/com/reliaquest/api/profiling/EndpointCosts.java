@@ -0,0 +1,102 @@
+package com.reliaquest.api.profiling;
+
+import com.reliaquest.api.model.EndpointCostMetrics;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aggregates the heap allocation and CPU time of requests per endpoint.
+ * Counters are striped, so recording from many request threads does not contend on one cache line.
+ *
+ * @author skurade
+ */
+@Component
+public class EndpointCosts {
+
+    private final ConcurrentMap<String, Totals> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Records the cost of one request.
+     *
+     * @param endpoint the name of the handler method
+     * @param allocatedBytes the heap bytes allocated by the request, or -1 if not measurable
+     * @param cpuNanos the CPU time used by the request, or -1 if not measurable
+     */
+    public void record(String endpoint, long allocatedBytes, long cpuNanos) {
+        endpoints.computeIfAbsent(endpoint, name -> new Totals()).add(allocatedBytes, cpuNanos);
+    }
+
+    /**
+     * Gets the aggregated costs of every endpoint that has been measured, most allocating first.
+     *
+     * @return the metrics of each endpoint
+     */
+    public List<EndpointCostMetrics> metrics() {
+        List<EndpointCostMetrics> metrics = new ArrayList<>(endpoints.size());
+        endpoints.forEach((endpoint, totals) -> metrics.add(totals.metrics(endpoint)));
+        metrics.sort(Comparator.comparingLong(EndpointCostMetrics::getAllocatedBytes)
+                .reversed()
+                .thenComparing(EndpointCostMetrics::getEndpoint));
+        return metrics;
+    }
+
+    /**
+     * Running totals of one endpoint. A counter is reported as -1 once any request could not measure it.
+     */
+    private static final class Totals {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAccumulator maxAllocatedBytes = new LongAccumulator(Math::max, 0);
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAccumulator maxCpuNanos = new LongAccumulator(Math::max, 0);
+        private volatile boolean allocationUnmeasured;
+        private volatile boolean cpuUnmeasured;
+
+        /**
+         * Adds the cost of one request.
+         *
+         * @param allocated the heap bytes allocated, or -1 if not measurable
+         * @param cpu the CPU time in nanoseconds, or -1 if not measurable
+         */
+        void add(long allocated, long cpu) {
+            requests.increment();
+            if (allocated < 0) {
+                allocationUnmeasured = true;
+            } else {
+                allocatedBytes.add(allocated);
+                maxAllocatedBytes.accumulate(allocated);
+            }
+            if (cpu < 0) {
+                cpuUnmeasured = true;
+            } else {
+                cpuNanos.add(cpu);
+                maxCpuNanos.accumulate(cpu);
+            }
+        }
+
+        /**
+         * Takes a snapshot of the totals.
+         *
+         * @param endpoint the name of the endpoint
+         * @return the metrics
+         */
+        EndpointCostMetrics metrics(String endpoint) {
+            boolean allocationMeasured = !allocationUnmeasured;
+            boolean cpuMeasured = !cpuUnmeasured;
+            return new EndpointCostMetrics(
+                    endpoint,
+                    requests.sum(),
+                    allocationMeasured ? allocatedBytes.sum() : -1,
+                    allocationMeasured ? maxAllocatedBytes.get() : -1,
+                    cpuMeasured ? cpuNanos.sum() : -1,
+                    cpuMeasured ? maxCpuNanos.get() : -1);
+        }
+    }
+}
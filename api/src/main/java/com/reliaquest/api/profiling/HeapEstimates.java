@@ -0,0 +1,82 @@
+package com.reliaquest.api.profiling;
+
+/**
+ * Estimates the heap size of common objects on a 64-bit HotSpot JVM with compressed references,
+ * 12-byte object headers and 8-byte alignment, the defaults for heaps below 32 GB.
+ *
+ * @author skurade
+ */
+public final class HeapEstimates {
+
+    public static final int HEADER_BYTES = 12;
+    public static final int ARRAY_HEADER_BYTES = 16;
+    public static final int REFERENCE_BYTES = 4;
+
+    private static final int STRING_BYTES = align(HEADER_BYTES + REFERENCE_BYTES + 4 + 1 + 1);
+
+    private HeapEstimates() {
+        throw new IllegalStateException("Instantiation of this class from outside not allowed");
+    }
+
+    /**
+     * Estimates the size of a plain object from its fields.
+     *
+     * @param references the number of reference fields
+     * @param primitiveBytes the total size of the primitive fields
+     * @return the size in bytes
+     */
+    public static int object(int references, int primitiveBytes) {
+        return align(HEADER_BYTES + references * REFERENCE_BYTES + primitiveBytes);
+    }
+
+    /**
+     * Estimates the size of an array of references.
+     *
+     * @param length the length of the array
+     * @return the size in bytes
+     */
+    public static long referenceArray(int length) {
+        return align(ARRAY_HEADER_BYTES + (long) length * REFERENCE_BYTES);
+    }
+
+    /**
+     * Estimates the size of a string and its character array. Strings of Latin-1 characters
+     * take one byte per character, others two.
+     *
+     * @param value the string, or null
+     * @return the size in bytes, or 0 for null
+     */
+    public static long string(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return STRING_BYTES + align(ARRAY_HEADER_BYTES + (long) value.length() * bytesPerChar);
+    }
+
+    /**
+     * Rounds a size up to the object alignment.
+     *
+     * @param bytes the unaligned size
+     * @return the aligned size
+     */
+    private static int align(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    /**
+     * Rounds a size up to the object alignment.
+     *
+     * @param bytes the unaligned size
+     * @return the aligned size
+     */
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
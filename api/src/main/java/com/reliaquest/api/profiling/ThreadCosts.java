@@ -0,0 +1,82 @@
+package com.reliaquest.api.profiling;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads the heap allocation and CPU time counters of the current thread.
+ * Allocation is read from the HotSpot extension of {@link ThreadMXBean}; on a JVM without it, or with
+ * either measurement disabled, the corresponding reading is -1.
+ *
+ * @author skurade
+ */
+public final class ThreadCosts {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocations();
+    private static final boolean CPU_TIME = cpuTime();
+
+    private ThreadCosts() {
+        throw new IllegalStateException("Instantiation of this class from outside not allowed");
+    }
+
+    /**
+     * Gets the number of heap bytes allocated by the current thread so far.
+     *
+     * @return the allocated bytes, or -1 if allocation cannot be measured
+     */
+    public static long allocatedBytes() {
+        return ALLOCATIONS == null ? -1 : ALLOCATIONS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Gets the CPU time used by the current thread so far.
+     *
+     * @return the CPU time in nanoseconds, or -1 if CPU time cannot be measured
+     */
+    public static long cpuNanos() {
+        return CPU_TIME ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    /**
+     * Gets the difference between two readings of a counter.
+     *
+     * @param start the reading before
+     * @param end the reading after
+     * @return the difference, or -1 if either reading is unavailable
+     */
+    public static long since(long start, long end) {
+        return start < 0 || end < 0 ? -1 : end - start;
+    }
+
+    /**
+     * Gets the HotSpot extension of the thread bean, enabling allocation measurement if it is supported.
+     *
+     * @return the bean, or null if allocation cannot be measured
+     */
+    private static com.sun.management.ThreadMXBean allocations() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean hotspot)
+                || !hotspot.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!hotspot.isThreadAllocatedMemoryEnabled()) {
+            hotspot.setThreadAllocatedMemoryEnabled(true);
+        }
+        return hotspot;
+    }
+
+    /**
+     * Enables CPU time measurement of the current thread if it is supported.
+     *
+     * @return true if CPU time can be measured
+     */
+    private static boolean cpuTime() {
+        if (!THREADS.isCurrentThreadCpuTimeSupported()) {
+            return false;
+        }
+        if (!THREADS.isThreadCpuTimeEnabled()) {
+            THREADS.setThreadCpuTimeEnabled(true);
+        }
+        return true;
+    }
+}
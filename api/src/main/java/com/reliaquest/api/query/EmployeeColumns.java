@@ -0,0 +1,50 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+
+/**
+ * Salaries and ages of one employee snapshot as int columns indexed by row, for the scan kernels
+ * in {@link com.reliaquest.api.kernel.IntKernels}.
+ * Instances are immutable and built once per employee-data version; callers must not modify the arrays.
+ *
+ * @author skurade
+ */
+public final class EmployeeColumns {
+
+    private final int[] salaries;
+    private final int[] ages;
+
+    /**
+     * Builds the columns of the given employees.
+     *
+     * @param employees the employees; row ids are positions in this list
+     */
+    public EmployeeColumns(List<Employee> employees) {
+        salaries = new int[employees.size()];
+        ages = new int[employees.size()];
+        for (int row = 0; row < employees.size(); row++) {
+            Employee employee = employees.get(row);
+            salaries[row] = employee.getSalary();
+            ages[row] = employee.getAge();
+        }
+    }
+
+    /**
+     * Gets the salary column.
+     *
+     * @return the salaries, indexed by row
+     */
+    public int[] salaries() {
+        return salaries;
+    }
+
+    /**
+     * Gets the age column.
+     *
+     * @return the ages, indexed by row
+     */
+    public int[] ages() {
+        return ages;
+    }
+}
@@ -0,0 +1,122 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeFilter;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Multi-attribute query engine over one employee snapshot.
+ * Keeps a bitmap of row ids per title and per salary and age bucket, combines the bitmaps of a query by
+ * AND/OR, and finishes with an exact check of the remaining candidates.
+ * Instances are immutable and built once per employee-data version.
+ *
+ * @author skurade
+ */
+public class EmployeeFilterIndex {
+
+    private static final int SALARY_BUCKETS = 64;
+    private static final int AGE_BUCKETS = 64;
+
+    private final List<Employee> rows;
+    private final Map<String, BitSet> titles = new HashMap<>();
+    private final RangeBitmapIndex salaries;
+    private final RangeBitmapIndex ages;
+
+    /**
+     * Builds the index over the given employees.
+     *
+     * @param employees the employees to index; row ids are positions in this list
+     */
+    public EmployeeFilterIndex(List<Employee> employees) {
+        this.rows = employees;
+        int[] salaryColumn = new int[employees.size()];
+        int[] ageColumn = new int[employees.size()];
+        for (int row = 0; row < employees.size(); row++) {
+            Employee employee = employees.get(row);
+            titles.computeIfAbsent(normalize(employee.getTitle()), t -> new BitSet())
+                    .set(row);
+            salaryColumn[row] = employee.getSalary();
+            ageColumn[row] = employee.getAge();
+        }
+        this.salaries = new RangeBitmapIndex(salaryColumn, SALARY_BUCKETS);
+        this.ages = new RangeBitmapIndex(ageColumn, AGE_BUCKETS);
+    }
+
+    /**
+     * Returns the employees matching all criteria of the filter, in snapshot order.
+     *
+     * @param filter the query criteria
+     * @return the matching employees
+     */
+    public List<Employee> query(EmployeeFilter filter) {
+        BitSet candidates = new BitSet(rows.size());
+        candidates.set(0, rows.size());
+        Set<String> acceptedTitles = acceptedTitles(filter);
+        if (acceptedTitles != null) {
+            BitSet byTitle = new BitSet(rows.size());
+            for (String title : acceptedTitles) {
+                BitSet bitmap = titles.get(title);
+                if (bitmap != null) {
+                    byTitle.or(bitmap);
+                }
+            }
+            candidates.and(byTitle);
+        }
+        if (filter.getMinSalary() != null || filter.getMaxSalary() != null) {
+            candidates.and(salaries.range(filter.getMinSalary(), filter.getMaxSalary()));
+        }
+        if (filter.getMinAge() != null || filter.getMaxAge() != null) {
+            candidates.and(ages.range(filter.getMinAge(), filter.getMaxAge()));
+        }
+
+        List<Employee> result = new ArrayList<>(candidates.cardinality());
+        for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+            Employee employee = rows.get(row);
+            if (matches(filter, acceptedTitles, employee)) {
+                result.add(employee);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks a single employee against every criterion of the filter.
+     *
+     * @param filter the query criteria
+     * @param acceptedTitles the normalized accepted titles, or null to accept any title
+     * @param employee the employee to check
+     * @return true if the employee matches
+     */
+    private static boolean matches(EmployeeFilter filter, Set<String> acceptedTitles, Employee employee) {
+        return (acceptedTitles == null || acceptedTitles.contains(normalize(employee.getTitle())))
+                && inRange(employee.getSalary(), filter.getMinSalary(), filter.getMaxSalary())
+                && inRange(employee.getAge(), filter.getMinAge(), filter.getMaxAge())
+                && (filter.getName() == null
+                        || (employee.getName() != null
+                                && employee.getName()
+                                        .toLowerCase()
+                                        .contains(filter.getName().toLowerCase())));
+    }
+
+    private static boolean inRange(int value, Integer min, Integer max) {
+        return (min == null || value >= min) && (max == null || value <= max);
+    }
+
+    private static Set<String> acceptedTitles(EmployeeFilter filter) {
+        if (filter.getTitle() == null || filter.getTitle().isEmpty()) {
+            return null;
+        }
+        return filter.getTitle().stream().map(EmployeeFilterIndex::normalize).collect(Collectors.toSet());
+    }
+
+    private static String normalize(String title) {
+        return title == null ? "" : title.trim().toLowerCase(Locale.ROOT);
+    }
+}
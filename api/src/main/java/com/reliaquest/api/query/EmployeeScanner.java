@@ -0,0 +1,193 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs full scans of an employee list, splitting large lists across cores.
+ * <p>
+ * Lists with at least the threshold number of employees are scanned in parallel on a dedicated
+ * {@link ForkJoinPool}, so scans neither compete with other users of the common pool nor are slowed
+ * by them. Smaller lists are scanned on the calling thread, where splitting costs more than it saves.
+ * Both paths keep encounter order and break ties the same way, so their results are identical.
+ *
+ * @author skurade
+ */
+@Component
+public class EmployeeScanner implements DisposableBean {
+
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs an {@link EmployeeScanner}.
+     *
+     * @param threshold the smallest list scanned in parallel
+     * @param parallelism the number of threads scanning in parallel, or 0 for one per available processor
+     */
+    public EmployeeScanner(
+            @Value("${employee.parallel.threshold:10000}") int threshold,
+            @Value("${employee.parallel.parallelism:0}") int parallelism) {
+        this.threshold = Math.max(1, threshold);
+        this.pool = new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("employee-scan-" + thread.getPoolIndex());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                null,
+                false);
+    }
+
+    /**
+     * Selects the employees matching a predicate, in list order.
+     *
+     * @param employees the employees to scan
+     * @param predicate selects the employees to keep; must be safe to call from several threads
+     * @return the matching employees
+     */
+    public List<Employee> filter(List<Employee> employees, Predicate<Employee> predicate) {
+        if (!isParallel(employees)) {
+            return employees.stream().filter(predicate).collect(Collectors.toList());
+        }
+        return pool.submit(() -> employees.parallelStream().filter(predicate).collect(Collectors.toList()))
+                .join();
+    }
+
+    /**
+     * Gets the highest salary.
+     *
+     * @param employees the employees to scan
+     * @return the highest salary, or 0 if there are no employees
+     */
+    public int maxSalary(List<Employee> employees) {
+        if (!isParallel(employees)) {
+            return employees.stream().mapToInt(Employee::getSalary).max().orElse(0);
+        }
+        return pool.submit(() -> employees.parallelStream()
+                        .mapToInt(Employee::getSalary)
+                        .max()
+                        .orElse(0))
+                .join();
+    }
+
+    /**
+     * Gets the highest earning employees, highest salary first. Employees with equal salaries keep
+     * their list order, as with a stable sort by descending salary.
+     *
+     * @param employees the employees to scan
+     * @param limit the maximum number of employees returned
+     * @return the highest earning employees
+     */
+    public List<Employee> topBySalary(List<Employee> employees, int limit) {
+        if (!isParallel(employees)) {
+            return topBySalary(employees.stream(), limit);
+        }
+        return pool.submit(() -> topBySalary(employees.parallelStream(), limit)).join();
+    }
+
+    /**
+     * Stops the scan threads.
+     */
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private boolean isParallel(List<Employee> employees) {
+        return employees.size() >= threshold;
+    }
+
+    /**
+     * Keeps the highest earners of each part of the stream in a heap bounded by the limit and merges the
+     * parts in encounter order, so the work is O(N log limit) instead of sorting every employee.
+     *
+     * @param employees the stream to reduce
+     * @param limit the maximum number of employees kept
+     * @return the highest earning employees
+     */
+    private static List<Employee> topBySalary(Stream<Employee> employees, int limit) {
+        return employees
+                .collect(() -> new TopSalaries(limit), TopSalaries::add, TopSalaries::addAll)
+                .toList();
+    }
+
+    /**
+     * The highest earners seen so far, in a heap whose root is the one to drop first: the lowest salary,
+     * and among equal salaries the one encountered last, so ties keep encounter order.
+     */
+    private static final class TopSalaries {
+
+        private static final Comparator<Ranked> WORST_FIRST = (a, b) -> a.employee.getSalary() != b.employee.getSalary()
+                ? Integer.compare(a.employee.getSalary(), b.employee.getSalary())
+                : Long.compare(b.encounter, a.encounter);
+
+        private final int limit;
+        private final PriorityQueue<Ranked> heap;
+        private long seen;
+
+        TopSalaries(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(Math.max(1, limit), WORST_FIRST);
+        }
+
+        void add(Employee employee) {
+            offer(new Ranked(employee, seen++));
+        }
+
+        /**
+         * Merges the highest earners of the part of the stream that follows this one.
+         */
+        void addAll(TopSalaries next) {
+            for (Ranked ranked : next.heap) {
+                offer(new Ranked(ranked.employee, seen + ranked.encounter));
+            }
+            seen += next.seen;
+        }
+
+        private void offer(Ranked ranked) {
+            if (heap.size() < limit) {
+                heap.add(ranked);
+            } else if (limit > 0 && WORST_FIRST.compare(ranked, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(ranked);
+            }
+        }
+
+        List<Employee> toList() {
+            List<Ranked> sorted = new ArrayList<>(heap);
+            sorted.sort(WORST_FIRST.reversed());
+            List<Employee> top = new ArrayList<>(sorted.size());
+            for (Ranked ranked : sorted) {
+                top.add(ranked.employee);
+            }
+            return top;
+        }
+    }
+
+    /**
+     * An employee with its position in the encounter order of the stream.
+     */
+    private static final class Ranked {
+        private final Employee employee;
+        private final long encounter;
+
+        Ranked(Employee employee, long encounter) {
+            this.employee = employee;
+            this.encounter = encounter;
+        }
+    }
+}
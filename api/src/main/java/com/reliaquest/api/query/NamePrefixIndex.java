@@ -0,0 +1,293 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.model.AutocompleteRank;
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Prefix index over the name tokens of one employee snapshot, used for autocomplete.
+ * Every first and last name token is inserted into a character trie, and each trie node keeps the best
+ * {@value #MAX_SUGGESTIONS} employees of its subtree per {@link AutocompleteRank} precomputed, so a lookup costs one
+ * walk down the prefix and a copy of at most that many employees. A prefix of several words is looked up
+ * through the employees having its rarest complete word, so its cost is bounded by their number rather
+ * than by the size of the snapshot.
+ * Instances are immutable and built once per employee-data version.
+ *
+ * @author skurade
+ */
+public class NamePrefixIndex {
+
+    /**
+     * Largest number of suggestions a lookup can return.
+     */
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private static final AutocompleteRank[] RANKS = AutocompleteRank.values();
+
+    private final List<Employee> rows;
+    private final int[][] rowsByRank;
+    private final int[][] positionsByRank;
+    private final Node root = new Node();
+
+    /**
+     * Builds the index over the given employees.
+     *
+     * @param employees the employees to index; row ids are positions in this list
+     */
+    public NamePrefixIndex(List<Employee> employees) {
+        this.rows = employees;
+        for (int row = 0; row < employees.size(); row++) {
+            String[] tokens = tokenize(employees.get(row).getName());
+            for (int position = 0; position < tokens.length; position++) {
+                root.insert(tokens[position], 0).addPosting(row, position == 0);
+            }
+        }
+        rowsByRank = new int[RANKS.length][];
+        positionsByRank = new int[RANKS.length][];
+        for (AutocompleteRank rank : RANKS) {
+            int[] order = IntStream.range(0, employees.size())
+                    .boxed()
+                    .sorted(Comparator.comparing(employees::get, rank.comparator()))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            int[] positions = new int[order.length];
+            for (int position = 0; position < order.length; position++) {
+                positions[order[position]] = position;
+            }
+            rowsByRank[rank.ordinal()] = order;
+            positionsByRank[rank.ordinal()] = positions;
+        }
+        root.rank(this);
+    }
+
+    /**
+     * Returns the best employees having a name token that starts with the prefix.
+     * A prefix of several words is matched against the start of the full name instead.
+     *
+     * @param prefix the typed prefix, matched ignoring case
+     * @param rank the ordering of the suggestions
+     * @param limit the maximum number of suggestions, capped at {@value #MAX_SUGGESTIONS}
+     * @return the suggested employees, best first
+     */
+    public List<Employee> suggest(String prefix, AutocompleteRank rank, int limit) {
+        String normalized = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        int max = Math.max(0, Math.min(limit, MAX_SUGGESTIONS));
+        if (normalized.isEmpty() || max == 0) {
+            return List.of();
+        }
+        String[] tokens = tokenize(normalized);
+        if (tokens.length == 0) {
+            return List.of();
+        }
+        if (tokens.length > 1) {
+            return suggestFullName(tokens, rank, max);
+        }
+        Node node = root.find(tokens[0], 0);
+        if (node == null) {
+            return List.of();
+        }
+        long[] best = node.best[rank.ordinal()];
+        List<Employee> result = new ArrayList<>(Math.min(max, best.length));
+        for (int i = 0; i < best.length && i < max; i++) {
+            result.add(rows.get(rowOf(rank, best[i])));
+        }
+        return result;
+    }
+
+    /**
+     * Matches a multi-word prefix against the start of each full name.
+     * Every word but the last must be a complete name token, so only the employees having the one of
+     * those tokens with the fewest postings are candidates; they are checked against the whole prefix.
+     *
+     * @param prefix the tokens of the prefix, at least two
+     * @param rank the ordering of the suggestions
+     * @param limit the maximum number of suggestions
+     * @return the suggested employees, best first
+     */
+    private List<Employee> suggestFullName(String[] prefix, AutocompleteRank rank, int limit) {
+        int[] candidates = null;
+        for (int i = 0; i < prefix.length - 1; i++) {
+            Node node = root.find(prefix[i], 0);
+            if (node == null || node.postings.length == 0) {
+                return List.of();
+            }
+            if (candidates == null || node.postings.length < candidates.length) {
+                candidates = node.postings;
+            }
+        }
+        int[] positions = positionsByRank[rank.ordinal()];
+        int[] matches = new int[candidates.length];
+        int count = 0;
+        for (int posting : candidates) {
+            int row = posting >>> 1;
+            if (startsWith(tokenize(rows.get(row).getName()), prefix)) {
+                matches[count++] = positions[row];
+            }
+        }
+        Arrays.sort(matches, 0, count);
+        int[] order = rowsByRank[rank.ordinal()];
+        List<Employee> result = new ArrayList<>(Math.min(limit, count));
+        for (int i = 0; i < count && result.size() < limit; i++) {
+            // a name holding the token twice is a candidate twice
+            if (i == 0 || matches[i] != matches[i - 1]) {
+                result.add(rows.get(order[matches[i]]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether a name starts with a prefix: every word of the prefix but the last equals the token
+     * at its position, and the last word starts the token that follows.
+     *
+     * @param name the tokens of the name
+     * @param prefix the tokens of the prefix
+     * @return true if the name starts with the prefix
+     */
+    private static boolean startsWith(String[] name, String[] prefix) {
+        if (name.length < prefix.length) {
+            return false;
+        }
+        int last = prefix.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (!name[i].equals(prefix[i])) {
+                return false;
+            }
+        }
+        return name[last].startsWith(prefix[last]);
+    }
+
+    /**
+     * Splits a name into lower-case tokens of letters and digits.
+     *
+     * @param name the name
+     * @return the tokens, empty for a null or blank name
+     */
+    static String[] tokenize(String name) {
+        if (name == null) {
+            return new String[0];
+        }
+        return Arrays.stream(name.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Encodes a posting as a sort key: first-name matches first, then the employee's position in the rank.
+     *
+     * @param rank the rank
+     * @param posting the posting, encoded as row and a bit for non-first tokens
+     * @return the sort key
+     */
+    private long sortKey(AutocompleteRank rank, int posting) {
+        return (long) (posting & 1) << 32 | positionsByRank[rank.ordinal()][posting >>> 1];
+    }
+
+    private int rowOf(AutocompleteRank rank, long sortKey) {
+        return rowsByRank[rank.ordinal()][(int) sortKey];
+    }
+
+    /**
+     * Trie node keyed by one character, with children sorted by character.
+     */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int[] postings = new int[0];
+        private int postingCount;
+        private long[][] best;
+
+        Node insert(String token, int depth) {
+            if (depth == token.length()) {
+                return this;
+            }
+            char c = token.charAt(depth);
+            int index = Arrays.binarySearch(keys, c);
+            if (index < 0) {
+                index = -index - 1;
+                keys = insertAt(keys, index, c);
+                Node[] grown = new Node[children.length + 1];
+                System.arraycopy(children, 0, grown, 0, index);
+                grown[index] = new Node();
+                System.arraycopy(children, index, grown, index + 1, children.length - index);
+                children = grown;
+            }
+            return children[index].insert(token, depth + 1);
+        }
+
+        Node find(String token, int depth) {
+            if (depth == token.length()) {
+                return this;
+            }
+            int index = Arrays.binarySearch(keys, token.charAt(depth));
+            return index < 0 ? null : children[index].find(token, depth + 1);
+        }
+
+        /**
+         * Records that an employee has this node's token; encoded as row and a bit for non-first tokens.
+         */
+        void addPosting(int row, boolean firstToken) {
+            if (postingCount == postings.length) {
+                postings = Arrays.copyOf(postings, Math.max(4, postingCount * 2));
+            }
+            postings[postingCount++] = row << 1 | (firstToken ? 0 : 1);
+        }
+
+        /**
+         * Computes the best sort keys of this subtree for every rank, children first.
+         * Only the best key of each employee is kept, so a name matching twice is suggested once.
+         */
+        void rank(NamePrefixIndex index) {
+            for (Node child : children) {
+                child.rank(index);
+            }
+            best = new long[RANKS.length][];
+            for (AutocompleteRank rank : RANKS) {
+                int size = postingCount;
+                for (Node child : children) {
+                    size += child.best[rank.ordinal()].length;
+                }
+                long[] candidates = new long[size];
+                int count = 0;
+                for (int i = 0; i < postingCount; i++) {
+                    candidates[count++] = index.sortKey(rank, postings[i]);
+                }
+                for (Node child : children) {
+                    for (long key : child.best[rank.ordinal()]) {
+                        candidates[count++] = key;
+                    }
+                }
+                Arrays.sort(candidates);
+                best[rank.ordinal()] = topDistinctRows(index, rank, candidates);
+            }
+            postings = Arrays.copyOf(postings, postingCount);
+        }
+
+        private static long[] topDistinctRows(NamePrefixIndex index, AutocompleteRank rank, long[] sortedKeys) {
+            long[] top = new long[Math.min(MAX_SUGGESTIONS, sortedKeys.length)];
+            int count = 0;
+            Set<Integer> seenRows = new HashSet<>();
+            for (int i = 0; i < sortedKeys.length && count < top.length; i++) {
+                if (seenRows.add(index.rowOf(rank, sortedKeys[i]))) {
+                    top[count++] = sortedKeys[i];
+                }
+            }
+            return Arrays.copyOf(top, count);
+        }
+
+        private static char[] insertAt(char[] array, int index, char value) {
+            char[] grown = new char[array.length + 1];
+            System.arraycopy(array, 0, grown, 0, index);
+            grown[index] = value;
+            System.arraycopy(array, index, grown, index + 1, array.length - index);
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.reliaquest.api.query;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Bitmap index over an int column, partitioned into equal-frequency buckets.
+ * A range query ORs the bitmaps of every bucket overlapping the range; rows from the two edge buckets
+ * may fall outside the range and must be checked exactly by the caller.
+ *
+ * @author skurade
+ */
+class RangeBitmapIndex {
+
+    private final int[] lowerBounds;
+    private final BitSet[] buckets;
+
+    /**
+     * Builds the index.
+     *
+     * @param values the column values, indexed by row
+     * @param maxBuckets the maximum number of buckets
+     */
+    RangeBitmapIndex(int[] values, int maxBuckets) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int[] bounds = new int[Math.min(maxBuckets, sorted.length)];
+        int count = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            int bound = sorted[(int) ((long) i * sorted.length / bounds.length)];
+            if (count == 0 || bound > bounds[count - 1]) {
+                bounds[count++] = bound;
+            }
+        }
+        lowerBounds = Arrays.copyOf(bounds, count);
+        buckets = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            buckets[i] = new BitSet(values.length);
+        }
+        for (int row = 0; row < values.length; row++) {
+            buckets[bucketOf(values[row])].set(row);
+        }
+    }
+
+    /**
+     * Returns the candidate rows for an inclusive range.
+     *
+     * @param min the lower bound, or null if unbounded
+     * @param max the upper bound, or null if unbounded
+     * @return a new bitmap containing every row in the range plus rows sharing its edge buckets
+     */
+    BitSet range(Integer min, Integer max) {
+        BitSet result = new BitSet();
+        if (lowerBounds.length == 0 || (max != null && max < lowerBounds[0])) {
+            return result;
+        }
+        int from = min == null ? 0 : Math.max(0, bucketOf(min));
+        int to = max == null ? lowerBounds.length - 1 : bucketOf(max);
+        for (int i = from; i <= to; i++) {
+            result.or(buckets[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the bucket whose lower bound is the greatest one not above the value.
+     *
+     * @param value the value
+     * @return the bucket index, or -1 if the value is below every bucket
+     */
+    private int bucketOf(int value) {
+        int index = Arrays.binarySearch(lowerBounds, value);
+        return index >= 0 ? index : -index - 2;
+    }
+}
@@ -1,15 +1,17 @@
 package com.reliaquest.api.repository;
 
 import com.reliaquest.api.constants.ApiConstants;
+import com.reliaquest.api.deadline.Deadline;
 import com.reliaquest.api.exception.EmployeeException;
 import com.reliaquest.api.exception.EmployeeRuntimeException;
+import com.reliaquest.api.logging.HotPathLogger;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.DeleteMockEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.timing.ServerTiming;
+import com.reliaquest.api.timing.TimingStage;
+import com.reliaquest.api.upstream.UpstreamBalancer;
 import java.util.*;
-import java.util.stream.Collectors;
-
-import com.reliaquest.api.model.DeleteMockEmployeeInput;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.http.*;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.client.HttpClientErrorException;
@@ -18,6 +20,13 @@ import org.springframework.web.client.RestTemplate;
 /**
  * Implementation of {@link IEmployeeRepository} for interacting with the Mock Employee API.
  * Handles CRUD operations for Employee entities via HTTP requests.
+ * A call that fails because the deadline of the current request ran out is reported as a
+ * {@link com.reliaquest.api.exception.DeadlineExceededException} rather than wrapped.
+ * Time spent waiting for upstream and mapping its records is reported to {@link ServerTiming}.
+ * Requests are spread across the configured upstream instances by the {@link UpstreamBalancer}, each of
+ * which holds its own employees: the full list merges the lists of every instance, creates are routed by
+ * employee name, and reads and deletes of an employee go to the instance that holds it.
+ * Logging is asynchronous and sampled, see {@link HotPathLogger}.
  *
  * @author skurade
  */
@@ -25,19 +34,25 @@ import org.springframework.web.client.RestTemplate;
 public class EmployeeRepositoryImpl implements IEmployeeRepository {
 
     private final RestTemplate restTemplate;
-    private static final Logger logger = LoggerFactory.getLogger(EmployeeRepositoryImpl.class);
+    private final RequestHedger requestHedger;
+    private final UpstreamBalancer upstreams;
+    private static final HotPathLogger logger = HotPathLogger.getLogger(EmployeeRepositoryImpl.class);
 
     /**
      * Constructs an {@link EmployeeRepositoryImpl} with the provided {@link RestTemplate}.
      *
      * @param restTemplate the RestTemplate used for HTTP requests
+     * @param requestHedger the hedger for idempotent single-employee reads
+     * @param upstreams the balancer choosing the upstream instance of each request
      */
-    public EmployeeRepositoryImpl(RestTemplate restTemplate) {
+    public EmployeeRepositoryImpl(RestTemplate restTemplate, RequestHedger requestHedger, UpstreamBalancer upstreams) {
         this.restTemplate = restTemplate;
+        this.requestHedger = requestHedger;
+        this.upstreams = upstreams;
     }
 
     /**
-     * Retrieves all employees from the Mock Employee API.
+     * Retrieves all employees from the Mock Employee API, merging the lists of every upstream instance.
      *
      * @return a list of {@link Employee} objects, or an empty list if an error occurs
      * @throws EmployeeException if fetching employees fails
@@ -46,11 +61,20 @@ public class EmployeeRepositoryImpl implements IEmployeeRepository {
     public List<Employee> getAll() throws EmployeeException {
         logger.info("Fetching all employees from Mock API");
         try {
-            ResponseEntity<Map> response = restTemplate.getForEntity(ApiConstants.BASE_URL, Map.class);
-            List<Map<String, Object>> data =
-                    (List<Map<String, Object>>) response.getBody().get(ApiConstants.DATA);
-            return data.stream().map(this::mapToEmployee).collect(Collectors.toList());
+            long start = ServerTiming.start();
+            List<ResponseEntity<Map>> responses = upstreams.callEach(url -> restTemplate.getForEntity(url, Map.class));
+            ServerTiming.stop(TimingStage.UPSTREAM, start);
+            start = ServerTiming.start();
+            List<Employee> employees = new ArrayList<>();
+            for (ResponseEntity<Map> response : responses) {
+                List<Map<String, Object>> data =
+                        (List<Map<String, Object>>) response.getBody().get(ApiConstants.DATA);
+                data.stream().map(this::mapToEmployee).forEach(employees::add);
+            }
+            ServerTiming.stop(TimingStage.MAP, start);
+            return employees;
         } catch (Exception e) {
+            Deadline.checkNotExpired(e);
             logger.error("Error fetching all employees", e);
             throw new EmployeeException("Error fetching all employees", e);
         }
@@ -58,6 +82,8 @@ public class EmployeeRepositoryImpl implements IEmployeeRepository {
 
     /**
      * Retrieves an employee by their unique identifier from the Mock Employee API.
+     * The request goes to the instance holding the employee, see {@link UpstreamBalancer#callOwner}. It is
+     * hedged, so an unusually slow response is raced by a second identical request.
      *
      * @param id the unique identifier of the employee
      * @return an {@link Optional} containing the {@link Employee} if found, or empty if not found or error occurs
@@ -67,14 +93,15 @@ public class EmployeeRepositoryImpl implements IEmployeeRepository {
     public Optional<Employee> getById(String id) throws EmployeeException {
         logger.info("Fetching employee by id: {}", id);
         try {
-            ResponseEntity<Map> response =
-                    restTemplate.getForEntity(ApiConstants.BASE_URL + ApiConstants.SLASH + id, Map.class);
-            Map<String, Object> data = (Map<String, Object>) response.getBody().get(ApiConstants.DATA);
-            return Optional.ofNullable(mapToEmployee(data));
+            long start = ServerTiming.start();
+            Employee employee = requestHedger.call(() -> upstreams.callOwner(id, url -> find(url, id)));
+            ServerTiming.stop(TimingStage.UPSTREAM, start);
+            return Optional.ofNullable(employee);
         } catch (HttpClientErrorException e) {
             logger.warn("Employee not found for id: {}", id);
             return Optional.empty();
         } catch (Exception e) {
+            Deadline.checkNotExpired(e);
             logger.error("Error fetching employee by id", e);
             throw new EmployeeException("Error fetching employee by id", e);
         }
@@ -82,29 +109,34 @@ public class EmployeeRepositoryImpl implements IEmployeeRepository {
 
     /**
      * Creates a new employee in the Mock Employee API.
+     * The input is sent as the request body unchanged, as its properties are those upstream expects.
      *
-     * @param employee the {@link Employee} object to create
+     * @param input the validated attributes of the employee to create
      * @return the created {@link Employee} object
      * @throws EmployeeRuntimeException if creation fails
      */
     @Override
-    public Employee create(Employee employee) throws EmployeeException {
-        logger.info("Creating employee: {}", employee.getName());
+    public Employee create(CreateEmployeeInput input) throws EmployeeException {
+        logger.info("Creating employee: {}", input.getName());
         try {
-            Map<String, Object> request = new HashMap<>();
-            request.put("name", employee.getName());
-            request.put("salary", employee.getSalary());
-            request.put("age", employee.getAge());
-            request.put("title", employee.getTitle());
-
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(request, headers);
+            HttpEntity<CreateEmployeeInput> entity = new HttpEntity<>(input, headers);
 
-            ResponseEntity<Map> response = restTemplate.postForEntity(ApiConstants.BASE_URL, entity, Map.class);
-            Map<String, Object> data = (Map<String, Object>) response.getBody().get(ApiConstants.DATA);
-            return mapToEmployee(data);
+            long start = ServerTiming.start();
+            Employee employee = upstreams.callFor(input.getName(), url -> {
+                ResponseEntity<Map> response = restTemplate.postForEntity(url, entity, Map.class);
+                Employee created =
+                        mapToEmployee((Map<String, Object>) response.getBody().get(ApiConstants.DATA));
+                if (created != null) {
+                    upstreams.assignOwner(created.getId(), url);
+                }
+                return created;
+            });
+            ServerTiming.stop(TimingStage.UPSTREAM, start);
+            return employee;
         } catch (Exception e) {
+            Deadline.checkNotExpired(e);
             logger.error("Error creating employee", e);
             throw new EmployeeException("Failed to create employee", e);
         }
@@ -112,6 +144,8 @@ public class EmployeeRepositoryImpl implements IEmployeeRepository {
 
     /**
      * Deletes an employee by their unique identifier in the Mock Employee API.
+     * Upstream deletes by name, so the employee is looked up first. The lookup and the delete go to the
+     * instance holding the employee, so the delete removes the employee the lookup found.
      *
      * @param id the unique identifier of the employee to delete
      * @return true if the employee was deleted successfully, false otherwise
@@ -121,31 +155,53 @@ public class EmployeeRepositoryImpl implements IEmployeeRepository {
     public boolean deleteById(String id) throws EmployeeException {
         logger.info("Deleting employee by id: {}", id);
         try {
-            Optional<Employee> employeeOpt = getById(id);
-            if (employeeOpt.isEmpty()) {
+            long start = ServerTiming.start();
+            ResponseEntity<Map> response = upstreams.callOwner(id, url -> {
+                Employee employee = find(url, id);
+                if (employee == null) {
+                    return null;
+                }
+                DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+                input.setName(employee.getName());
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                HttpEntity<DeleteMockEmployeeInput> entity = new HttpEntity<>(input, headers);
+                return restTemplate.exchange(url, HttpMethod.DELETE, entity, Map.class);
+            });
+            ServerTiming.stop(TimingStage.UPSTREAM, start);
+            if (response == null) {
                 logger.warn("Employee not found for id: {}", id);
                 return false;
             }
-            String name = employeeOpt.get().getName();
-            DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
-            input.setName(name);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<DeleteMockEmployeeInput> entity = new HttpEntity<>(input, headers);
-
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    ApiConstants.BASE_URL, HttpMethod.DELETE, entity, Map.class);
+            upstreams.forgetOwner(id);
             Object data = response.getBody().get(ApiConstants.DATA);
             return Boolean.TRUE.equals(data);
         } catch (HttpClientErrorException e) {
             logger.warn("Employee not found for delete: {}", id);
             return false;
         } catch (Exception e) {
+            Deadline.checkNotExpired(e);
             logger.error("Error deleting employee", e);
             throw new EmployeeException("Error deleting employee", e);
         }
     }
 
+    /**
+     * Reads an employee from one upstream instance.
+     *
+     * @param url the base URL of the instance
+     * @param id the unique identifier of the employee
+     * @return the employee, or null if the instance does not hold it
+     */
+    private Employee find(String url, String id) {
+        try {
+            ResponseEntity<Map> response = restTemplate.getForEntity(url + ApiConstants.SLASH + id, Map.class);
+            return mapToEmployee((Map<String, Object>) response.getBody().get(ApiConstants.DATA));
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
+        }
+    }
+
     /**
      * Maps a response from the Mock Employee API to an {@link Employee} object.
      *
@@ -0,0 +1,30 @@
+package com.reliaquest.api.repository;
+
+import com.reliaquest.api.exception.EmployeeException;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for reading Employee data.
+ * Implemented on its own by read-only stores, and extended by {@link IEmployeeRepository} with writes.
+ *
+ * @author skurade
+ */
+public interface IEmployeeReadRepository {
+
+    /**
+     * Retrieves all employees from the data source.
+     *
+     * @return a list of all {@link Employee} objects
+     */
+    List<Employee> getAll() throws EmployeeException;
+
+    /**
+     * Retrieves an employee by their unique identifier.
+     *
+     * @param id the unique identifier of the employee
+     * @return an {@link Optional} containing the {@link Employee} if found, or empty if not found
+     */
+    Optional<Employee> getById(String id) throws EmployeeException;
+}
@@ -0,0 +1,371 @@
+package com.reliaquest.api.repository;
+
+import com.reliaquest.api.model.Employee;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-only {@link IEmployeeReadRepository} holding employees outside the Java heap, in direct buffers.
+ * <p>
+ * Each employee is a fixed-width record of primitive columns: salary, age, a title code and the offsets of
+ * its id, name and email in a separate area of length-prefixed UTF-8 strings. Ids are found through an
+ * open-addressing hash table that is itself off-heap. The heap holds only the buffer objects and the title
+ * vocabulary, so it does not grow with the number of employees and the garbage collector has nothing to
+ * trace per employee.
+ * <p>
+ * The buffers are written once while building and never modified, and every read is an absolute get, so
+ * any number of threads read without locking. Primitive fields and the raw bytes of string fields are read
+ * without copying; only {@link #getAll()} and {@link #getById(String)} materialize {@link Employee} objects.
+ *
+ * @author skurade
+ */
+public final class OffHeapEmployeeRepository implements IEmployeeReadRepository {
+
+    private static final int SALARY = 0;
+    private static final int AGE = 4;
+    private static final int TITLE = 8;
+    private static final int ID = 12;
+    private static final int NAME = 20;
+    private static final int EMAIL = 28;
+    private static final int RECORD_BYTES = 36;
+    private static final int CHUNK_BYTES = 1 << 30;
+    private static final int RECORD_CHUNK_SHIFT = 24;
+    private static final int RECORDS_PER_CHUNK = 1 << RECORD_CHUNK_SHIFT;
+    private static final int MAX_INDEX_SLOTS = 1 << 28;
+    private static final long NULL_STRING = -1;
+    private static final int NO_TITLE = -1;
+
+    private final int size;
+    private final ByteBuffer[] records;
+    private final ByteBuffer[] strings;
+    private final ByteBuffer index;
+    private final int indexMask;
+    private final String[] titles;
+
+    private OffHeapEmployeeRepository(
+            int size, ByteBuffer[] records, ByteBuffer[] strings, ByteBuffer index, String[] titles) {
+        this.size = size;
+        this.records = records;
+        this.strings = strings;
+        this.index = index;
+        this.indexMask = index.capacity() / Integer.BYTES - 1;
+        this.titles = titles;
+    }
+
+    /**
+     * Copies employees into a new off-heap repository.
+     *
+     * @param employees the employees; row ids are positions in this list
+     * @return the repository
+     * @throws IllegalArgumentException if there are too many employees to index
+     */
+    public static OffHeapEmployeeRepository of(List<Employee> employees) {
+        int size = employees.size();
+        int slots = Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1;
+        if (size > MAX_INDEX_SLOTS / 2 || slots > MAX_INDEX_SLOTS) {
+            throw new IllegalArgumentException("Too many employees for an off-heap repository: " + size);
+        }
+
+        Map<String, Integer> titleCodes = new HashMap<>();
+        List<String> titles = new ArrayList<>();
+        StringArea area = new StringArea();
+        for (Employee employee : employees) {
+            area.reserve(employee.getId());
+            area.reserve(employee.getName());
+            area.reserve(employee.getEmail());
+        }
+        area.allocate();
+
+        ByteBuffer[] records = allocate((long) size * RECORD_BYTES, RECORDS_PER_CHUNK * RECORD_BYTES);
+        ByteBuffer index = ByteBuffer.allocateDirect(slots * Integer.BYTES);
+        for (int row = 0; row < size; row++) {
+            Employee employee = employees.get(row);
+            ByteBuffer chunk = records[row >>> RECORD_CHUNK_SHIFT];
+            int at = offset(row);
+            chunk.putInt(at + SALARY, employee.getSalary());
+            chunk.putInt(at + AGE, employee.getAge());
+            chunk.putInt(
+                    at + TITLE,
+                    employee.getTitle() == null
+                            ? NO_TITLE
+                            : titleCodes.computeIfAbsent(employee.getTitle(), title -> {
+                                titles.add(title);
+                                return titles.size() - 1;
+                            }));
+            chunk.putLong(at + ID, area.write(employee.getId()));
+            chunk.putLong(at + NAME, area.write(employee.getName()));
+            chunk.putLong(at + EMAIL, area.write(employee.getEmail()));
+        }
+
+        OffHeapEmployeeRepository repository = new OffHeapEmployeeRepository(
+                size, readOnly(records), readOnly(area.chunks), index, titles.toArray(new String[0]));
+        for (int row = 0; row < size; row++) {
+            repository.index(row);
+        }
+        return repository;
+    }
+
+    /**
+     * Gets the number of employees.
+     *
+     * @return the number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reads the salary of a row.
+     *
+     * @param row the row
+     * @return the salary
+     */
+    public int salary(int row) {
+        return record(row).getInt(offset(row) + SALARY);
+    }
+
+    /**
+     * Reads the age of a row.
+     *
+     * @param row the row
+     * @return the age
+     */
+    public int age(int row) {
+        return record(row).getInt(offset(row) + AGE);
+    }
+
+    /**
+     * Reads the title of a row. Titles are shared, so no string is created.
+     *
+     * @param row the row
+     * @return the title, or null if the employee has none
+     */
+    public String title(int row) {
+        int code = record(row).getInt(offset(row) + TITLE);
+        return code == NO_TITLE ? null : titles[code];
+    }
+
+    /**
+     * Gets the UTF-8 bytes of the id of a row, without copying them.
+     *
+     * @param row the row
+     * @return a read-only view of the bytes, or null if the employee has no id
+     */
+    public ByteBuffer idBytes(int row) {
+        return bytes(record(row).getLong(offset(row) + ID));
+    }
+
+    /**
+     * Gets the UTF-8 bytes of the name of a row, without copying them.
+     *
+     * @param row the row
+     * @return a read-only view of the bytes, or null if the employee has no name
+     */
+    public ByteBuffer nameBytes(int row) {
+        return bytes(record(row).getLong(offset(row) + NAME));
+    }
+
+    /**
+     * Gets the UTF-8 bytes of the email address of a row, without copying them.
+     *
+     * @param row the row
+     * @return a read-only view of the bytes, or null if the employee has no email address
+     */
+    public ByteBuffer emailBytes(int row) {
+        return bytes(record(row).getLong(offset(row) + EMAIL));
+    }
+
+    /**
+     * Finds the row of an employee by id.
+     *
+     * @param id the employee id
+     * @return the row, or -1 if no employee has this id
+     */
+    public int rowOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer wanted = ByteBuffer.wrap(key);
+        for (int slot = hash(key) & indexMask; ; slot = (slot + 1) & indexMask) {
+            int entry = index.getInt(slot * Integer.BYTES);
+            if (entry == 0) {
+                return -1;
+            }
+            ByteBuffer candidate = idBytes(entry - 1);
+            if (candidate != null && candidate.equals(wanted)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /**
+     * Reads a row into a new {@link Employee}.
+     *
+     * @param row the row
+     * @return the employee
+     */
+    public Employee employee(int row) {
+        ByteBuffer record = record(row);
+        int at = offset(row);
+        return new Employee(
+                string(record.getLong(at + ID)),
+                string(record.getLong(at + NAME)),
+                record.getInt(at + SALARY),
+                record.getInt(at + AGE),
+                title(row),
+                string(record.getLong(at + EMAIL)));
+    }
+
+    /**
+     * Reads every employee onto the heap.
+     *
+     * @return a new list of all employees, in row order
+     */
+    @Override
+    public List<Employee> getAll() {
+        List<Employee> employees = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            employees.add(employee(row));
+        }
+        return employees;
+    }
+
+    /**
+     * Reads the employee with the given id onto the heap.
+     *
+     * @param id the unique identifier of the employee
+     * @return the employee, or empty if no employee has this id
+     */
+    @Override
+    public Optional<Employee> getById(String id) {
+        int row = rowOf(id);
+        return row < 0 ? Optional.empty() : Optional.of(employee(row));
+    }
+
+    /**
+     * Adds a row to the id index while building. The index is not written once the repository is returned.
+     *
+     * @param row the row
+     */
+    private void index(int row) {
+        ByteBuffer id = idBytes(row);
+        if (id == null) {
+            return;
+        }
+        byte[] key = new byte[id.remaining()];
+        id.get(key);
+        int slot = hash(key) & indexMask;
+        while (index.getInt(slot * Integer.BYTES) != 0) {
+            slot = (slot + 1) & indexMask;
+        }
+        index.putInt(slot * Integer.BYTES, row + 1);
+    }
+
+    private ByteBuffer record(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of " + size);
+        }
+        return records[row >>> RECORD_CHUNK_SHIFT];
+    }
+
+    private static int offset(int row) {
+        return (row & (RECORDS_PER_CHUNK - 1)) * RECORD_BYTES;
+    }
+
+    private ByteBuffer bytes(long address) {
+        if (address == NULL_STRING) {
+            return null;
+        }
+        ByteBuffer chunk = strings[(int) (address / CHUNK_BYTES)];
+        int at = (int) (address % CHUNK_BYTES);
+        return chunk.slice(at + Integer.BYTES, chunk.getInt(at));
+    }
+
+    private String string(long address) {
+        ByteBuffer bytes = bytes(address);
+        return bytes == null ? null : StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+
+    /**
+     * Spreads the FNV-1a hash of a key, so that consecutive slots are used evenly.
+     *
+     * @param key the UTF-8 bytes of an id
+     * @return the hash
+     */
+    private static int hash(byte[] key) {
+        int hash = 0x811c9dc5;
+        for (byte b : key) {
+            hash = (hash ^ b) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static ByteBuffer[] allocate(long bytes, int chunkBytes) {
+        int chunks = (int) Math.max(1, (bytes + chunkBytes - 1) / chunkBytes);
+        ByteBuffer[] buffers = new ByteBuffer[chunks];
+        for (int i = 0; i < chunks; i++) {
+            buffers[i] = ByteBuffer.allocateDirect((int) Math.min(chunkBytes, bytes - (long) i * chunkBytes));
+        }
+        return buffers;
+    }
+
+    private static ByteBuffer[] readOnly(ByteBuffer[] buffers) {
+        ByteBuffer[] views = new ByteBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            views[i] = buffers[i].asReadOnlyBuffer();
+        }
+        return views;
+    }
+
+    /**
+     * Area of length-prefixed UTF-8 strings, split into chunks that no string spans.
+     * Strings are reserved first to size the chunks, then written in the same order.
+     */
+    private static final class StringArea {
+
+        private final List<Integer> chunkSizes = new ArrayList<>();
+        private int reserved;
+        private ByteBuffer[] chunks;
+        private int chunk;
+
+        private void reserve(String value) {
+            if (value == null) {
+                return;
+            }
+            int length = Integer.BYTES + value.getBytes(StandardCharsets.UTF_8).length;
+            if (reserved + (long) length > CHUNK_BYTES) {
+                chunkSizes.add(reserved);
+                reserved = 0;
+            }
+            reserved += length;
+        }
+
+        private void allocate() {
+            chunkSizes.add(reserved);
+            chunks = new ByteBuffer[chunkSizes.size()];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = ByteBuffer.allocateDirect(chunkSizes.get(i));
+            }
+        }
+
+        private long write(String value) {
+            if (value == null) {
+                return NULL_STRING;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (chunks[chunk].remaining() < Integer.BYTES + bytes.length) {
+                chunk++;
+            }
+            ByteBuffer target = chunks[chunk];
+            long address = (long) chunk * CHUNK_BYTES + target.position();
+            target.putInt(bytes.length).put(bytes);
+            return address;
+        }
+    }
+}
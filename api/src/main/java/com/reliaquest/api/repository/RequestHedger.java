@@ -0,0 +1,295 @@
+package com.reliaquest.api.repository;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.deadline.UpstreamAttempt;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import java.util.Arrays;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hedges idempotent upstream requests against slow responses.
+ * <p>
+ * A request that has not completed within a rolling percentile of recent latencies is sent a second
+ * time and the first response to succeed is used. The attempt still running is then aborted: its thread
+ * is interrupted and its upstream connection disconnected, which also ends a blocking read, so the loser
+ * neither holds a hedging thread nor a connection until upstream answers. Every request earns
+ * a fraction of a hedge and every hedge spends a whole one, so hedging adds at most the configured
+ * percentage to upstream load. A hedge is only sent if the current {@link Deadline} leaves it time to
+ * complete.
+ * <p>
+ * Attempts run on a bounded pool of threads. When every thread is busy a request runs on the calling
+ * thread, and a hedge is not sent, rather than adding threads while upstream is slow. The threshold is
+ * computed from every attempt, including failed and aborted ones, so slow responses are not left out.
+ *
+ * @author skurade
+ */
+@Component
+public class RequestHedger implements DisposableBean {
+
+    private static final int WINDOW = 512;
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_EVERY = 16;
+    private static final long HEDGE_COST = 100;
+    private static final long MAX_BURST = 10 * HEDGE_COST;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long budgetPercent;
+    private final ExecutorService executor;
+    private final AtomicLong budget = new AtomicLong();
+    private final long[] latencies = new long[WINDOW];
+    private int nextLatency;
+    private int latencyCount;
+    private int sinceRecompute;
+    private volatile long thresholdNanos = -1;
+
+    /**
+     * Constructs a {@link RequestHedger}.
+     *
+     * @param enabled whether requests are hedged at all
+     * @param percentile the latency percentile, between 0 and 1, after which a request is hedged
+     * @param budgetPercent the maximum number of hedges per 100 requests
+     * @param maxThreads the maximum number of attempts running on hedging threads at once
+     */
+    public RequestHedger(
+            @Value("${employee.hedge.enabled:true}") boolean enabled,
+            @Value("${employee.hedge.percentile:0.95}") double percentile,
+            @Value("${employee.hedge.budget-percent:5}") int budgetPercent,
+            @Value("${employee.hedge.max-threads:32}") int maxThreads) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.budgetPercent = Math.max(0, budgetPercent);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                0, Math.max(1, maxThreads), 60, TimeUnit.SECONDS, new SynchronousQueue<>(), task -> {
+                    Thread thread = new Thread(task, "upstream-hedge-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Runs an idempotent request, sending it a second time if it is slower than the hedging threshold.
+     * Until enough latencies have been observed, or while every hedging thread is busy, the request runs
+     * on the calling thread. The deadline of the current request is propagated to both attempts, and no
+     * hedge is sent that is not expected to complete before it.
+     *
+     * @param request the request to run
+     * @param <T> the type of the response
+     * @return the first successful response
+     * @throws DeadlineExceededException if the deadline passes before an attempt completes
+     * @throws RuntimeException the failure of the request, or of the first attempt if both failed
+     */
+    public <T> T call(Supplier<T> request) {
+        budget.getAndUpdate(credit -> Math.min(MAX_BURST, credit + budgetPercent));
+        long threshold = thresholdNanos;
+        if (!enabled || threshold < 0) {
+            return timed(request).get();
+        }
+
+        Deadline deadline = Deadline.current();
+        Supplier<T> attempt = Deadline.propagate(deadline, timed(request));
+        CompletionService<T> attempts = new ExecutorCompletionService<>(executor);
+        UpstreamAttempt primaryAttempt = new UpstreamAttempt();
+        UpstreamAttempt hedgeAttempt = new UpstreamAttempt();
+        Future<T> primary;
+        try {
+            primary = attempts.submit(primaryAttempt.bind(attempt)::get);
+        } catch (RejectedExecutionException e) {
+            return timed(request).get();
+        }
+        Future<T> hedge = null;
+        try {
+            Future<T> first = attempts.poll(
+                    deadline == null ? threshold : Math.min(threshold, deadline.remainingNanos()),
+                    TimeUnit.NANOSECONDS);
+            if (first == null) {
+                if ((deadline == null || deadline.remainingNanos() > threshold) && tryAcquireHedge()) {
+                    hedge = submitHedge(attempts, hedgeAttempt.bind(attempt));
+                }
+                first = next(attempts, deadline);
+            }
+            try {
+                return result(first);
+            } catch (RuntimeException e) {
+                if (hedge == null) {
+                    throw e;
+                }
+                try {
+                    return result(next(attempts, deadline));
+                } catch (DeadlineExceededException deadlineExceeded) {
+                    throw deadlineExceeded;
+                } catch (RuntimeException ignored) {
+                    throw e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for upstream", e);
+        } finally {
+            abort(primary, primaryAttempt);
+            if (hedge != null) {
+                abort(hedge, hedgeAttempt);
+            }
+        }
+    }
+
+    /**
+     * Gets the current hedging threshold.
+     *
+     * @return the threshold in nanoseconds, or -1 until enough latencies have been observed
+     */
+    long thresholdNanos() {
+        return thresholdNanos;
+    }
+
+    /**
+     * Shuts down the threads running hedged requests.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Wraps a request so that its latency is recorded however it completes.
+     * A failed attempt, or one cut short by its deadline or by the other attempt winning, counts with
+     * the time it took until then, which is at most what the full response would have taken.
+     *
+     * @param request the request
+     * @param <T> the type of the response
+     * @return the timed request
+     */
+    private <T> Supplier<T> timed(Supplier<T> request) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return request.get();
+            } finally {
+                recordLatency(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Aborts an attempt that is still running. A completed attempt is left alone, so the connection of
+     * the response used can be kept alive for the next request.
+     *
+     * @param future the attempt in flight
+     * @param attempt the upstream connections of the attempt
+     */
+    private static void abort(Future<?> future, UpstreamAttempt attempt) {
+        if (!future.isDone()) {
+            future.cancel(true);
+            attempt.abort();
+        }
+    }
+
+    /**
+     * Sends a hedge, unless every hedging thread is busy.
+     * The hedge spent from the budget is refunded when it cannot be sent.
+     *
+     * @param attempts the attempts in flight
+     * @param attempt the request to send again
+     * @param <T> the type of the response
+     * @return the hedge, or null if it was not sent
+     */
+    private <T> Future<T> submitHedge(CompletionService<T> attempts, Supplier<T> attempt) {
+        try {
+            return attempts.submit(attempt::get);
+        } catch (RejectedExecutionException e) {
+            budget.getAndUpdate(credit -> Math.min(MAX_BURST, credit + HEDGE_COST));
+            return null;
+        }
+    }
+
+    /**
+     * Spends one hedge from the budget, if the budget allows it.
+     *
+     * @return true if a hedge may be sent
+     */
+    private boolean tryAcquireHedge() {
+        long credit;
+        do {
+            credit = budget.get();
+            if (credit < HEDGE_COST) {
+                return false;
+            }
+        } while (!budget.compareAndSet(credit, credit - HEDGE_COST));
+        return true;
+    }
+
+    /**
+     * Records the latency of an attempt and periodically recomputes the threshold.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    private synchronized void recordLatency(long nanos) {
+        latencies[nextLatency] = nanos;
+        nextLatency = (nextLatency + 1) % WINDOW;
+        latencyCount = Math.min(WINDOW, latencyCount + 1);
+        if (latencyCount >= MIN_SAMPLES && (thresholdNanos < 0 || ++sinceRecompute >= RECOMPUTE_EVERY)) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            thresholdNanos = sorted[Math.max(0, (int) Math.ceil(percentile * latencyCount) - 1)];
+        }
+    }
+
+    /**
+     * Waits for the next attempt to complete, for no longer than the deadline allows.
+     *
+     * @param attempts the attempts in flight
+     * @param deadline the deadline of the current request, or null for none
+     * @param <T> the type of the response
+     * @return the completed attempt
+     * @throws DeadlineExceededException if the deadline passes first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static <T> Future<T> next(CompletionService<T> attempts, Deadline deadline) throws InterruptedException {
+        if (deadline == null) {
+            return attempts.take();
+        }
+        Future<T> attempt = attempts.poll(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        if (attempt == null) {
+            throw new DeadlineExceededException("Request deadline exceeded waiting for upstream");
+        }
+        return attempt;
+    }
+
+    /**
+     * Gets the result of a completed attempt, rethrowing its failure unchanged.
+     *
+     * @param attempt the attempt
+     * @param <T> the type of the response
+     * @return the response
+     * @throws InterruptedException if interrupted while waiting for the attempt
+     */
+    private static <T> T result(Future<T> attempt) throws InterruptedException {
+        try {
+            return attempt.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -1,21 +1,27 @@
 package com.reliaquest.api.security;
 
 import com.reliaquest.api.security.util.JwtUtil;
+import com.reliaquest.api.timing.ServerTiming;
+import com.reliaquest.api.timing.TimingStage;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
  * Security filter for validating JWT tokens in incoming HTTP requests.
- * Sets authentication in the security context if the token is valid.
+ * Sets authentication in the security context if the token is valid, and answers
+ * 429 Too Many Requests once the token's subject exceeds its {@link SubjectRateLimiter} budget.
  * Skips filtering for authentication and health endpoints.
  *
  * @author skurade
@@ -24,9 +30,21 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtFilter.class);
 
+    private final SubjectRateLimiter rateLimiter;
+
+    /**
+     * Constructs a {@link JwtFilter}.
+     *
+     * @param rateLimiter the rate limiter applied per token subject
+     */
+    public JwtFilter(SubjectRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
     /**
      * Filters incoming requests to validate JWT tokens.
      * Sets authentication if the token is valid, otherwise responds with 401 Unauthorized.
+     * Responds with 429 Too Many Requests and Retry-After if the subject is over its rate limit.
      *
      * @param request the HTTP request
      * @param response the HTTP response
@@ -37,14 +55,13 @@ public class JwtFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
+        long start = ServerTiming.start();
         String authHeader = request.getHeader("Authorization");
+        String username;
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             try {
-                String username = JwtUtil.validateToken(token);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList());
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                username = JwtUtil.validateToken(token);
             } catch (Exception e) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 return;
@@ -53,6 +70,19 @@ public class JwtFilter extends OncePerRequestFilter {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
         }
+        long waitNanos =
+                rateLimiter.tryAcquire(username, SubjectRateLimiter.cost(request.getMethod(), request.getRequestURI()));
+        ServerTiming.stop(TimingStage.AUTH, start);
+        if (waitNanos > 0) {
+            LOGGER.debug("Rate limit exceeded for subject {}", username);
+            long second = TimeUnit.SECONDS.toNanos(1);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((waitNanos + second - 1) / second));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
         chain.doFilter(request, response);
     }
 
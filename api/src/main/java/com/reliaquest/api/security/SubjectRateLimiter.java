@@ -0,0 +1,131 @@
+package com.reliaquest.api.security;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rate limits authenticated clients, keyed by the subject of their token.
+ * <p>
+ * Each subject has a token bucket that holds up to the configured capacity and refills at a constant rate.
+ * A bucket is kept as the single instant at which it will next be full, so taking tokens is one
+ * compare-and-set and no lock is held. Requests cost tokens by endpoint: reads of one employee are cheap,
+ * full listings and searches are not. A bucket that has refilled completely carries no state, so buckets
+ * idle for longer than the configured period are evicted without changing any outcome.
+ *
+ * @author skurade
+ */
+@Component
+public class SubjectRateLimiter {
+
+    static final int COST_SINGLE = 1;
+    static final int COST_WRITE = 3;
+    static final int COST_AGGREGATE = 5;
+    static final int COST_LIST = 10;
+    private static final int SWEEP_EVERY = 4096;
+    private static final String EMPLOYEE_PATH = "/api/v1/employee";
+
+    private final boolean enabled;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final long idleNanos;
+    private final ConcurrentMap<String, AtomicLong> fullAt = new ConcurrentHashMap<>();
+    private final AtomicLong acquisitions = new AtomicLong();
+
+    /**
+     * Constructs a {@link SubjectRateLimiter}.
+     *
+     * @param enabled whether requests are rate limited at all
+     * @param capacity the tokens a subject may spend at once
+     * @param refillPerSecond the tokens a subject regains per second
+     * @param idleAfter how long a subject's bucket is kept after it has refilled
+     */
+    public SubjectRateLimiter(
+            @Value("${employee.rate-limit.enabled:true}") boolean enabled,
+            @Value("${employee.rate-limit.capacity:100}") int capacity,
+            @Value("${employee.rate-limit.refill-per-second:20}") int refillPerSecond,
+            @Value("${employee.rate-limit.idle-after:PT5M}") Duration idleAfter) {
+        this.enabled = enabled;
+        this.nanosPerToken = Duration.ofSeconds(1).toNanos() / Math.max(1, refillPerSecond);
+        this.burstNanos = nanosPerToken * Math.max(1, capacity);
+        this.idleNanos = idleAfter.toNanos();
+    }
+
+    /**
+     * Takes tokens from the subject's bucket, if it holds enough.
+     *
+     * @param subject the subject of the caller's token
+     * @param cost the tokens the request costs
+     * @return 0 if the request may proceed, otherwise the nanoseconds until the bucket holds enough tokens
+     */
+    public long tryAcquire(String subject, int cost) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        if (acquisitions.incrementAndGet() % SWEEP_EVERY == 0) {
+            evictIdle(now);
+        }
+        AtomicLong bucket = fullAt.computeIfAbsent(subject, key -> new AtomicLong(now));
+        long costNanos = cost * nanosPerToken;
+        while (true) {
+            long current = bucket.get();
+            long next = Math.max(current, now) + costNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of subjects with a bucket.
+     *
+     * @return the tracked subjects
+     */
+    int trackedSubjects() {
+        return fullAt.size();
+    }
+
+    /**
+     * Removes the buckets of subjects that have been full for longer than the idle period.
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    void evictIdle(long now) {
+        fullAt.values().removeIf(bucket -> now - bucket.get() > idleNanos);
+    }
+
+    /**
+     * Gets the tokens a request costs, by the endpoint it addresses.
+     *
+     * @param method the HTTP method
+     * @param path the request path
+     * @return the cost in tokens
+     */
+    static int cost(String method, String path) {
+        if (!path.startsWith(EMPLOYEE_PATH)) {
+            return COST_SINGLE;
+        }
+        if (!"GET".equals(method)) {
+            return COST_WRITE;
+        }
+        String endpoint = path.substring(EMPLOYEE_PATH.length());
+        if (endpoint.isEmpty()
+                || endpoint.equals("/")
+                || endpoint.startsWith("/search/")
+                || endpoint.startsWith("/filter")) {
+            return COST_LIST;
+        }
+        if (endpoint.equals("/highestSalary") || endpoint.equals("/topTenHighestEarningEmployeeNames")) {
+            return COST_AGGREGATE;
+        }
+        return COST_SINGLE;
+    }
+}
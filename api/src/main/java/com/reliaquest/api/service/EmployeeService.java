@@ -1,50 +1,108 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.bulkhead.Bulkheads;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotStore;
+import com.reliaquest.api.cache.SnapshotView;
+import com.reliaquest.api.exception.BulkheadFullException;
 import com.reliaquest.api.exception.EmployeeException;
 import com.reliaquest.api.exception.EmployeeRuntimeException;
+import com.reliaquest.api.exception.InvalidPageRequestException;
+import com.reliaquest.api.idempotency.IdempotencyStore;
+import com.reliaquest.api.kernel.IntKernels;
+import com.reliaquest.api.logging.HotPathLogger;
+import com.reliaquest.api.model.AutocompleteRank;
+import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeFilter;
+import com.reliaquest.api.model.EmployeeOrder;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.query.EmployeeColumns;
+import com.reliaquest.api.query.EmployeeFilterIndex;
+import com.reliaquest.api.query.EmployeeScanner;
+import com.reliaquest.api.query.NamePrefixIndex;
 import com.reliaquest.api.repository.IEmployeeRepository;
+import com.reliaquest.api.timing.ServerTiming;
+import com.reliaquest.api.timing.TimingStage;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 /**
  * Service class for managing Employee operations such as retrieval, creation, search, and deletion.
  * Handles business logic and interacts with the Employee repository.
+ * Upstream access runs in separate bulkhead compartments for single-employee reads, writes and
+ * full-list fetches, so a burst of one kind cannot starve the others.
+ * Full scans for search and top earners are split across cores for large employee lists, and salary
+ * aggregates run as vector kernels over the snapshot's salary column.
+ * Logging is asynchronous and sampled, see {@link HotPathLogger}.
+ * Creates sent with an idempotency key are applied at most once, see {@link IdempotencyStore}.
  *
  * @author skurade
  */
 @Service
 public class EmployeeService implements IEmployeeService {
 
+    /**
+     * Largest page a paginated read may request.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final IEmployeeRepository repository;
-    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeService.class);
+    private final EmployeeSnapshotStore snapshotStore;
+    private final Bulkheads bulkheads;
+    private final EmployeeScanner scanner;
+    private final IdempotencyStore idempotencyStore;
+    private static final HotPathLogger LOGGER = HotPathLogger.getLogger(EmployeeService.class);
 
     /**
-     * Constructs an EmployeeService with the specified repository.
+     * Constructs an EmployeeService with the specified repository and snapshot store.
      *
      * @param repository the employee repository
+     * @param snapshotStore the store holding the current employee snapshot
+     * @param bulkheads the compartments bounding concurrent upstream access
+     * @param scanner the scanner running searches and salary aggregates
+     * @param idempotencyStore the store deduplicating creates sent with an idempotency key
      */
-    public EmployeeService(IEmployeeRepository repository) {
+    public EmployeeService(
+            IEmployeeRepository repository,
+            EmployeeSnapshotStore snapshotStore,
+            Bulkheads bulkheads,
+            EmployeeScanner scanner,
+            IdempotencyStore idempotencyStore) {
         this.repository = repository;
+        this.snapshotStore = snapshotStore;
+        this.bulkheads = bulkheads;
+        this.scanner = scanner;
+        this.idempotencyStore = idempotencyStore;
     }
 
     /**
-     * Converts a key-value map to an Employee object.
+     * Returns the current employee snapshot, refreshing it from the repository once it is stale.
+     * Concurrent reads of a stale snapshot share one refresh. If the bulk compartment is full, a stale
+     * snapshot is served rather than rejecting the read.
      *
-     * @param empMap the map containing employee properties
-     * @return the constructed Employee object
+     * @return the current snapshot
+     * @throws EmployeeException if the refresh fails
      */
-    private Employee createEmployeeFromMap(Map<String, Object> empMap) {
-        Employee employee = new Employee();
-        employee.setName((String) empMap.get("name"));
-        employee.setSalary((Integer) empMap.get("salary"));
-        employee.setAge((Integer) empMap.get("age"));
-        employee.setTitle((String) empMap.get("title"));
-        return employee;
+    private EmployeeSnapshot snapshot() throws EmployeeException {
+        snapshotStore.markRead();
+        if (snapshotStore.isFresh()) {
+            return snapshotStore.current();
+        }
+        try {
+            return snapshotStore.refreshShared(() -> bulkheads.bulk().call(repository::getAll));
+        } catch (BulkheadFullException e) {
+            EmployeeSnapshot stale = snapshotStore.current();
+            if (stale == null) {
+                throw e;
+            }
+            LOGGER.warn("Serving stale employee snapshot version {}: {}", stale.version(), e.getMessage());
+            return stale;
+        }
     }
 
     /**
@@ -56,7 +114,7 @@ public class EmployeeService implements IEmployeeService {
     public List<Employee> getAllEmployees() {
         LOGGER.info("Fetching all employees");
         try {
-            return repository.getAll();
+            return snapshot().employees();
         } catch (EmployeeException e) {
             throw new EmployeeRuntimeException("Failed to fetch all employees", e);
         }
@@ -71,15 +129,136 @@ public class EmployeeService implements IEmployeeService {
     @Override
     public List<Employee> searchEmployeesByName(String nameFragment) {
         LOGGER.info("Searching employees by name : {}", nameFragment);
+        String fragment = nameFragment.toLowerCase();
         try {
-            return repository.getAll().stream()
-                    .filter(e -> e.getName().toLowerCase().contains(nameFragment.toLowerCase()))
-                    .collect(Collectors.toList());
+            return scanner.filter(
+                    snapshot().employees(), e -> e.getName().toLowerCase().contains(fragment));
         } catch (EmployeeException e) {
             throw new EmployeeRuntimeException("Failed to search employees by name : " + nameFragment, e);
         }
     }
 
+    /**
+     * Suggests employees by name prefix.
+     * Answered from the prefix index of the current snapshot, which is built once per version.
+     *
+     * @param prefix the typed prefix
+     * @param rank the ordering of the suggestions after first-name matches
+     * @param limit the maximum number of suggestions
+     * @return a list of suggested employees, best first
+     */
+    @Override
+    public List<Employee> autocompleteEmployees(String prefix, AutocompleteRank rank, int limit) {
+        try {
+            return snapshot()
+                    .derive("namePrefixIndex", s -> new NamePrefixIndex(s.employees()))
+                    .suggest(prefix, rank, limit);
+        } catch (EmployeeException e) {
+            throw new EmployeeRuntimeException("Failed to autocomplete employees by prefix : " + prefix, e);
+        }
+    }
+
+    /**
+     * Retrieves the employees matching a multi-attribute filter.
+     * Evaluated against the bitmap index of the current snapshot, which is built once per version.
+     *
+     * @param filter the title, age, salary and name criteria
+     * @return a list of matching employees
+     */
+    @Override
+    public List<Employee> filterEmployees(EmployeeFilter filter) {
+        LOGGER.info("Filtering employees");
+        try {
+            return snapshot()
+                    .derive("filterIndex", s -> new EmployeeFilterIndex(s.employees()))
+                    .query(filter);
+        } catch (EmployeeException e) {
+            throw new EmployeeRuntimeException("Failed to filter employees", e);
+        }
+    }
+
+    /**
+     * Retrieves one page of all employees in a stable order.
+     *
+     * @param order the ordering to page through
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of employees on the page
+     * @return the requested page
+     */
+    @Override
+    public EmployeePage getEmployeePage(EmployeeOrder order, String cursor, int limit) {
+        LOGGER.info("Fetching page of employees ordered by {}", order);
+        return page(order, cursor, limit, e -> true);
+    }
+
+    /**
+     * Retrieves one page of the employees whose names contain a fragment.
+     *
+     * @param nameFragment the fragment of the employee name to search for
+     * @param order the ordering to page through
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of employees on the page
+     * @return the requested page
+     */
+    @Override
+    public EmployeePage searchEmployeePage(String nameFragment, EmployeeOrder order, String cursor, int limit) {
+        LOGGER.info("Searching page of employees by name : {}", nameFragment);
+        String fragment = nameFragment.toLowerCase();
+        return page(order, cursor, limit, e -> e.getName().toLowerCase().contains(fragment));
+    }
+
+    /**
+     * Collects the next page of matching employees after the cursor position.
+     * The cursor position is found by binary search over the snapshot's sorted view, so a page costs
+     * O(log N) plus the employees scanned to fill it.
+     *
+     * @param order the ordering to page through
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of employees on the page
+     * @param filter selects the employees that belong to the result set
+     * @return the requested page
+     */
+    private EmployeePage page(EmployeeOrder order, String cursor, int limit, Predicate<Employee> filter) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        EmployeeSnapshot snapshot;
+        int start = 0;
+        if (cursor == null) {
+            try {
+                snapshot = snapshot();
+            } catch (EmployeeException e) {
+                throw new EmployeeRuntimeException("Failed to fetch page of employees", e);
+            }
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            if (position.order() != order) {
+                throw new InvalidPageRequestException("Cursor was issued for sort order " + position.order());
+            }
+            snapshot = snapshotStore.get(position.version());
+            if (snapshot == null) {
+                throw new InvalidPageRequestException("Cursor has expired, restart from the first page");
+            }
+            int index = Collections.binarySearch(snapshot.sorted(order), position.probe(), order.comparator());
+            start = index >= 0 ? index + 1 : -index - 1;
+        }
+
+        List<Employee> sorted = snapshot.sorted(order);
+        List<Employee> items = new ArrayList<>(Math.min(limit, sorted.size()));
+        int next = start;
+        while (next < sorted.size() && items.size() < limit) {
+            Employee employee = sorted.get(next++);
+            if (filter.test(employee)) {
+                items.add(employee);
+            }
+        }
+        String nextCursor = next < sorted.size()
+                ? PageCursor.after(snapshot.version(), order, items.get(items.size() - 1))
+                        .encode()
+                : null;
+        return new EmployeePage(items, nextCursor);
+    }
+
     /**
      * Retrieves an employee by their unique identifier.
      *
@@ -89,6 +268,16 @@ public class EmployeeService implements IEmployeeService {
     @Override
     public Employee getEmployeeById(String id) {
         LOGGER.info("Fetching employee by id: {}", id);
+        return bulkheads.read().call(() -> findEmployeeById(id));
+    }
+
+    /**
+     * Fetches an employee by their unique identifier from the repository.
+     *
+     * @param id the employee's unique identifier
+     * @return the employee with the specified id
+     */
+    private Employee findEmployeeById(String id) {
         try {
             return repository
                     .getById(id)
@@ -98,6 +287,17 @@ public class EmployeeService implements IEmployeeService {
         }
     }
 
+    /**
+     * Looks up an employee in the current snapshot without contacting upstream.
+     *
+     * @param id the employee's unique identifier
+     * @return the employee if the snapshot is fresh and contains it, otherwise null
+     */
+    @Override
+    public Employee getCachedEmployeeById(String id) {
+        return snapshotStore.isFresh() ? snapshotStore.current().employeeById(id) : null;
+    }
+
     /**
      * Gets the highest salary among all employees.
      *
@@ -107,10 +307,11 @@ public class EmployeeService implements IEmployeeService {
     public int getHighestSalary() {
         LOGGER.info("Getting highest salary among employees");
         try {
-            return repository.getAll().stream()
-                    .mapToInt(Employee::getSalary)
-                    .max()
-                    .orElse(0);
+            return snapshot().derive("highestSalary", s -> {
+                int[] salaries = s.derive("columns", c -> new EmployeeColumns(c.employees()))
+                        .salaries();
+                return salaries.length == 0 ? 0 : IntKernels.get().max(salaries);
+            });
         } catch (EmployeeException e) {
             throw new EmployeeRuntimeException("Failed to get highest salary among employees", e);
         }
@@ -125,35 +326,48 @@ public class EmployeeService implements IEmployeeService {
     public List<String> getTop10HighestEarningEmployeeNames() {
         LOGGER.info("Getting top 10 highest earning employees");
         try {
-            return repository.getAll().stream()
-                    .sorted((e1, e2) -> Integer.compare(e2.getSalary(), e1.getSalary()))
-                    .limit(10)
-                    .map(Employee::getName)
-                    .collect(Collectors.toList());
+            return snapshot().derive("top10", s -> {
+                long start = ServerTiming.start();
+                List<Employee> top = scanner.topBySalary(s.employees(), 10);
+                ServerTiming.stop(TimingStage.SORT, start);
+                return new SnapshotView<>(
+                        s, "top10", top.stream().map(Employee::getName).collect(Collectors.toList()));
+            });
         } catch (EmployeeException e) {
             throw new EmployeeRuntimeException("Failed to get top 10 highest earning employees", e);
         }
     }
 
     /**
-     * Creates a new employee from the provided input object.
+     * Creates a new employee from the provided input.
+     * The created employee is applied to the current snapshot, so reads that follow see it immediately.
+     * Duplicates of a create sent with the same idempotency key by the same subject wait for or replay
+     * the first one before taking a write slot, so they cost no upstream call.
      *
-     * @param emp the input object containing employee data
+     * @param input the validated attributes of the employee to create
+     * @param subject the authenticated subject creating the employee, or null if anonymous
+     * @param idempotencyKey the key identifying retries of the same create, or null for none
      * @return the created Employee object
      */
     @Override
-    public Employee createEmployee(Object emp) {
-        Employee employee = createEmployeeFromMap((Map<String, Object>) emp);
-        LOGGER.info("Creating employee: {}", employee.getName());
+    public Employee createEmployee(CreateEmployeeInput input, String subject, String idempotencyKey) {
+        LOGGER.info("Creating employee: {}", input.getName());
         try {
-            return repository.create(employee);
+            return idempotencyStore.execute(subject, idempotencyKey, input, () -> {
+                Employee created = bulkheads.write().call(() -> repository.create(input));
+                if (created != null) {
+                    snapshotStore.applyCreated(created);
+                }
+                return created;
+            });
         } catch (EmployeeException e) {
-            throw new EmployeeRuntimeException("Failed to create employee: " + employee.getName(), e);
+            throw new EmployeeRuntimeException("Failed to create employee: " + input.getName(), e);
         }
     }
 
     /**
      * Deletes an employee by their unique identifier.
+     * The employee is removed from the current snapshot, so reads that follow no longer see it.
      *
      * @param id the employee's unique identifier
      * @return the name of the deleted employee
@@ -161,16 +375,18 @@ public class EmployeeService implements IEmployeeService {
     @Override
     public String deleteEmployeeById(String id) {
         LOGGER.info("Deleting employee by id: {}", id);
-        Employee emp = getEmployeeById(id);
-        try {
-            if (repository.deleteById(id)) {
-
-                return emp.getName();
-            } else {
-                throw new EmployeeRuntimeException("Employee not found or could not be deleted for id: " + id);
+        return bulkheads.write().call(() -> {
+            Employee emp = findEmployeeById(id);
+            try {
+                if (repository.deleteById(id)) {
+                    snapshotStore.applyDeleted(id);
+                    return emp.getName();
+                } else {
+                    throw new EmployeeRuntimeException("Employee not found or could not be deleted for id: " + id);
+                }
+            } catch (EmployeeException e) {
+                throw new EmployeeRuntimeException("Failed to delete employee by id: " + id, e);
             }
-        } catch (EmployeeException e) {
-            throw new EmployeeRuntimeException("Failed to delete employee by id: " + id, e);
-        }
+        });
     }
 }
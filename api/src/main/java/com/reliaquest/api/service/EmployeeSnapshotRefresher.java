@@ -0,0 +1,262 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotStore;
+import com.reliaquest.api.exception.EmployeeException;
+import com.reliaquest.api.model.RefreshOutcome;
+import com.reliaquest.api.model.RefreshStatus;
+import com.reliaquest.api.repository.IEmployeeRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Refreshes the employee snapshot from upstream in the background, so reads are answered without
+ * contacting upstream on the request path.
+ * <p>
+ * Each refresh schedules the next one. The interval moves between the configured minimum and
+ * maximum with the observed change rate, is never shorter than a multiple of the upstream latency,
+ * and backs off with the 429 ratio and with consecutive failures. A random jitter keeps several
+ * instances from refreshing in lockstep. While nothing has been read for the idle period no
+ * refresh is made, and reads fall back to refreshing on demand.
+ * <p>
+ * After a successful refresh the snapshot is held fresh until shortly after the next refresh is due,
+ * so reads in between do not refresh it on demand once its max age has passed. The hold never lasts
+ * longer than the maximum interval, which bounds how stale a snapshot served between background
+ * refreshes can be; a refresh that is later than that leaves reads to refresh on demand.
+ *
+ * @author skurade
+ */
+@Component
+public class EmployeeSnapshotRefresher implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeSnapshotRefresher.class);
+    private static final double SMOOTHING = 0.2;
+    private static final double JITTER = 0.2;
+    private static final int LATENCY_MULTIPLE = 4;
+    private static final int THROTTLE_BACKOFF = 4;
+    private static final int MAX_FAILURE_BACKOFF_SHIFT = 5;
+
+    private final IEmployeeRepository repository;
+    private final EmployeeSnapshotStore snapshotStore;
+    private final boolean enabled;
+    private final long minIntervalNanos;
+    private final long maxIntervalNanos;
+    private final Duration idleAfter;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+    private volatile long intervalNanos;
+    private volatile Instant nextRefreshAt;
+    private volatile Instant lastRefreshAt;
+    private volatile RefreshOutcome lastOutcome;
+    private volatile long lastLatencyNanos = -1;
+    private volatile double latencyNanos;
+    private volatile double changeRate = 0.5;
+    private volatile double throttleRate;
+    private volatile int consecutiveFailures;
+
+    /**
+     * Constructs a refresher for the given snapshot store.
+     *
+     * @param repository the repository used to fetch employees from upstream
+     * @param snapshotStore the store holding the current employee snapshot
+     * @param enabled whether the refresher starts with the application
+     * @param minInterval the shortest interval between refreshes, used while data changes on every refresh
+     * @param maxInterval the longest interval between refreshes, used while data does not change
+     *     or upstream pushes back
+     * @param idleAfter how long without reads before refreshing pauses
+     */
+    public EmployeeSnapshotRefresher(
+            IEmployeeRepository repository,
+            EmployeeSnapshotStore snapshotStore,
+            @Value("${employee.refresh.enabled:true}") boolean enabled,
+            @Value("${employee.refresh.min-interval:PT0.5S}") Duration minInterval,
+            @Value("${employee.refresh.max-interval:PT10S}") Duration maxInterval,
+            @Value("${employee.refresh.idle-after:PT30S}") Duration idleAfter) {
+        this.repository = repository;
+        this.snapshotStore = snapshotStore;
+        this.enabled = enabled;
+        this.minIntervalNanos = minInterval.toNanos();
+        this.maxIntervalNanos = Math.max(minIntervalNanos, maxInterval.toNanos());
+        this.idleAfter = idleAfter;
+        this.intervalNanos = nextInterval();
+    }
+
+    /**
+     * Starts refreshing in the background.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "employee-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        schedule(0);
+    }
+
+    /**
+     * Stops refreshing in the background.
+     */
+    @Override
+    public synchronized void stop() {
+        running = false;
+        nextRefreshAt = null;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return enabled;
+    }
+
+    /**
+     * Gets the current schedule and the outcome of the last refresh.
+     *
+     * @return the refresher status
+     */
+    public RefreshStatus status() {
+        long lastLatency = lastLatencyNanos;
+        return new RefreshStatus(
+                running,
+                Duration.ofNanos(intervalNanos),
+                nextRefreshAt,
+                lastRefreshAt,
+                lastOutcome,
+                lastLatency < 0 ? null : Duration.ofNanos(lastLatency),
+                changeRate,
+                throttleRate,
+                consecutiveFailures);
+    }
+
+    /**
+     * Runs one refresh and schedules the next one.
+     */
+    private void run() {
+        long delay;
+        try {
+            delay = refreshOnce();
+        } catch (RuntimeException e) {
+            LOGGER.error("Unexpected error refreshing employees in the background", e);
+            delay = maxIntervalNanos;
+        }
+        schedule(delay);
+    }
+
+    /**
+     * Schedules the next refresh, unless the refresher has been stopped in the meantime.
+     *
+     * @param delayNanos the delay before the next refresh
+     */
+    private synchronized void schedule(long delayNanos) {
+        if (running) {
+            nextRefreshAt = Instant.now().plusNanos(delayNanos);
+            scheduler.schedule(this::run, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Refreshes the snapshot from upstream, unless it has not been read recently,
+     * and adapts the interval to the outcome.
+     *
+     * @return the jittered delay before the next refresh, in nanoseconds
+     */
+    long refreshOnce() {
+        lastRefreshAt = Instant.now();
+        Duration sinceLastRead = snapshotStore.sinceLastRead();
+        if (sinceLastRead == null || sinceLastRead.compareTo(idleAfter) > 0) {
+            lastOutcome = RefreshOutcome.IDLE;
+            return minIntervalNanos;
+        }
+
+        EmployeeSnapshot previous = snapshotStore.current();
+        long start = System.nanoTime();
+        try {
+            EmployeeSnapshot refreshed = snapshotStore.refreshShared(repository::getAll);
+            boolean changed = refreshed != previous;
+            recordLatency(System.nanoTime() - start);
+            changeRate += SMOOTHING * ((changed ? 1 : 0) - changeRate);
+            throttleRate -= SMOOTHING * throttleRate;
+            consecutiveFailures = 0;
+            lastOutcome = changed ? RefreshOutcome.CHANGED : RefreshOutcome.UNCHANGED;
+        } catch (EmployeeException e) {
+            boolean throttled = isThrottled(e);
+            recordLatency(System.nanoTime() - start);
+            throttleRate += SMOOTHING * ((throttled ? 1 : 0) - throttleRate);
+            consecutiveFailures++;
+            lastOutcome = throttled ? RefreshOutcome.THROTTLED : RefreshOutcome.FAILED;
+            LOGGER.warn("Background refresh of employees failed: {}", lastOutcome);
+        }
+
+        intervalNanos = nextInterval();
+        long delay = (long)
+                (intervalNanos * (1 + JITTER * (2 * ThreadLocalRandom.current().nextDouble() - 1)));
+        if (consecutiveFailures == 0) {
+            long margin = Math.max(minIntervalNanos, (long) latencyNanos * LATENCY_MULTIPLE);
+            snapshotStore.holdFreshFor(Duration.ofNanos(Math.min(maxIntervalNanos, delay + margin)));
+        }
+        return delay;
+    }
+
+    /**
+     * Computes the refresh interval from the smoothed change rate, latency, throttle rate and failures.
+     *
+     * @return the interval before jitter, in nanoseconds
+     */
+    private long nextInterval() {
+        double interval = maxIntervalNanos - (maxIntervalNanos - minIntervalNanos) * changeRate;
+        interval = Math.max(interval, latencyNanos * LATENCY_MULTIPLE);
+        interval *= 1 + THROTTLE_BACKOFF * throttleRate;
+        interval *= 1L << Math.min(consecutiveFailures, MAX_FAILURE_BACKOFF_SHIFT);
+        return (long) Math.min(maxIntervalNanos, Math.max(minIntervalNanos, interval));
+    }
+
+    /**
+     * Records the latency of an upstream fetch.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    private void recordLatency(long nanos) {
+        lastLatencyNanos = nanos;
+        latencyNanos = latencyNanos == 0 ? nanos : latencyNanos + SMOOTHING * (nanos - latencyNanos);
+    }
+
+    /**
+     * Checks whether a failed fetch was answered with 429 Too Many Requests.
+     *
+     * @param e the failure
+     * @return true if upstream throttled the fetch
+     */
+    private static boolean isThrottled(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpStatusCodeException statusException
+                    && statusException.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,6 +1,11 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.model.AutocompleteRank;
+import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeFilter;
+import com.reliaquest.api.model.EmployeeOrder;
+import com.reliaquest.api.model.EmployeePage;
 import java.util.List;
 
 /**
@@ -27,6 +32,46 @@ public interface IEmployeeService {
      */
     List<Employee> searchEmployeesByName(String nameFragment);
 
+    /**
+     * Suggests employees having a first or last name that starts with the typed prefix.
+     *
+     * @param prefix the typed prefix
+     * @param rank the ordering of the suggestions after first-name matches
+     * @param limit the maximum number of suggestions
+     * @return a list of suggested {@link Employee} objects, best first
+     */
+    List<Employee> autocompleteEmployees(String prefix, AutocompleteRank rank, int limit);
+
+    /**
+     * Retrieves the employees matching all criteria of a multi-attribute filter.
+     *
+     * @param filter the title, age, salary and name criteria
+     * @return a list of matching {@link Employee} objects
+     */
+    List<Employee> filterEmployees(EmployeeFilter filter);
+
+    /**
+     * Retrieves one page of all employees in a stable order.
+     * All pages reached through cursors are read from the employee-data version of the first page.
+     *
+     * @param order the ordering to page through
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of employees on the page
+     * @return the {@link EmployeePage}
+     */
+    EmployeePage getEmployeePage(EmployeeOrder order, String cursor, int limit);
+
+    /**
+     * Retrieves one page of the employees whose names contain the specified fragment.
+     *
+     * @param nameFragment the substring to search for in employee names
+     * @param order the ordering to page through
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit the maximum number of employees on the page
+     * @return the {@link EmployeePage}
+     */
+    EmployeePage searchEmployeePage(String nameFragment, EmployeeOrder order, String cursor, int limit);
+
     /**
      * Retrieves an employee by their unique identifier.
      *
@@ -35,6 +80,15 @@ public interface IEmployeeService {
      */
     Employee getEmployeeById(String id);
 
+    /**
+     * Looks up an employee in the current snapshot without contacting upstream.
+     * Only answers while the snapshot is still fresh.
+     *
+     * @param id the unique identifier of the employee
+     * @return the {@link Employee} object if the snapshot is fresh and contains it, otherwise null
+     */
+    Employee getCachedEmployeeById(String id);
+
     /**
      * Gets the highest salary among all employees.
      *
@@ -52,10 +106,23 @@ public interface IEmployeeService {
     /**
      * Creates a new employee.
      *
-     * @param employee the {@link Employee} object to create
+     * @param input the validated attributes of the employee to create
+     * @return the created {@link Employee} object
+     */
+    default Employee createEmployee(CreateEmployeeInput input) {
+        return createEmployee(input, null, null);
+    }
+
+    /**
+     * Creates a new employee at most once per idempotency key of the calling subject.
+     * A retry with the key of an earlier successful create by the same subject returns the employee created by it.
+     *
+     * @param input the validated attributes of the employee to create
+     * @param subject the authenticated subject creating the employee, or null if anonymous
+     * @param idempotencyKey the key identifying retries of the same create, or null for none
      * @return the created {@link Employee} object
      */
-    Employee createEmployee(Object employee);
+    Employee createEmployee(CreateEmployeeInput input, String subject, String idempotencyKey);
 
     /**
      * Deletes an employee by their unique identifier.
@@ -0,0 +1,88 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.InvalidPageRequestException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset cursor of a paginated read.
+ * Pins the employee-data version the first page was read from and the sort key of the last employee
+ * returned, encoded as an opaque URL-safe token.
+ *
+ * @author skurade
+ */
+final class PageCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final long version;
+    private final EmployeeOrder order;
+    private final int salary;
+    private final String id;
+
+    private PageCursor(long version, EmployeeOrder order, int salary, String id) {
+        this.version = version;
+        this.order = order;
+        this.salary = salary;
+        this.id = id;
+    }
+
+    /**
+     * Creates the cursor that continues after the given employee.
+     *
+     * @param version the employee-data version being paged through
+     * @param order the ordering being paged through
+     * @param last the last employee of the current page
+     * @return the cursor
+     */
+    static PageCursor after(long version, EmployeeOrder order, Employee last) {
+        return new PageCursor(version, order, last.getSalary(), last.getId());
+    }
+
+    /**
+     * Decodes a cursor token.
+     *
+     * @param token the token returned with a previous page
+     * @return the cursor
+     * @throws InvalidPageRequestException if the token is malformed
+     */
+    static PageCursor decode(String token) {
+        try {
+            String[] parts =
+                    new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+            return new PageCursor(
+                    Long.parseLong(parts[0]), EmployeeOrder.valueOf(parts[1]), Integer.parseInt(parts[2]), parts[3]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidPageRequestException("Malformed cursor");
+        }
+    }
+
+    /**
+     * Encodes this cursor as an opaque token.
+     *
+     * @return the token
+     */
+    String encode() {
+        String raw = version + SEPARATOR + order.name() + SEPARATOR + salary + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    long version() {
+        return version;
+    }
+
+    EmployeeOrder order() {
+        return order;
+    }
+
+    /**
+     * Builds an employee carrying only the sort key, for searching the position of this cursor.
+     *
+     * @return the probe employee
+     */
+    Employee probe() {
+        return new Employee(id, null, salary, 0, null, null);
+    }
+}
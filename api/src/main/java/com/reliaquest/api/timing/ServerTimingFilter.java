@@ -0,0 +1,117 @@
+package com.reliaquest.api.timing;
+
+import com.reliaquest.api.model.RequestTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Servlet filter that times the stages of a request with {@link ServerTiming}.
+ * A client asks for the breakdown by sending the {@value #TOGGLE_HEADER} header, and receives it in the
+ * {@value ServerTiming#HEADER} response header. As the header must precede the body while serialization is
+ * one of the stages, the body of such a request is buffered until it has been written. Independently, a
+ * configured fraction of requests is timed without buffering and recorded in the {@link ServerTimingLog}.
+ * All other requests are passed through untimed.
+ *
+ * @author skurade
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String TOGGLE_HEADER = "X-Server-Timing";
+
+    private final ServerTimingLog log;
+    private final boolean enabled;
+    private final double sampleRate;
+
+    /**
+     * Constructs a {@link ServerTimingFilter}.
+     *
+     * @param log the rolling log sampled requests are recorded in
+     * @param enabled whether requests may be timed at all
+     * @param sampleRate the fraction of requests, between 0 and 1, recorded in the log
+     */
+    public ServerTimingFilter(
+            ServerTimingLog log,
+            @Value("${employee.server-timing.enabled:true}") boolean enabled,
+            @Value("${employee.server-timing.sample-rate:0.01}") double sampleRate) {
+        this.log = log;
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Times the request if the client asked for it or it is sampled.
+     *
+     * @param request the HTTP request
+     * @param response the HTTP response
+     * @param chain the filter chain
+     * @throws ServletException if a servlet error occurs
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean requested = isRequested(request);
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!requested && !sampled) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ServerTiming timing = new ServerTiming();
+        ContentCachingResponseWrapper buffered = requested ? new ContentCachingResponseWrapper(response) : null;
+        ServerTiming.set(timing);
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            ServerTiming.set(null);
+            timing.finish();
+            if (buffered != null) {
+                response.setHeader(ServerTiming.HEADER, timing.header());
+                buffered.copyBodyToResponse();
+            }
+            if (sampled) {
+                log.add(new RequestTiming(
+                        Instant.now(),
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        response.getStatus(),
+                        timing.millis()));
+            }
+        }
+    }
+
+    /**
+     * Skips timing entirely when disabled.
+     *
+     * @param request the HTTP request
+     * @return true if the filter should not be applied, false otherwise
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    /**
+     * Checks whether the client asked for the {@value ServerTiming#HEADER} header.
+     *
+     * @param request the HTTP request
+     * @return true if the toggle header is present with a value other than {@code false} or {@code 0}
+     */
+    private static boolean isRequested(HttpServletRequest request) {
+        String toggle = request.getHeader(TOGGLE_HEADER);
+        return toggle != null && !"false".equalsIgnoreCase(toggle.trim()) && !"0".equals(toggle.trim());
+    }
+}
@@ -0,0 +1,52 @@
+package com.reliaquest.api.timing;
+
+import com.reliaquest.api.model.RequestTiming;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rolling log of the stage timings of sampled requests. Holds the most recent entries only,
+ * overwriting the oldest once full.
+ *
+ * @author skurade
+ */
+@Component
+public class ServerTimingLog {
+
+    private final RequestTiming[] entries;
+    private long written;
+
+    /**
+     * Constructs a {@link ServerTimingLog}.
+     *
+     * @param size the number of most recent entries kept
+     */
+    public ServerTimingLog(@Value("${employee.server-timing.log-size:256}") int size) {
+        this.entries = new RequestTiming[Math.max(1, size)];
+    }
+
+    /**
+     * Adds an entry, overwriting the oldest one if the log is full.
+     *
+     * @param timing the timing of a completed request
+     */
+    public synchronized void add(RequestTiming timing) {
+        entries[(int) (written++ % entries.length)] = timing;
+    }
+
+    /**
+     * Gets the entries in the log.
+     *
+     * @return the entries, most recent first
+     */
+    public synchronized List<RequestTiming> recent() {
+        int count = (int) Math.min(written, entries.length);
+        List<RequestTiming> recent = new ArrayList<>(count);
+        for (long i = written - 1; i >= written - count; i--) {
+            recent.add(entries[(int) (i % entries.length)]);
+        }
+        return recent;
+    }
+}
@@ -0,0 +1,50 @@
+package com.reliaquest.api.timing;
+
+/**
+ * Stages of request handling whose time is reported by {@link ServerTiming}.
+ *
+ * @author skurade
+ */
+public enum TimingStage {
+
+    /** Validation of the bearer token and the per-subject rate limit. */
+    AUTH("auth", "JWT validation"),
+
+    /** Waiting for the Mock Employee API. */
+    UPSTREAM("upstream", "Mock API"),
+
+    /** Mapping upstream records to employees. */
+    MAP("map", "Mapping"),
+
+    /** Sorting and ranking employees. */
+    SORT("sort", "Sorting"),
+
+    /** Writing the response body. */
+    SERIALIZE("serialize", "Serialization");
+
+    private final String metricName;
+    private final String description;
+
+    TimingStage(String metricName, String description) {
+        this.metricName = metricName;
+        this.description = description;
+    }
+
+    /**
+     * Gets the metric name of the stage in the {@code Server-Timing} header.
+     *
+     * @return the metric name
+     */
+    public String metricName() {
+        return metricName;
+    }
+
+    /**
+     * Gets the human-readable description of the stage.
+     *
+     * @return the description
+     */
+    public String description() {
+        return description;
+    }
+}
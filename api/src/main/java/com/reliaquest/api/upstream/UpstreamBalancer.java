@@ -0,0 +1,429 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.constants.ApiConstants;
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.model.UpstreamMetrics;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Spreads upstream requests across several instances of the Mock Employee API.
+ * <p>
+ * Every instance keeps its own employees, so together they hold the data in shards. A full list is read
+ * from every available instance and merged in the configured order. Creates are routed by a key with
+ * rendezvous hashing, so every write for the same key goes to the same instance while it is available
+ * and moves to the next instance in its ranking while it is not. The instance that acknowledged a create
+ * is remembered as the owner of the new id, and reads and deletes of that id go to it. An id without a
+ * known owner, such as one of the employees an instance started with, is looked for on the available
+ * instances with the fewest requests in flight first, and its owner is remembered once found.
+ * <p>
+ * An instance that fails several requests in a row with a connection error or a 5xx status is ejected
+ * for a while, and one that fails several health probes in a row stays out of rotation until a probe
+ * succeeds. If every instance is out of rotation, requests are still sent rather than failed locally.
+ * Probing only runs when more than one instance is configured.
+ *
+ * @author skurade
+ */
+@Component
+public class UpstreamBalancer implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UpstreamBalancer.class);
+    private static final int MAX_OWNERS = 100_000;
+
+    private final List<UpstreamEndpoint> endpoints = new ArrayList<>();
+    private final int ejectAfterFailures;
+    private final long ejectForNanos;
+    private final Duration probeInterval;
+    private final Predicate<String> probe;
+    private final Map<String, UpstreamEndpoint> owners =
+            Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, UpstreamEndpoint> eldest) {
+                    return size() > MAX_OWNERS;
+                }
+            });
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    /**
+     * Constructs an {@link UpstreamBalancer}.
+     *
+     * @param urls the base URLs of the employee resource of each instance
+     * @param ejectAfterFailures the number of consecutive failures after which an instance is taken out of rotation
+     * @param ejectFor how long an instance stays ejected after consecutive failed requests
+     * @param probeInterval the interval between health probes of every instance, zero to disable probing
+     * @param probeTimeout how long a health probe waits for an answer
+     */
+    @Autowired
+    public UpstreamBalancer(
+            @Value("${employee.upstream.urls:" + ApiConstants.BASE_URL + "}") List<String> urls,
+            @Value("${employee.upstream.eject-after-failures:3}") int ejectAfterFailures,
+            @Value("${employee.upstream.eject-for:PT10S}") Duration ejectFor,
+            @Value("${employee.upstream.probe-interval:PT2S}") Duration probeInterval,
+            @Value("${employee.upstream.probe-timeout:PT0.5S}") Duration probeTimeout) {
+        this(urls, ejectAfterFailures, ejectFor, probeInterval, headProbe(probeTimeout));
+    }
+
+    /**
+     * Constructs an {@link UpstreamBalancer} with the given health probe.
+     *
+     * @param urls the base URLs of the employee resource of each instance
+     * @param ejectAfterFailures the number of consecutive failures after which an instance is taken out of rotation
+     * @param ejectFor how long an instance stays ejected after consecutive failed requests
+     * @param probeInterval the interval between health probes of every instance, zero to disable probing
+     * @param probe tells whether the instance at a URL answers
+     */
+    UpstreamBalancer(
+            List<String> urls,
+            int ejectAfterFailures,
+            Duration ejectFor,
+            Duration probeInterval,
+            Predicate<String> probe) {
+        for (String url : urls) {
+            if (!url.isBlank()) {
+                endpoints.add(new UpstreamEndpoint(url.strip()));
+            }
+        }
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one upstream URL is required");
+        }
+        this.ejectAfterFailures = Math.max(1, ejectAfterFailures);
+        this.ejectForNanos = ejectFor.toNanos();
+        this.probeInterval = probeInterval;
+        this.probe = probe;
+    }
+
+    /**
+     * Sends a request that any instance can answer to the available instance with the fewest requests
+     * in flight. Ties are broken at random, so idle instances share the load evenly.
+     *
+     * @param request sends the request to the given base URL
+     * @param <T> the type of the response
+     * @return the response
+     */
+    public <T> T call(Function<String, T> request) {
+        long now = System.nanoTime();
+        int size = endpoints.size();
+        int first = size == 1 ? 0 : ThreadLocalRandom.current().nextInt(size);
+        UpstreamEndpoint best = null;
+        UpstreamEndpoint fallback = null;
+        for (int i = 0; i < size; i++) {
+            UpstreamEndpoint endpoint = endpoints.get((first + i) % size);
+            if (fallback == null || endpoint.outstanding() < fallback.outstanding()) {
+                fallback = endpoint;
+            }
+            if (endpoint.isAvailable(now) && (best == null || endpoint.outstanding() < best.outstanding())) {
+                best = endpoint;
+            }
+        }
+        return send(best != null ? best : fallback, request);
+    }
+
+    /**
+     * Sends a create to the instance ranked highest for its key among the available instances.
+     *
+     * @param key the routing key, such as the name of the employee written
+     * @param request sends the request to the given base URL
+     * @param <T> the type of the response
+     * @return the response
+     */
+    public <T> T callFor(String key, Function<String, T> request) {
+        long now = System.nanoTime();
+        long keyHash = key == null ? 0 : key.hashCode();
+        UpstreamEndpoint best = null;
+        UpstreamEndpoint fallback = null;
+        long bestScore = Long.MIN_VALUE;
+        long fallbackScore = Long.MIN_VALUE;
+        for (UpstreamEndpoint endpoint : endpoints) {
+            long score = mix(endpoint.hash() ^ keyHash);
+            if (fallback == null || score > fallbackScore) {
+                fallback = endpoint;
+                fallbackScore = score;
+            }
+            if (endpoint.isAvailable(now) && (best == null || score > bestScore)) {
+                best = endpoint;
+                bestScore = score;
+            }
+        }
+        return send(best != null ? best : fallback, request);
+    }
+
+    /**
+     * Sends a request to every available instance, or to every instance if none is available.
+     *
+     * @param request sends the request to the given base URL
+     * @param <T> the type of the response
+     * @return the responses, in the configured order of the instances
+     */
+    public <T> List<T> callEach(Function<String, T> request) {
+        List<UpstreamEndpoint> targets = available(System.nanoTime());
+        List<T> responses = new ArrayList<>(targets.size());
+        for (UpstreamEndpoint endpoint : targets) {
+            responses.add(send(endpoint, request));
+        }
+        return responses;
+    }
+
+    /**
+     * Sends a request about an employee to the instance that holds it.
+     * If its owner is not known, the available instances are asked in turn, the least loaded first,
+     * until one of them answers with a response.
+     *
+     * @param id the id of the employee
+     * @param request sends the request to the given base URL, returning null if the instance does not hold the employee
+     * @param <T> the type of the response
+     * @return the response, or null if no instance holds the employee
+     */
+    public <T> T callOwner(String id, Function<String, T> request) {
+        if (endpoints.size() == 1) {
+            return send(endpoints.get(0), request);
+        }
+        UpstreamEndpoint owner = owners.get(id);
+        if (owner != null) {
+            T response = send(owner, request);
+            if (response != null) {
+                return response;
+            }
+            owners.remove(id, owner);
+        }
+        List<UpstreamEndpoint> candidates = available(System.nanoTime());
+        candidates.sort(Comparator.comparingInt(UpstreamEndpoint::outstanding));
+        for (UpstreamEndpoint endpoint : candidates) {
+            if (endpoint != owner) {
+                T response = send(endpoint, request);
+                if (response != null) {
+                    owners.put(id, endpoint);
+                    return response;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remembers the instance that holds an employee, such as the one that acknowledged its create.
+     *
+     * @param id the id of the employee
+     * @param url the base URL of the instance
+     */
+    public void assignOwner(String id, String url) {
+        if (endpoints.size() == 1 || id == null) {
+            return;
+        }
+        for (UpstreamEndpoint endpoint : endpoints) {
+            if (endpoint.url().equals(url)) {
+                owners.put(id, endpoint);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Forgets the instance that held an employee, once the employee has been deleted.
+     *
+     * @param id the id of the employee
+     */
+    public void forgetOwner(String id) {
+        owners.remove(id);
+    }
+
+    /**
+     * Gets the state and load of every instance.
+     *
+     * @return the metrics, in the configured order
+     */
+    public List<UpstreamMetrics> metrics() {
+        long now = System.nanoTime();
+        return endpoints.stream().map(endpoint -> endpoint.metrics(now)).toList();
+    }
+
+    /**
+     * Starts probing the instances in the background.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "upstream-prober");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = probeInterval.toNanos();
+        scheduler.scheduleWithFixedDelay(this::probeOnce, interval, interval, TimeUnit.NANOSECONDS);
+        running = true;
+    }
+
+    /**
+     * Stops probing the instances.
+     */
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return endpoints.size() > 1 && !probeInterval.isZero() && !probeInterval.isNegative();
+    }
+
+    /**
+     * Probes every instance once and updates whether it is in rotation.
+     */
+    void probeOnce() {
+        for (UpstreamEndpoint endpoint : endpoints) {
+            boolean healthy;
+            try {
+                healthy = probe.test(endpoint.url());
+            } catch (RuntimeException e) {
+                healthy = false;
+            }
+            if (endpoint.probed(healthy, ejectAfterFailures)) {
+                if (healthy) {
+                    LOGGER.info("Upstream {} answers health probes again", endpoint.url());
+                } else {
+                    LOGGER.warn(
+                            "Upstream {} failed {} health probes, taken out of rotation",
+                            endpoint.url(),
+                            ejectAfterFailures);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the instances in rotation, in the configured order, or every instance if none is.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return a new list of the instances
+     */
+    private List<UpstreamEndpoint> available(long now) {
+        List<UpstreamEndpoint> available = new ArrayList<>(endpoints.size());
+        for (UpstreamEndpoint endpoint : endpoints) {
+            if (endpoint.isAvailable(now)) {
+                available.add(endpoint);
+            }
+        }
+        return available.isEmpty() ? new ArrayList<>(endpoints) : available;
+    }
+
+    /**
+     * Sends a request to an instance, tracking it as outstanding and recording whether the instance failed it.
+     *
+     * @param endpoint the instance
+     * @param request sends the request to the given base URL
+     * @param <T> the type of the response
+     * @return the response
+     */
+    private <T> T send(UpstreamEndpoint endpoint, Function<String, T> request) {
+        endpoint.begin();
+        boolean failed = false;
+        try {
+            return request.apply(endpoint.url());
+        } catch (RuntimeException e) {
+            failed = isInstanceFailure(e);
+            throw e;
+        } finally {
+            if (endpoint.end(failed, ejectAfterFailures, ejectForNanos)) {
+                LOGGER.warn(
+                        "Upstream {} failed {} requests in a row, ejected for {} ms",
+                        endpoint.url(),
+                        ejectAfterFailures,
+                        TimeUnit.NANOSECONDS.toMillis(ejectForNanos));
+            }
+        }
+    }
+
+    /**
+     * Checks whether a failed request counts against the instance it was sent to.
+     * Connection errors and 5xx statuses do; client errors do not, and neither do requests that were
+     * cut short by their own deadline or cancelled because a hedged attempt won.
+     *
+     * @param e the failure
+     * @return true if the instance failed to answer
+     */
+    private static boolean isInstanceFailure(RuntimeException e) {
+        Deadline deadline = Deadline.current();
+        if (Thread.currentThread().isInterrupted() || (deadline != null && deadline.isExpired())) {
+            return false;
+        }
+        return e instanceof ResourceAccessException || e instanceof HttpServerErrorException;
+    }
+
+    /**
+     * Creates a health probe that sends a HEAD request to the base URL of an instance.
+     * Any answer below 500, including a 429, shows that the instance is up.
+     *
+     * @param timeout how long the probe waits for an answer
+     * @return the probe
+     */
+    private static Predicate<String> headProbe(Duration timeout) {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        return url -> {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .timeout(timeout)
+                    .build();
+            try {
+                return client.send(request, HttpResponse.BodyHandlers.discarding())
+                                .statusCode()
+                        < 500;
+            } catch (IOException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Scrambles the bits of a hash, so that similar URLs and keys give unrelated rankings.
+     *
+     * @param h the value
+     * @return the mixed value
+     */
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,132 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.model.UpstreamMetrics;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One instance of the Mock Employee API and what is known about its health.
+ * <p>
+ * An instance is taken out of rotation for a while after consecutive failed requests, and for as long
+ * as its health probes keep failing. It is put back once the ejection has run out and its last probe,
+ * if any, succeeded.
+ *
+ * @author skurade
+ */
+final class UpstreamEndpoint {
+
+    private final String url;
+    private final long hash;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder ejections = new LongAdder();
+    private volatile long ejectedUntilNanos = System.nanoTime();
+    private volatile int consecutiveProbeFailures;
+    private volatile boolean probeHealthy = true;
+
+    /**
+     * Constructs an {@link UpstreamEndpoint}.
+     *
+     * @param url the base URL of the employee resource of the instance
+     */
+    UpstreamEndpoint(String url) {
+        this.url = url;
+        this.hash = UpstreamBalancer.mix(url.hashCode());
+    }
+
+    /**
+     * Gets the base URL of the employee resource of the instance.
+     *
+     * @return the URL
+     */
+    String url() {
+        return url;
+    }
+
+    /**
+     * Gets a well-mixed hash of the URL, used to rank instances for a routing key.
+     *
+     * @return the hash
+     */
+    long hash() {
+        return hash;
+    }
+
+    /**
+     * Gets the number of requests in flight to the instance.
+     *
+     * @return the number of outstanding requests
+     */
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Checks whether the instance is in rotation.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return true if it is neither ejected nor failing its health probes
+     */
+    boolean isAvailable(long now) {
+        return probeHealthy && now - ejectedUntilNanos >= 0;
+    }
+
+    /**
+     * Records that a request to the instance has been sent.
+     */
+    void begin() {
+        outstanding.incrementAndGet();
+        requests.increment();
+    }
+
+    /**
+     * Records that a request to the instance has completed.
+     *
+     * @param failed whether the instance failed to answer it
+     * @param ejectAfterFailures the number of consecutive failures after which the instance is ejected
+     * @param ejectForNanos how long an ejection lasts
+     * @return true if this failure ejected the instance
+     */
+    boolean end(boolean failed, int ejectAfterFailures, long ejectForNanos) {
+        outstanding.decrementAndGet();
+        if (!failed) {
+            consecutiveFailures.set(0);
+            return false;
+        }
+        failures.increment();
+        if (consecutiveFailures.incrementAndGet() < ejectAfterFailures) {
+            return false;
+        }
+        consecutiveFailures.set(0);
+        ejectedUntilNanos = System.nanoTime() + ejectForNanos;
+        ejections.increment();
+        return true;
+    }
+
+    /**
+     * Records the outcome of a health probe.
+     *
+     * @param healthy whether the instance answered the probe
+     * @param unhealthyAfter the number of consecutive failed probes after which the instance is out of rotation
+     * @return true if the probe changed whether the instance passes its health probes
+     */
+    boolean probed(boolean healthy, int unhealthyAfter) {
+        boolean wasHealthy = probeHealthy;
+        consecutiveProbeFailures = healthy ? 0 : consecutiveProbeFailures + 1;
+        probeHealthy = healthy || (wasHealthy && consecutiveProbeFailures < unhealthyAfter);
+        return probeHealthy != wasHealthy;
+    }
+
+    /**
+     * Gets the current state and counters of the instance.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return the metrics
+     */
+    UpstreamMetrics metrics(long now) {
+        return new UpstreamMetrics(
+                url, isAvailable(now), outstanding.get(), requests.sum(), failures.sum(), ejections.sum());
+    }
+}
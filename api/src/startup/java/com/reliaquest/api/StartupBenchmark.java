@@ -0,0 +1,197 @@
+package com.reliaquest.api;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the API takes to start, launching it as a new process several times per mode.
+ * Each launch is timed until the first successful {@code /api/v1/health} response and until the first
+ * successful employee read. The read needs the Mock Employee API to be running; without it only the
+ * health time is reported.
+ * <p>
+ * Arguments are {@code --runs=N}, optionally {@code --port=P}, and one or more {@code --mode NAME COMMAND...}
+ * groups, each giving the command line that launches the API. Run with {@code ./gradlew :api:startupBenchmark},
+ * adding {@code -Paot} to measure the AOT-processed application.
+ *
+ * @author skurade
+ */
+public final class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+    private static final long POLL_MILLIS = 5;
+
+    private final HttpClient client =
+            HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private final String baseUrl;
+
+    private StartupBenchmark(int port) {
+        this.baseUrl = "http://localhost:" + port + "/api/v1";
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of runs, the port and the launch command of each mode
+     * @throws Exception if a launch fails
+     */
+    public static void main(String[] args) throws Exception {
+        int runs = 5;
+        int port = 8111;
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        List<String> command = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith("--runs=")) {
+                runs = Integer.parseInt(args[i].substring("--runs=".length()));
+            } else if (args[i].startsWith("--port=")) {
+                port = Integer.parseInt(args[i].substring("--port=".length()));
+            } else if (args[i].equals("--mode")) {
+                command = new ArrayList<>();
+                modes.put(args[++i], command);
+            } else if (command != null) {
+                command.add(args[i]);
+            } else {
+                throw new IllegalArgumentException("Unexpected argument " + args[i]);
+            }
+        }
+
+        StartupBenchmark benchmark = new StartupBenchmark(port);
+        System.out.printf(
+                "%n%-10s %6s %14s %14s %14s %14s%n",
+                "mode", "runs", "health p50", "health min", "read p50", "read min");
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            long[] health = new long[runs];
+            long[] read = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                long[] sample = benchmark.launch(mode.getValue());
+                health[run] = sample[0];
+                read[run] = sample[1];
+            }
+            System.out.printf(
+                    "%-10s %6d %14s %14s %14s %14s%n",
+                    mode.getKey(), runs, median(health), min(health), median(read), min(read));
+        }
+    }
+
+    /**
+     * Launches the API once and waits for it to become healthy and to serve an employee read.
+     *
+     * @param command the launch command
+     * @return the milliseconds to the first health response and to the first read, -1 for the read if none
+     *     succeeded before the timeout
+     * @throws IOException if the process cannot be started
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private long[] launch(List<String> command) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = start + TIMEOUT.toNanos();
+            long health = -1;
+            while (health < 0 && System.nanoTime() < deadline && process.isAlive()) {
+                if (status(HttpRequest.newBuilder(URI.create(baseUrl + "/health"))) == 200) {
+                    health = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                } else {
+                    Thread.sleep(POLL_MILLIS);
+                }
+            }
+            if (health < 0) {
+                throw new IllegalStateException("API did not become healthy within " + TIMEOUT);
+            }
+
+            String token = null;
+            long read = -1;
+            while (read < 0 && System.nanoTime() < deadline) {
+                if (token == null) {
+                    token = token();
+                } else if (status(HttpRequest.newBuilder(URI.create(baseUrl + "/employee"))
+                                .header("Authorization", "Bearer " + token))
+                        == 200) {
+                    read = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+                if (read < 0) {
+                    Thread.sleep(POLL_MILLIS);
+                }
+            }
+            return new long[] {health, read};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Obtains a token for the built-in credentials.
+     *
+     * @return the token, or null if the API did not issue one
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private String token() throws InterruptedException {
+        String query = "username=" + URLEncoder.encode("admin", StandardCharsets.UTF_8) + "&password="
+                + URLEncoder.encode("password", StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/token?" + query))
+                .timeout(Duration.ofSeconds(5))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 ? response.body() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sends a GET request, treating a connection failure as not yet available.
+     *
+     * @param request the request
+     * @return the status code, or -1 if the connection failed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private int status(HttpRequest.Builder request) throws InterruptedException {
+        try {
+            HttpRequest get = request.timeout(Duration.ofSeconds(5)).GET().build();
+            return client.send(get, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Formats the median of the measured times.
+     *
+     * @param millis the times, -1 where not measured
+     * @return the median in milliseconds, or n/a
+     */
+    private static String median(long[] millis) {
+        long[] measured = Arrays.stream(millis).filter(m -> m >= 0).sorted().toArray();
+        return measured.length == 0 ? "n/a" : measured[measured.length / 2] + " ms";
+    }
+
+    /**
+     * Formats the minimum of the measured times.
+     *
+     * @param millis the times, -1 where not measured
+     * @return the minimum in milliseconds, or n/a
+     */
+    private static String min(long[] millis) {
+        long[] measured = Arrays.stream(millis).filter(m -> m >= 0).sorted().toArray();
+        return measured.length == 0 ? "n/a" : measured[0] + " ms";
+    }
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.UpstreamMetrics;
+import com.reliaquest.api.upstream.UpstreamBalancer;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * Tests that the application context starts with several upstream instances configured.
+ * The context is closed afterwards, so its log dispatcher does not stay installed for other tests.
+ *
+ * @author skurade
+ */
+@SpringBootTest(
+        properties = {
+            "employee.upstream.urls=http://localhost:8112/api/v1/employee,http://localhost:8113/api/v1/employee",
+            "employee.upstream.probe-interval=1h"
+        })
+@DirtiesContext
+class ApiApplicationMultiUpstreamTest {
+
+    @Autowired
+    private UpstreamBalancer upstreams;
+
+    /**
+     * Tests that the balancer is built from the configured URLs and probes them in the background.
+     */
+    @Test
+    void testContextLoadsWithSeveralUpstreams() {
+        assertEquals(
+                List.of("http://localhost:8112/api/v1/employee", "http://localhost:8113/api/v1/employee"),
+                upstreams.metrics().stream().map(UpstreamMetrics::getUrl).toList());
+        assertTrue(upstreams.isRunning());
+    }
+}
@@ -0,0 +1,184 @@
+package com.reliaquest.api.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AdaptiveConcurrencyLimit}.
+ */
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    /**
+     * Tests that no more requests are admitted than the limit, and that
+     * requests without priority are held to their share of it.
+     */
+    @Test
+    void testAdmitsUpToLimitAndShare() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 0.5);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire(false));
+        }
+        assertFalse(limit.tryAcquire(false));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire(true));
+        }
+        assertFalse(limit.tryAcquire(true));
+        assertEquals(10, limit.inFlight());
+
+        limit.release(MILLIS, false);
+        assertEquals(9, limit.inFlight());
+        assertTrue(limit.tryAcquire(true));
+    }
+
+    /**
+     * Tests that the limit grows while it is used and latency stays steady.
+     */
+    @Test
+    void testLimitGrowsWhileLatencyIsSteady() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 1.0);
+
+        for (int i = 0; i < 50; i++) {
+            saturate(limit);
+            limit.release(10 * MILLIS, false);
+        }
+
+        assertTrue(limit.limit() > 10, "limit was " + limit.limit());
+    }
+
+    /**
+     * Tests that the limit is only recomputed once a sampling window of completed requests is full.
+     */
+    @Test
+    void testLimitIsRecomputedOncePerWindow() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 1, 100, 1.0);
+
+        for (int i = 0; i < 9; i++) {
+            saturate(limit);
+            limit.release(10 * MILLIS, false);
+        }
+        assertEquals(50, limit.limit());
+
+        saturate(limit);
+        limit.release(10 * MILLIS, false);
+        assertTrue(limit.limit() > 50, "limit was " + limit.limit());
+    }
+
+    /**
+     * Tests that concurrent requests are all accounted for and keep the limit within its bounds.
+     */
+    @Test
+    void testConcurrentReleases() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 40, 1.0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        if (limit.tryAcquire(true)) {
+                            limit.release((i % 7 + 1) * MILLIS, i % 500 == 0);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, limit.inFlight());
+        assertTrue(limit.limit() >= 5 && limit.limit() <= 40, "limit was " + limit.limit());
+    }
+
+    /**
+     * Tests that the limit shrinks once latency rises above its long-term average.
+     */
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 1, 100, 1.0);
+        for (int i = 0; i < 20; i++) {
+            saturate(limit);
+            limit.release(10 * MILLIS, false);
+        }
+        int steady = limit.limit();
+
+        for (int i = 0; i < 50; i++) {
+            saturate(limit);
+            limit.release(100 * MILLIS, false);
+        }
+
+        assertTrue(limit.limit() < steady, "limit was " + limit.limit() + ", steady " + steady);
+    }
+
+    /**
+     * Tests that the limit does not grow while far fewer requests are in flight than it allows.
+     */
+    @Test
+    void testLimitDoesNotGrowWhenUnused() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100, 1.0);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limit.tryAcquire(true));
+            limit.release(10 * MILLIS, false);
+        }
+
+        assertEquals(20, limit.limit());
+    }
+
+    /**
+     * Tests that a timed out request shrinks the limit, but never below the minimum.
+     */
+    @Test
+    void testDropShrinksLimitToMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100, 1.0);
+
+        assertTrue(limit.tryAcquire(true));
+        limit.release(MILLIS, true);
+        assertEquals(18, limit.limit());
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limit.tryAcquire(true));
+            limit.release(MILLIS, true);
+        }
+        assertEquals(5, limit.limit());
+        assertEquals(0, limit.inFlight());
+    }
+
+    /**
+     * Tests that the limit never grows past the maximum.
+     */
+    @Test
+    void testLimitIsCappedAtMaximum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 25, 1.0);
+
+        for (int i = 0; i < 200; i++) {
+            saturate(limit);
+            limit.release(10 * MILLIS, false);
+        }
+
+        assertEquals(25, limit.limit());
+    }
+
+    /**
+     * Admits requests until the limit is reached.
+     *
+     * @param limit the limit to saturate
+     */
+    private static void saturate(AdaptiveConcurrencyLimit limit) {
+        while (limit.tryAcquire(true)) {
+            // fill up to the limit
+        }
+    }
+}
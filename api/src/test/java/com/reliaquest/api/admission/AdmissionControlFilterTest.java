@@ -0,0 +1,121 @@
+package com.reliaquest.api.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for {@link AdmissionControlFilter}.
+ */
+@ExtendWith(MockitoExtension.class)
+class AdmissionControlFilterTest {
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Mock
+    private FilterChain chain;
+
+    private AdmissionControlFilter filter;
+
+    /**
+     * Creates a filter admitting ten requests at once, four of them writes.
+     */
+    @BeforeEach
+    void setUp() {
+        filter = new AdmissionControlFilter(true, 10, 10, 10, 0.4, Duration.ofSeconds(2));
+    }
+
+    /**
+     * Tests that an admitted request proceeds and no longer counts as in flight afterwards.
+     */
+    @Test
+    void testAdmittedRequestProceeds() throws ServletException, IOException {
+        when(request.getMethod()).thenReturn("GET");
+
+        filter.doFilterInternal(request, response, chain);
+
+        verify(chain, times(1)).doFilter(request, response);
+        verify(response, never()).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertEquals(0, filter.limit().inFlight());
+    }
+
+    /**
+     * Tests that a request beyond the limit is rejected with 503 and Retry-After.
+     */
+    @Test
+    void testRequestBeyondLimitIsRejected() throws ServletException, IOException {
+        when(request.getMethod()).thenReturn("GET");
+        for (int i = 0; i < 10; i++) {
+            assertTrue(filter.limit().tryAcquire(true));
+        }
+
+        filter.doFilterInternal(request, response, chain);
+
+        verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(response).setHeader("Retry-After", "2");
+        verify(chain, never()).doFilter(request, response);
+    }
+
+    /**
+     * Tests that writes are shed while reads are still admitted.
+     */
+    @Test
+    void testWritesAreShedBeforeReads() throws ServletException, IOException {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(filter.limit().tryAcquire(true));
+        }
+
+        when(request.getMethod()).thenReturn("POST");
+        filter.doFilterInternal(request, response, chain);
+        verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(chain, never()).doFilter(request, response);
+
+        when(request.getMethod()).thenReturn("GET");
+        filter.doFilterInternal(request, response, chain);
+        verify(chain, times(1)).doFilter(request, response);
+    }
+
+    /**
+     * Tests that health, authentication and admin endpoints are never shed.
+     */
+    @Test
+    void testExemptEndpointsAreNotFiltered() {
+        when(request.getRequestURI()).thenReturn("/api/v1/health");
+        assertTrue(filter.shouldNotFilter(request));
+
+        when(request.getRequestURI()).thenReturn("/api/v1/auth/login");
+        assertTrue(filter.shouldNotFilter(request));
+
+        when(request.getRequestURI()).thenReturn("/api/v1/admin/bulkheads");
+        assertTrue(filter.shouldNotFilter(request));
+
+        when(request.getRequestURI()).thenReturn("/api/v1/employee");
+        assertFalse(filter.shouldNotFilter(request));
+    }
+
+    /**
+     * Tests that no request is filtered when admission control is disabled.
+     */
+    @Test
+    void testDisabledFilterSkipsAllRequests() {
+        filter = new AdmissionControlFilter(false, 10, 10, 10, 0.4, Duration.ofSeconds(2));
+        when(request.getRequestURI()).thenReturn("/api/v1/employee");
+
+        assertTrue(filter.shouldNotFilter(request));
+    }
+}
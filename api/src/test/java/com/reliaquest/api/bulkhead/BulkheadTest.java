@@ -0,0 +1,139 @@
+package com.reliaquest.api.bulkhead;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.BulkheadFullException;
+import com.reliaquest.api.exception.EmployeeException;
+import com.reliaquest.api.model.BulkheadMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Bulkhead}.
+ * <p>
+ * Verifies the concurrency and queue limits, fast rejection and the reported saturation.
+ *
+ * @author skurade
+ */
+class BulkheadTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    /**
+     * Releases any operation still occupying a bulkhead after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    /**
+     * Tests that an operation is rejected at once when the compartment and its queue are full.
+     */
+    @Test
+    void testRejectsWhenFull() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("read", 1, 0, Duration.ofMinutes(1));
+        occupy(bulkhead);
+
+        long start = System.nanoTime();
+        assertThrows(BulkheadFullException.class, () -> bulkhead.call(() -> "rejected"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+        BulkheadMetrics metrics = bulkhead.metrics();
+        assertEquals(1, metrics.getActive());
+        assertEquals(1, metrics.getAccepted());
+        assertEquals(1, metrics.getRejected());
+        assertEquals(1.0, metrics.getSaturation());
+    }
+
+    /**
+     * Tests that a queued operation runs once capacity is released.
+     */
+    @Test
+    void testQueuedOperationRuns() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("write", 1, 1, Duration.ofMinutes(1));
+        occupy(bulkhead);
+
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> bulkhead.call(() -> "queued"));
+        while (bulkhead.metrics().getQueued() == 0) {
+            Thread.sleep(1);
+        }
+        assertThrows(BulkheadFullException.class, () -> bulkhead.call(() -> "rejected"));
+
+        release.countDown();
+        assertEquals("queued", queued.join());
+        assertEquals(0, bulkhead.metrics().getActive());
+        assertEquals(1, bulkhead.metrics().getPeakActive());
+    }
+
+    /**
+     * Tests that an operation arriving as capacity is released queues behind the operation already waiting.
+     */
+    @Test
+    void testNewOperationDoesNotOvertakeQueuedOne() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("write", 1, 2, Duration.ofMinutes(1));
+        occupy(bulkhead);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<Boolean> queued =
+                CompletableFuture.supplyAsync(() -> bulkhead.call(() -> order.add("queued")));
+        while (bulkhead.metrics().getQueued() == 0) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(20);
+
+        release.countDown();
+        bulkhead.call(() -> order.add("new"));
+        queued.join();
+        assertEquals(List.of("queued", "new"), order);
+    }
+
+    /**
+     * Tests that a queued operation is rejected once it has waited the maximum time.
+     */
+    @Test
+    void testQueuedOperationTimesOut() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("bulk", 1, 1, Duration.ofMillis(50));
+        occupy(bulkhead);
+        assertThrows(BulkheadFullException.class, () -> bulkhead.call(() -> "timed out"));
+        assertEquals(0, bulkhead.metrics().getQueued());
+    }
+
+    /**
+     * Tests that checked failures of the operation pass through and release capacity.
+     */
+    @Test
+    void testFailurePassesThrough() {
+        Bulkhead bulkhead = new Bulkhead("read", 1, 0, Duration.ZERO);
+        assertThrows(
+                EmployeeException.class,
+                () -> bulkhead.call(() -> {
+                    throw new EmployeeException("API error");
+                }));
+        assertEquals("ok", bulkhead.call(() -> "ok"));
+    }
+
+    private void occupy(Bulkhead bulkhead) throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                bulkhead.call(() -> {
+                    running.countDown();
+                    return release.await(1, TimeUnit.MINUTES);
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        running.await();
+    }
+}
@@ -0,0 +1,210 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.CacheFootprint;
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link EmployeeSnapshotStore}.
+ * <p>
+ * Verifies version assignment, freshness, shared refreshes and per-snapshot memoization.
+ *
+ * @author skurade
+ */
+class EmployeeSnapshotStoreTest {
+
+    private final Employee emp1 = new Employee("1", "John", 1000, 30, "Dev", "john@company.com");
+    private final Employee emp2 = new Employee("2", "Jane", 2000, 28, "QA", "jane@company.com");
+
+    /**
+     * Tests that refreshing with unchanged data keeps the current snapshot and version.
+     */
+    @Test
+    void testRefreshWithUnchangedDataKeepsVersion() {
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(Duration.ZERO, 4);
+        EmployeeSnapshot first = store.refresh(List.of(emp1, emp2));
+        EmployeeSnapshot second =
+                store.refresh(List.of(new Employee("1", "John", 1000, 30, "Dev", "john@company.com"), emp2));
+        assertSame(first, second);
+    }
+
+    /**
+     * Tests that refreshing with changed data issues a new version and drops memoized values.
+     */
+    @Test
+    void testRefreshWithChangedDataBumpsVersion() {
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(Duration.ZERO, 4);
+        EmployeeSnapshot first = store.refresh(List.of(emp1));
+        assertEquals(1, (int) first.derive("count", s -> s.employees().size()));
+
+        EmployeeSnapshot second = store.refresh(List.of(emp1, emp2));
+        assertTrue(second.version() > first.version());
+        assertEquals(2, (int) second.derive("count", s -> s.employees().size()));
+        assertSame(second, store.current());
+    }
+
+    /**
+     * Tests snapshot freshness against the configured max age.
+     */
+    @Test
+    void testIsFresh() {
+        EmployeeSnapshotStore stale = new EmployeeSnapshotStore(Duration.ZERO, 4);
+        assertFalse(stale.isFresh());
+        stale.refresh(List.of(emp1));
+        assertFalse(stale.isFresh());
+
+        EmployeeSnapshotStore fresh = new EmployeeSnapshotStore(Duration.ofMinutes(1), 4);
+        fresh.refresh(List.of(emp1));
+        assertTrue(fresh.isFresh());
+    }
+
+    /**
+     * Tests that local creates and deletes are applied as new versions of the current snapshot.
+     */
+    @Test
+    void testApplyWritesIssuesNewVersions() {
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(Duration.ZERO, 4);
+        assertNull(store.applyCreated(emp2));
+
+        EmployeeSnapshot first = store.refresh(List.of(emp1));
+        EmployeeSnapshot created = store.applyCreated(emp2);
+        assertTrue(created.version() > first.version());
+        assertEquals(List.of(emp1, emp2), created.employees());
+        assertSame(first, store.get(first.version()));
+
+        EmployeeSnapshot deleted = store.applyDeleted("1");
+        assertTrue(deleted.version() > created.version());
+        assertEquals(List.of(emp2), deleted.employees());
+        assertSame(deleted, store.applyDeleted("1"));
+    }
+
+    /**
+     * Tests that a refresh whose fetch started before a local write keeps the write,
+     * while a refresh started after it takes upstream data as authoritative.
+     */
+    @Test
+    void testRefreshReconcilesLocalWrites() {
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(Duration.ZERO, 4);
+        store.refresh(List.of(emp1));
+
+        long staleMark = store.writeMark();
+        store.applyCreated(emp2);
+        assertEquals(
+                List.of(emp1, emp2), store.refresh(List.of(emp1), staleMark).employees());
+
+        long staleDeleteMark = store.writeMark();
+        store.applyDeleted("1");
+        assertEquals(
+                List.of(emp2),
+                store.refresh(List.of(emp1, emp2), staleDeleteMark).employees());
+
+        assertEquals(
+                List.of(emp1), store.refresh(List.of(emp1), store.writeMark()).employees());
+    }
+
+    /**
+     * Tests that writes racing to replace the snapshot issue consecutive versions without gaps.
+     */
+    @Test
+    void testConcurrentWritesIssueConsecutiveVersions() {
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(Duration.ZERO, 4);
+        EmployeeSnapshot first = store.refresh(List.of(emp1));
+        List<CompletableFuture<EmployeeSnapshot>> writes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Employee employee = new Employee("n" + i, "New " + i, 1000, 30, "Dev", "new" + i + "@company.com");
+            writes.add(CompletableFuture.supplyAsync(() -> store.applyCreated(employee)));
+        }
+        writes.forEach(CompletableFuture::join);
+
+        assertEquals(first.version() + 200, store.current().version());
+        assertEquals(201, store.current().employees().size());
+    }
+
+    /**
+     * Tests that callers refreshing while a fetch is in flight wait for it instead of fetching again.
+     */
+    @Test
+    void testConcurrentRefreshesShareOneFetch() throws Exception {
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(Duration.ZERO, 4);
+        AtomicInteger fetches = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            CompletableFuture<EmployeeSnapshot> first = CompletableFuture.supplyAsync(
+                    () -> store.refreshShared(() -> {
+                        fetches.incrementAndGet();
+                        started.countDown();
+                        awaitQuietly(release);
+                        return List.of(emp1, emp2);
+                    }),
+                    executor);
+            started.await();
+
+            List<CompletableFuture<EmployeeSnapshot>> waiting = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                waiting.add(CompletableFuture.supplyAsync(
+                        () -> store.refreshShared(() -> {
+                            fetches.incrementAndGet();
+                            return List.of(emp1);
+                        }),
+                        executor));
+            }
+            Thread.sleep(50);
+            release.countDown();
+
+            EmployeeSnapshot snapshot = first.join();
+            for (CompletableFuture<EmployeeSnapshot> refresh : waiting) {
+                assertSame(snapshot, refresh.join());
+            }
+            assertEquals(1, fetches.get());
+            assertEquals(List.of(emp1, emp2), snapshot.employees());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that the footprint counts employees shared between retained versions once,
+     * and includes the values memoized on each version.
+     */
+    @Test
+    void testFootprintCountsSharedEmployeesOnce() {
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(Duration.ZERO, 4);
+        CacheFootprint empty = store.footprint();
+        assertEquals(0, empty.getVersions());
+        assertEquals(0, empty.getCurrentVersion());
+        assertEquals(0, empty.getTotalBytes());
+
+        EmployeeSnapshot first = store.refresh(List.of(emp1));
+        first.derive("names", s -> s.employees().stream().map(Employee::getName).toList());
+        EmployeeSnapshot second = store.refresh(List.of(emp1, emp2));
+
+        CacheFootprint footprint = store.footprint();
+        assertEquals(2, footprint.getVersions());
+        assertEquals(second.version(), footprint.getCurrentVersion());
+        assertEquals(2, footprint.getEmployees());
+        assertEquals(1, footprint.getDerivedValues());
+        assertTrue(footprint.getEmployeeBytes() > emp1.estimatedBytes() + emp2.estimatedBytes());
+        assertTrue(footprint.getEmployeeBytes() < 2 * (emp1.estimatedBytes() + emp2.estimatedBytes()));
+        assertEquals(footprint.getEmployeeBytes() + footprint.getDerivedBytes(), footprint.getTotalBytes());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Unit tests for {@link SnapshotViewHttpMessageConverter}.
+ * <p>
+ * Verifies that cached JSON and gzip bodies are written and reused for the same snapshot.
+ *
+ * @author skurade
+ */
+class SnapshotViewHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SnapshotViewHttpMessageConverter converter = new SnapshotViewHttpMessageConverter(objectMapper);
+    private final EmployeeSnapshot snapshot =
+            new EmployeeSnapshot(1, List.of(new Employee("1", "John", 1000, 30, "Dev", "john@company.com")));
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Tests that a plain request receives the cached JSON body.
+     */
+    @Test
+    void testWritesCachedJson() throws IOException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(snapshot.employees(), MediaType.APPLICATION_JSON, output);
+
+        assertEquals(objectMapper.writeValueAsString(List.copyOf(snapshot.employees())), output.getBodyAsString());
+        assertNull(output.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertSame(
+                snapshot.employees().serialized(objectMapper),
+                snapshot.employees().serialized(objectMapper));
+    }
+
+    /**
+     * Tests that a request accepting gzip receives the cached gzip body, and that a Vary header set by
+     * the controller is kept without repeating Accept-Encoding.
+     */
+    @Test
+    void testWritesCachedGzip() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        output.getHeaders().setVary(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));
+        converter.write(snapshot.employees(), MediaType.APPLICATION_JSON, output);
+
+        assertEquals("gzip", output.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(
+                List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING),
+                output.getHeaders().getVary());
+        byte[] json = new GZIPInputStream(new ByteArrayInputStream(output.getBodyAsBytes())).readAllBytes();
+        assertArrayEquals(snapshot.employees().serialized(objectMapper).json(), json);
+    }
+
+    /**
+     * Tests that only snapshot views are handled by the converter.
+     */
+    @Test
+    void testSupportsOnlySnapshotViews() {
+        assertTrue(converter.canWrite(SnapshotView.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(SnapshotView.class, MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,53 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link EmployeeCborCodec}.
+ * <p>
+ * Verifies that employees survive a CBOR round trip and that the binary body is smaller than JSON.
+ *
+ * @author skurade
+ */
+class EmployeeCborCodecTest {
+
+    private final EmployeeCborCodec codec = new EmployeeCborCodec();
+
+    /**
+     * Tests encoding and decoding of a single employee.
+     * Asserts that all attributes are preserved.
+     */
+    @Test
+    void testSingleEmployeeRoundTrip() throws IOException {
+        Employee emp = new Employee("1", "John", 1000, 30, "Dev", "john@company.com");
+        Employee result = codec.decode(codec.encode(emp));
+        assertEquals("1", result.getId());
+        assertEquals("John", result.getName());
+        assertEquals(1000, result.getSalary());
+        assertEquals(30, result.getAge());
+        assertEquals("Dev", result.getTitle());
+        assertEquals("john@company.com", result.getEmail());
+    }
+
+    /**
+     * Tests encoding and decoding of an employee list.
+     * Asserts that order and size are preserved and the payload is smaller than the JSON body.
+     */
+    @Test
+    void testEmployeeListRoundTrip() throws IOException {
+        List<Employee> employees = List.of(
+                new Employee("1", "John", 1000, 30, "Dev", "john@company.com"),
+                new Employee("2", "Jane", 2000, 28, "QA", "jane@company.com"));
+        byte[] bytes = codec.encodeList(employees);
+        List<Employee> result = codec.decodeList(bytes);
+        assertEquals(2, result.size());
+        assertEquals("Jane", result.get(1).getName());
+        assertTrue(bytes.length < new ObjectMapper().writeValueAsBytes(employees).length);
+    }
+}
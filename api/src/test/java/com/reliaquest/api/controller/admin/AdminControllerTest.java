@@ -0,0 +1,144 @@
+package com.reliaquest.api.controller.admin;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.bulkhead.Bulkheads;
+import com.reliaquest.api.cache.EmployeeSnapshotStore;
+import com.reliaquest.api.model.BulkheadMetrics;
+import com.reliaquest.api.model.CacheFootprint;
+import com.reliaquest.api.model.CostReport;
+import com.reliaquest.api.model.EndpointCostMetrics;
+import com.reliaquest.api.model.RefreshOutcome;
+import com.reliaquest.api.model.RefreshStatus;
+import com.reliaquest.api.model.RequestTiming;
+import com.reliaquest.api.model.UpstreamMetrics;
+import com.reliaquest.api.profiling.EndpointCosts;
+import com.reliaquest.api.service.EmployeeSnapshotRefresher;
+import com.reliaquest.api.timing.ServerTimingLog;
+import com.reliaquest.api.upstream.UpstreamBalancer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Unit tests for {@link AdminController}.
+ * <p>
+ * Verifies that operational state is exposed unchanged.
+ *
+ * @author skurade
+ */
+@ExtendWith(MockitoExtension.class)
+class AdminControllerTest {
+
+    @Mock
+    private EmployeeSnapshotRefresher refresher;
+
+    @Mock
+    private Bulkheads bulkheads;
+
+    @Mock
+    private EndpointCosts endpointCosts;
+
+    @Mock
+    private EmployeeSnapshotStore snapshotStore;
+
+    @Mock
+    private ServerTimingLog timingLog;
+
+    @Mock
+    private UpstreamBalancer upstreams;
+
+    @InjectMocks
+    private AdminController controller;
+
+    /**
+     * Tests that the refresher status is returned.
+     */
+    @Test
+    void testGetRefreshStatus() {
+        RefreshStatus status = new RefreshStatus(
+                true,
+                Duration.ofSeconds(2),
+                Instant.now(),
+                Instant.now(),
+                RefreshOutcome.UNCHANGED,
+                Duration.ofMillis(20),
+                0.1,
+                0.0,
+                0);
+        when(refresher.status()).thenReturn(status);
+
+        ResponseEntity<RefreshStatus> response = controller.getRefreshStatus();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(status, response.getBody());
+    }
+
+    /**
+     * Tests that the metrics of every bulkhead compartment are returned.
+     */
+    @Test
+    void testGetBulkheadMetrics() {
+        List<BulkheadMetrics> metrics = List.of(new BulkheadMetrics("read", 32, 64, 3, 0, 10, 100, 2));
+        when(bulkheads.metrics()).thenReturn(metrics);
+
+        ResponseEntity<List<BulkheadMetrics>> response = controller.getBulkheadMetrics();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(metrics, response.getBody());
+    }
+
+    /**
+     * Tests that the endpoint costs and the cache footprint are returned together.
+     */
+    @Test
+    void testGetCosts() {
+        List<EndpointCostMetrics> endpoints = List.of(
+                new EndpointCostMetrics("EmployeeController.getAllEmployees", 10, 500_000, 80_000, 2_000_000, 400_000));
+        CacheFootprint footprint = new CacheFootprint(2, 7, 50, 12_000, 3, 40_000);
+        when(endpointCosts.metrics()).thenReturn(endpoints);
+        when(snapshotStore.footprint()).thenReturn(footprint);
+
+        ResponseEntity<CostReport> response = controller.getCosts();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(endpoints, response.getBody().getEndpoints());
+        assertSame(footprint, response.getBody().getCache());
+        assertEquals(52_000, response.getBody().getCache().getTotalBytes());
+    }
+
+    /**
+     * Tests that the timings of recently sampled requests are returned.
+     */
+    @Test
+    void testGetRequestTimings() {
+        List<RequestTiming> timings = List.of(new RequestTiming(
+                Instant.now(), "GET", "/api/v1/employee", 200, Map.of("upstream", 12.5, "total", 14.0)));
+        when(timingLog.recent()).thenReturn(timings);
+
+        ResponseEntity<List<RequestTiming>> response = controller.getRequestTimings();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(timings, response.getBody());
+    }
+
+    /**
+     * Tests that the state of every upstream instance is returned.
+     */
+    @Test
+    void testGetUpstreamMetrics() {
+        List<UpstreamMetrics> metrics = List.of(
+                new UpstreamMetrics("http://localhost:8112/api/v1/employee", true, 2, 120, 1, 0),
+                new UpstreamMetrics("http://localhost:8113/api/v1/employee", false, 0, 40, 3, 1));
+        when(upstreams.metrics()).thenReturn(metrics);
+
+        ResponseEntity<List<UpstreamMetrics>> response = controller.getUpstreamMetrics();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(metrics, response.getBody());
+    }
+}
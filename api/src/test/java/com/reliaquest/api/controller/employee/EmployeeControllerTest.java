@@ -2,17 +2,44 @@ package com.reliaquest.api.controller.employee;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.SnapshotViewHttpMessageConverter;
+import com.reliaquest.api.client.EmployeeCborCodec;
+import com.reliaquest.api.config.ApiConfig;
+import com.reliaquest.api.model.AutocompleteRank;
+import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeFilter;
+import com.reliaquest.api.model.EmployeeOrder;
+import com.reliaquest.api.model.EmployeePage;
 import com.reliaquest.api.service.IEmployeeService;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 /**
  * Unit tests for {@link EmployeeController}.
@@ -39,6 +66,22 @@ class EmployeeControllerTest {
                 new Employee("4", "Alice", 3000, 40, "Lead", "alice@company.com"));
     }
 
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    private void ifNoneMatch(String etag) {
+        request(HttpHeaders.IF_NONE_MATCH, etag);
+    }
+
+    private void request(String header, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(header, value);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
     /**
      * Tests retrieval of all employees.
      * Asserts that the response contains the expected list and status code.
@@ -52,6 +95,106 @@ class EmployeeControllerTest {
         assertEquals(employees, response.getBody());
     }
 
+    /**
+     * Tests that a snapshot-backed list carries its version as ETag.
+     * Asserts that a matching If-None-Match is answered with 304 and no body.
+     */
+    @Test
+    void testGetAllEmployees_ETagAndNotModified() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(7, createEmployeeList());
+        when(service.getAllEmployees()).thenReturn(snapshot.employees());
+
+        ResponseEntity<List<Employee>> response = controller.getAllEmployees();
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals("\"v7-employees\"", response.getHeaders().getETag());
+
+        ifNoneMatch("\"v7-employees\"");
+        ResponseEntity<List<Employee>> notModified = controller.getAllEmployees();
+        assertEquals(304, notModified.getStatusCodeValue());
+        assertNull(notModified.getBody());
+    }
+
+    /**
+     * Tests that a client sending {@code Accept: application/cbor} receives a CBOR body it can decode.
+     * Asserts that the body is written by the CBOR converter rather than the cached JSON of the snapshot.
+     */
+    @Test
+    void testGetAllEmployees_Cbor() throws Exception {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(7, createEmployeeList());
+        when(service.getAllEmployees()).thenReturn(snapshot.employees());
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setMessageConverters(
+                        new SnapshotViewHttpMessageConverter(new ObjectMapper()),
+                        new MappingJackson2HttpMessageConverter(),
+                        new ApiConfig().cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()))
+                .build();
+
+        MvcResult result = mvc.perform(get("/api/v1/employee").accept(EmployeeCborCodec.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(EmployeeCborCodec.MEDIA_TYPE))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v7-employees-cbor\""))
+                .andReturn();
+        byte[] body = result.getResponse().getContentAsByteArray();
+        assertEquals(createEmployeeList(), new EmployeeCborCodec().decodeList(body));
+    }
+
+    /**
+     * Tests that JSON, gzip-coded JSON and CBOR bodies of the same snapshot get different strong ETags.
+     * Asserts that every tagged response varies by Accept and Accept-Encoding, and that a tag of one
+     * representation does not validate another.
+     */
+    @Test
+    void testGetAllEmployees_ETagPerRepresentation() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(7, createEmployeeList());
+        when(service.getAllEmployees()).thenReturn(snapshot.employees());
+
+        ResponseEntity<List<Employee>> json = controller.getAllEmployees();
+        assertEquals("\"v7-employees\"", json.getHeaders().getETag());
+        assertEquals(
+                List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING),
+                json.getHeaders().getVary());
+
+        request(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        assertEquals(
+                "\"v7-employees-gz\"", controller.getAllEmployees().getHeaders().getETag());
+
+        request(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor");
+        assertEquals(
+                "\"v7-employees-cbor\"",
+                controller.getAllEmployees().getHeaders().getETag());
+
+        request(HttpHeaders.ACCEPT, "*/*, application/cbor;q=0.5");
+        assertEquals(
+                "\"v7-employees\"", controller.getAllEmployees().getHeaders().getETag());
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v7-employees\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        ResponseEntity<List<Employee>> cbor = controller.getAllEmployees();
+        assertEquals(200, cbor.getStatusCodeValue());
+        assertEquals("\"v7-employees-cbor\"", cbor.getHeaders().getETag());
+    }
+
+    /**
+     * Tests a paginated read of all employees.
+     * Asserts that the page is returned with the next cursor header.
+     */
+    @Test
+    void testGetAllEmployees_Paged() {
+        List<Employee> employees = createEmployeeList().subList(0, 2);
+        when(service.getEmployeePage(EmployeeOrder.SALARY, null, 2)).thenReturn(new EmployeePage(employees, "abc"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("limit", "2");
+        request.addParameter("sort", "salary");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        ResponseEntity<List<Employee>> response = controller.getAllEmployees();
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(employees, response.getBody());
+        assertEquals("abc", response.getHeaders().getFirst(EmployeeController.NEXT_CURSOR_HEADER));
+    }
+
     /**
      * Tests searching employees by name.
      * Asserts that the response contains the expected list and status code.
@@ -65,6 +208,36 @@ class EmployeeControllerTest {
         assertEquals(employees, response.getBody());
     }
 
+    /**
+     * Tests autocomplete by name prefix.
+     * Asserts that the response contains the suggestions and status code.
+     */
+    @Test
+    void testAutocompleteEmployees() {
+        List<Employee> employees = createEmployeeList().subList(0, 2);
+        when(service.autocompleteEmployees("ja", AutocompleteRank.ALPHABETICAL, 5))
+                .thenReturn(employees);
+        ResponseEntity<List<Employee>> response =
+                controller.autocompleteEmployees("ja", 5, AutocompleteRank.ALPHABETICAL);
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(employees, response.getBody());
+    }
+
+    /**
+     * Tests filtering employees by multiple attributes.
+     * Asserts that the response contains the expected list and status code.
+     */
+    @Test
+    void testFilterEmployees() {
+        List<Employee> employees = createEmployeeList().subList(3, 4);
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setTitle(List.of("Lead"));
+        when(service.filterEmployees(filter)).thenReturn(employees);
+        ResponseEntity<List<Employee>> response = controller.filterEmployees(filter);
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(employees, response.getBody());
+    }
+
     /**
      * Tests retrieval of an employee by ID when found.
      * Asserts that the response contains the expected employee and status code.
@@ -78,6 +251,38 @@ class EmployeeControllerTest {
         assertEquals(emp, response.getBody());
     }
 
+    /**
+     * Tests that a conditional read by ID matching the snapshot copy is answered without calling upstream.
+     * Asserts that the response status code is 304 and the full lookup is never made.
+     */
+    @Test
+    void testGetEmployeeById_NotModifiedFromSnapshot() {
+        Employee emp = new Employee("3", "Bob", 1500, 35, "Manager", "bob@company.com");
+        when(service.getCachedEmployeeById("3")).thenReturn(emp);
+        ifNoneMatch(EmployeeETags.forEmployee(emp));
+
+        ResponseEntity<Employee> response = controller.getEmployeeById("3");
+        assertEquals(304, response.getStatusCodeValue());
+        assertNull(response.getBody());
+        verify(service, never()).getEmployeeById("3");
+    }
+
+    /**
+     * Tests that a stale ETag on a read by ID returns the current employee.
+     * Asserts that the response status code is 200 and carries the new ETag.
+     */
+    @Test
+    void testGetEmployeeById_ChangedSinceETag() {
+        Employee emp = new Employee("3", "Bob", 1600, 35, "Manager", "bob@company.com");
+        when(service.getCachedEmployeeById("3")).thenReturn(null);
+        when(service.getEmployeeById("3")).thenReturn(emp);
+        ifNoneMatch("\"r0\"");
+
+        ResponseEntity<Employee> response = controller.getEmployeeById("3");
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(EmployeeETags.forEmployee(emp), response.getHeaders().getETag());
+    }
+
     /**
      * Tests retrieval of an employee by ID when not found.
      * Asserts that the response status code is 404 and body is null.
@@ -121,14 +326,34 @@ class EmployeeControllerTest {
      */
     @Test
     void testCreateEmployee() {
-        Employee input = new Employee(null, "Eve", 2500, 29, "DevOps", null);
+        CreateEmployeeInput input = new CreateEmployeeInput("Eve", 2500, 29, "DevOps");
         Employee created = new Employee("5", "Eve", 2500, 29, "DevOps", "eve@company.com");
-        when(service.createEmployee(any(Employee.class))).thenReturn(created);
-        ResponseEntity<Object> response = controller.createEmployee(input);
+        when(service.createEmployee(any(CreateEmployeeInput.class), isNull(), isNull()))
+                .thenReturn(created);
+        ResponseEntity<Employee> response = controller.createEmployee(input);
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(created, response.getBody());
     }
 
+    /**
+     * Tests that the Idempotency-Key header of a create is passed to the service with the token subject.
+     */
+    @Test
+    void testCreateEmployeeWithIdempotencyKey() {
+        CreateEmployeeInput input = new CreateEmployeeInput("Eve", 2500, 29, "DevOps");
+        Employee created = new Employee("5", "Eve", 2500, 29, "DevOps", "eve@company.com");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(EmployeeController.IDEMPOTENCY_KEY_HEADER, "retry-1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken("admin", null, Collections.emptyList()));
+        when(service.createEmployee(input, "admin", "retry-1")).thenReturn(created);
+
+        ResponseEntity<Employee> response = controller.createEmployee(input);
+
+        assertEquals(created, response.getBody());
+    }
+
     /**
      * Tests deletion of an employee by ID when found.
      * Asserts that the response contains the employee name and status code.
@@ -0,0 +1,97 @@
+package com.reliaquest.api.deadline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.DeadlineExceededException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link DeadlineClientHttpRequestFactory}.
+ * <p>
+ * Verifies that upstream timeouts are shortened to the remaining deadline.
+ *
+ * @author skurade
+ */
+class DeadlineClientHttpRequestFactoryTest {
+
+    private DeadlineClientHttpRequestFactory factory;
+    private HttpURLConnection connection;
+
+    /**
+     * Creates a factory with configured timeouts and an unconnected connection before each test.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        factory = new DeadlineClientHttpRequestFactory();
+        factory.setConnectTimeout(2000);
+        factory.setReadTimeout(10000);
+        connection = (HttpURLConnection)
+                URI.create("http://localhost:8112/api/v1/employee").toURL().openConnection();
+    }
+
+    /**
+     * Unbinds any deadline after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        Deadline.set(null);
+    }
+
+    /**
+     * Tests that calls without a deadline keep the configured timeouts.
+     */
+    @Test
+    void testNoDeadline() throws IOException {
+        factory.prepareConnection(connection, "GET");
+        assertEquals(2000, connection.getConnectTimeout());
+        assertEquals(10000, connection.getReadTimeout());
+    }
+
+    /**
+     * Tests that timeouts are shortened to the remaining deadline.
+     */
+    @Test
+    void testShortensToDeadline() throws IOException {
+        Deadline.set(Deadline.after(Duration.ofMillis(500)));
+        factory.prepareConnection(connection, "GET");
+        assertTrue(connection.getConnectTimeout() > 0 && connection.getConnectTimeout() <= 500);
+        assertTrue(connection.getReadTimeout() > 0 && connection.getReadTimeout() <= 500);
+    }
+
+    /**
+     * Tests that no call is made once the deadline has passed.
+     */
+    @Test
+    void testExpiredDeadline() {
+        Deadline.set(Deadline.after(Duration.ZERO));
+        assertThrows(DeadlineExceededException.class, () -> factory.prepareConnection(connection, "GET"));
+    }
+
+    /**
+     * Tests that no call is made by an attempt that has been aborted.
+     */
+    @Test
+    void testAbortedAttempt() {
+        UpstreamAttempt attempt = new UpstreamAttempt();
+        attempt.abort();
+        assertThrows(
+                UncheckedIOException.class, () -> attempt.bind(this::prepare).get());
+        assertNull(prepare());
+    }
+
+    private Void prepare() {
+        try {
+            factory.prepareConnection(connection, "GET");
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.reliaquest.api.deadline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.DeadlineExceededException;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * Unit tests for {@link DeadlineInterceptor}.
+ * <p>
+ * Verifies where the timeout of a request comes from and that the deadline is bound for the request only.
+ *
+ * @author skurade
+ */
+class DeadlineInterceptorTest {
+
+    private final DeadlineInterceptor interceptor =
+            new DeadlineInterceptor(Duration.ofSeconds(3), Duration.ofSeconds(30));
+
+    /**
+     * Unbinds any deadline after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        Deadline.set(null);
+    }
+
+    /**
+     * Tests that the header sets the timeout, capped at the maximum.
+     */
+    @Test
+    void testTimeoutFromHeader() throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(DeadlineInterceptor.TIMEOUT_HEADER, "500");
+        assertEquals(Duration.ofMillis(500), interceptor.timeout(request, handler("annotated")));
+
+        request = new MockHttpServletRequest();
+        request.addHeader(DeadlineInterceptor.TIMEOUT_HEADER, "600000");
+        assertEquals(Duration.ofSeconds(30), interceptor.timeout(request, handler("annotated")));
+    }
+
+    /**
+     * Tests the endpoint default and the configured default when no valid header is sent.
+     */
+    @Test
+    void testTimeoutDefaults() throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        assertEquals(Duration.ofMillis(750), interceptor.timeout(request, handler("annotated")));
+        assertEquals(Duration.ofSeconds(3), interceptor.timeout(request, handler("plain")));
+
+        request.addHeader(DeadlineInterceptor.TIMEOUT_HEADER, "soon");
+        assertEquals(Duration.ofMillis(750), interceptor.timeout(request, handler("annotated")));
+    }
+
+    /**
+     * Tests that the deadline is bound while the request is handled and removed afterwards.
+     */
+    @Test
+    void testBindsDeadlineForRequest() throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request, response, handler("plain")));
+        assertNotNull(Deadline.current());
+
+        interceptor.afterCompletion(request, response, handler("plain"), null);
+        assertNull(Deadline.current());
+    }
+
+    /**
+     * Tests that a request asking for no time at all is rejected before it is handled.
+     */
+    @Test
+    void testZeroTimeoutRejected() throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(DeadlineInterceptor.TIMEOUT_HEADER, "0");
+        assertThrows(
+                DeadlineExceededException.class,
+                () -> interceptor.preHandle(request, new MockHttpServletResponse(), handler("plain")));
+    }
+
+    private HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(this, DeadlineInterceptorTest.class.getDeclaredMethod(name));
+    }
+
+    @RequestDeadline(millis = 750)
+    void annotated() {}
+
+    void plain() {}
+}
@@ -0,0 +1,75 @@
+package com.reliaquest.api.deadline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.DeadlineExceededException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Deadline}.
+ * <p>
+ * Verifies remaining time, binding to the current thread and propagation to other threads.
+ *
+ * @author skurade
+ */
+class DeadlineTest {
+
+    /**
+     * Unbinds any deadline after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        Deadline.set(null);
+    }
+
+    /**
+     * Tests the remaining time of a deadline.
+     */
+    @Test
+    void testRemaining() {
+        Deadline deadline = Deadline.after(Duration.ofMinutes(1));
+        assertFalse(deadline.isExpired());
+        assertTrue(deadline.remainingNanos() > Duration.ofSeconds(59).toNanos());
+        assertTrue(Deadline.after(Duration.ZERO).isExpired());
+    }
+
+    /**
+     * Tests that the deadline is bound to the current thread and propagated to tasks run elsewhere.
+     */
+    @Test
+    void testPropagate() {
+        Deadline deadline = Deadline.after(Duration.ofMinutes(1));
+        Deadline.set(deadline);
+        assertSame(deadline, Deadline.current());
+
+        assertNull(CompletableFuture.supplyAsync(Deadline::current).join());
+        assertSame(
+                deadline,
+                CompletableFuture.supplyAsync(Deadline.propagate(deadline, Deadline::current))
+                        .join());
+
+        Deadline.set(null);
+        assertNull(Deadline.current());
+    }
+
+    /**
+     * Tests that failures are reported as deadline exceeded only once the current deadline has passed.
+     */
+    @Test
+    void testCheckNotExpired() {
+        IOException timeout = new IOException("Read timed out");
+        Deadline.checkNotExpired(timeout);
+
+        Deadline.set(Deadline.after(Duration.ofMinutes(1)));
+        Deadline.checkNotExpired(timeout);
+
+        Deadline.set(Deadline.after(Duration.ZERO));
+        DeadlineExceededException e =
+                assertThrows(DeadlineExceededException.class, () -> Deadline.checkNotExpired(timeout));
+        assertSame(timeout, e.getCause());
+    }
+}
@@ -0,0 +1,215 @@
+package com.reliaquest.api.idempotency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import com.reliaquest.api.exception.EmployeeException;
+import com.reliaquest.api.exception.IdempotencyStoreFullException;
+import com.reliaquest.api.exception.InvalidIdempotencyKeyException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link IdempotencyStore}.
+ * <p>
+ * Verifies that a write runs once per key, that duplicates wait for or replay the first attempt,
+ * and that failures, expiry and the key limit let a write run again.
+ *
+ * @author skurade
+ */
+class IdempotencyStoreTest {
+
+    private static final String SUBJECT = "admin";
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    /**
+     * Releases any write still blocked and clears the deadline after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        Deadline.set(null);
+    }
+
+    /**
+     * Tests that a later request with the same key gets the stored result without running the write.
+     */
+    @Test
+    void testReplaysCompletedResult() {
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1));
+
+        assertEquals("created-1", store.execute(SUBJECT, "key", "request", this::create));
+        assertEquals("created-1", store.execute(SUBJECT, "key", "request", this::create));
+        assertEquals("created-2", store.execute(SUBJECT, "other", "request", this::create));
+        assertEquals("created-3", store.execute(SUBJECT, null, "request", this::create));
+        assertEquals("created-4", store.execute(SUBJECT, null, "request", this::create));
+        assertEquals(4, calls.get());
+    }
+
+    /**
+     * Tests that two subjects sending the same key, even with different requests, each get the result of
+     * their own write.
+     */
+    @Test
+    void testKeysAreScopedBySubject() {
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1));
+
+        assertEquals("created-1", store.execute("alice", "key", "request", this::create));
+        assertEquals("created-2", store.execute("bob", "key", "other request", this::create));
+        assertEquals("created-1", store.execute("alice", "key", "request", this::create));
+        assertEquals("created-2", store.execute("bob", "key", "other request", this::create));
+        assertEquals(2, calls.get());
+        assertEquals(2, store.size());
+    }
+
+    /**
+     * Tests that a duplicate arriving while the first attempt runs waits for its result.
+     */
+    @Test
+    void testConcurrentDuplicateWaitsForFirstAttempt() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(
+                () -> store.execute(SUBJECT, "key", "request", blockUntilReleased(started)));
+        started.await();
+
+        CompletableFuture<String> duplicate =
+                CompletableFuture.supplyAsync(() -> store.execute(SUBJECT, "key", "request", () -> "duplicate"));
+        Thread.sleep(20);
+        assertFalse(duplicate.isDone());
+
+        release.countDown();
+        assertEquals("created", first.join());
+        assertEquals("created", duplicate.join());
+    }
+
+    /**
+     * Tests that a duplicate stops waiting for the first attempt at the deadline of its request.
+     */
+    @Test
+    void testDuplicateWaitsNoLongerThanDeadline() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> store.execute(SUBJECT, "key", "request", blockUntilReleased(started)));
+        started.await();
+
+        Deadline.set(Deadline.after(Duration.ofMillis(20)));
+        assertThrows(DeadlineExceededException.class, () -> store.execute(SUBJECT, "key", "request", this::create));
+        assertEquals(0, calls.get());
+    }
+
+    /**
+     * Tests that a failed write is not stored, so a retry with the same key runs it again.
+     */
+    @Test
+    void testFailureIsNotStored() throws EmployeeException {
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1));
+
+        assertThrows(
+                EmployeeException.class,
+                () -> store.execute(SUBJECT, "key", "request", () -> {
+                    throw new EmployeeException("API error");
+                }));
+        assertEquals(0, store.size());
+        assertEquals("created-1", store.execute(SUBJECT, "key", "request", this::create));
+    }
+
+    /**
+     * Tests that a key reused for a different request, or too long a key, is rejected.
+     */
+    @Test
+    void testRejectsInvalidKey() {
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMinutes(1));
+        store.execute(SUBJECT, "key", "request", this::create);
+
+        assertThrows(
+                InvalidIdempotencyKeyException.class,
+                () -> store.execute(SUBJECT, "key", "other request", this::create));
+        String tooLong = "k".repeat(IdempotencyStore.MAX_KEY_LENGTH + 1);
+        assertThrows(
+                InvalidIdempotencyKeyException.class, () -> store.execute(SUBJECT, tooLong, "request", this::create));
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * Tests that results expire after the time to live and that only the most recent keys are kept.
+     */
+    @Test
+    void testExpiryAndKeyLimit() throws Exception {
+        IdempotencyStore expiring = new IdempotencyStore(10, Duration.ofMillis(1));
+        expiring.execute(SUBJECT, "key", "request", this::create);
+        Thread.sleep(5);
+        assertEquals("created-2", expiring.execute(SUBJECT, "key", "request", this::create));
+
+        IdempotencyStore bounded = new IdempotencyStore(2, Duration.ofMinutes(1));
+        bounded.execute(SUBJECT, "a", "request", this::create);
+        bounded.execute(SUBJECT, "b", "request", this::create);
+        bounded.execute(SUBJECT, "c", "request", this::create);
+        assertEquals(2, bounded.size());
+        assertEquals("created-6", bounded.execute(SUBJECT, "a", "request", this::create));
+        assertEquals("created-5", bounded.execute(SUBJECT, "c", "request", this::create));
+    }
+
+    /**
+     * Tests that a full store forgets completed keys but never the key of a running write, and rejects a
+     * new key while every key belongs to a running write.
+     */
+    @Test
+    void testRunningWritesAreNeverForgotten() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(1, Duration.ofMinutes(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(
+                () -> store.execute(SUBJECT, "running", "request", blockUntilReleased(started)));
+        started.await();
+
+        assertThrows(IdempotencyStoreFullException.class, () -> store.execute(SUBJECT, "new", "request", this::create));
+        assertEquals(0, calls.get());
+
+        release.countDown();
+        assertEquals("created", running.join());
+        assertEquals("created-1", store.execute(SUBJECT, "new", "request", this::create));
+        assertEquals(1, store.size());
+    }
+
+    /**
+     * Tests that expired results are all forgotten, including those of keys used after a write that is
+     * still running.
+     */
+    @Test
+    void testSweepsExpiredKeysBehindRunningWrite() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofMillis(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> store.execute(SUBJECT, "running", "request", blockUntilReleased(started)));
+        started.await();
+        store.execute(SUBJECT, "a", "request", this::create);
+        store.execute(SUBJECT, "b", "request", this::create);
+        assertEquals(3, store.size());
+
+        Thread.sleep(5);
+        store.execute(SUBJECT, "c", "request", this::create);
+        assertEquals(2, store.size());
+    }
+
+    private IdempotencyStore.Call<String, RuntimeException> blockUntilReleased(CountDownLatch started) {
+        return () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "created";
+        };
+    }
+
+    private String create() {
+        return "created-" + calls.incrementAndGet();
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.api.kernel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link IntKernels}.
+ * <p>
+ * Verifies the scalar kernels against expected values and the vector kernels against the scalar ones,
+ * for column lengths around the vector width so that the scalar tail is exercised.
+ */
+class IntKernelsTest {
+
+    private final IntKernels scalar = IntKernels.scalar();
+    private final IntKernels vector = new VectorIntKernels();
+
+    /**
+     * Tests that the vector kernels are chosen when the Vector API module is present, as in the test JVM.
+     */
+    @Test
+    void testVectorKernelsSelectedWhenModulePresent() {
+        assertTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+        assertTrue(
+                IntKernels.get().name().startsWith("vector-"), IntKernels.get().name());
+    }
+
+    /**
+     * Tests the scalar kernels on a small column.
+     */
+    @Test
+    void testScalarKernels() {
+        int[] column = {5, -3, 12, 7, 12, 0};
+
+        assertEquals(12, scalar.max(column));
+        assertEquals(33, scalar.sum(column));
+        assertEquals(3, scalar.countInRange(column, 0, 7));
+        assertArrayEquals(new int[] {2, 3, 4}, scalar.rowsAtLeast(column, 7));
+        assertEquals(Integer.MIN_VALUE, scalar.max(new int[0]));
+    }
+
+    /**
+     * Tests that the vector kernels match the scalar kernels for every column length up to several vectors.
+     */
+    @Test
+    void testVectorMatchesScalar() {
+        Random random = new Random(7);
+        for (int length = 0; length <= 200; length++) {
+            int[] column = random.ints(length, 0, 100).toArray();
+
+            assertEquals(scalar.max(column), vector.max(column), "max, length " + length);
+            assertEquals(scalar.sum(column), vector.sum(column), "sum, length " + length);
+            assertEquals(
+                    scalar.countInRange(column, 25, 60),
+                    vector.countInRange(column, 25, 60),
+                    "count, length " + length);
+            assertArrayEquals(scalar.rowsAtLeast(column, 80), vector.rowsAtLeast(column, 80), "rows, length " + length);
+        }
+    }
+
+    /**
+     * Tests that extreme values neither overflow the sum nor break the comparisons.
+     */
+    @Test
+    void testVectorHandlesExtremeValues() {
+        int[] column = new int[1000];
+        for (int i = 0; i < column.length; i++) {
+            column[i] = i % 2 == 0 ? Integer.MAX_VALUE : Integer.MIN_VALUE + 1;
+        }
+        column[999] = Integer.MAX_VALUE;
+
+        assertEquals(scalar.sum(column), vector.sum(column));
+        assertEquals(Integer.MAX_VALUE, vector.max(column));
+        assertEquals(501, vector.countInRange(column, 0, Integer.MAX_VALUE));
+        assertEquals(501, vector.rowsAtLeast(column, Integer.MAX_VALUE).length);
+    }
+}
@@ -0,0 +1,82 @@
+package com.reliaquest.api.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+/**
+ * Unit tests for {@link AsyncLogDispatcher}.
+ * <p>
+ * Verifies what happens to statements that do not fit in the buffer, and that an idle writer is woken by
+ * the next statement.
+ *
+ * @author skurade
+ */
+class AsyncLogDispatcherTest {
+
+    private final Logger logger = mock(Logger.class);
+
+    /**
+     * Tests that INFO statements are dropped on a full buffer, while WARN statements are written
+     * on the calling thread.
+     */
+    @Test
+    void testFullBufferDropsInfoButWritesWarn() {
+        AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(true, 2, 1, 100, Duration.ofMinutes(1));
+        Object[] none = new Object[0];
+
+        dispatcher.dispatch(new LogEvent(logger, Level.INFO, "first", none));
+        dispatcher.dispatch(new LogEvent(logger, Level.INFO, "second", none));
+        dispatcher.dispatch(new LogEvent(logger, Level.INFO, "third", none));
+        dispatcher.dispatch(new LogEvent(logger, Level.WARN, "warning", none));
+
+        assertEquals(1, dispatcher.dropped());
+        verify(logger, times(1)).warn(eq("warning"), any(Object[].class));
+        verify(logger, never()).info(anyString(), any(Object[].class));
+
+        assertEquals(2, dispatcher.drainOnce());
+        verify(logger, times(1)).info(eq("first"), any(Object[].class));
+        verify(logger, times(1)).info(eq("second"), any(Object[].class));
+        verify(logger, never()).info(eq("third"), any(Object[].class));
+    }
+
+    /**
+     * Tests that the dispatcher is only installed for hot-path loggers while it runs.
+     */
+    @Test
+    void testInstalledWhileRunning() {
+        AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(true, 16, 1, 100, Duration.ofMinutes(1));
+        assertTrue(dispatcher.isAutoStartup());
+        assertNull(AsyncLogDispatcher.installed());
+
+        dispatcher.start();
+        assertTrue(dispatcher.isRunning());
+        assertSame(dispatcher, AsyncLogDispatcher.installed());
+
+        dispatcher.stop();
+        assertFalse(dispatcher.isRunning());
+        assertNull(AsyncLogDispatcher.installed());
+    }
+
+    /**
+     * Tests that a statement handed to an idle writer, parked until the next summary a minute away, is
+     * written promptly.
+     */
+    @Test
+    void testIdleWriterIsWokenByStatement() throws InterruptedException {
+        AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(true, 16, 1, 100, Duration.ofMinutes(1));
+        dispatcher.start();
+        try {
+            Thread.sleep(50);
+            dispatcher.dispatch(new LogEvent(logger, Level.INFO, "after idle", new Object[0]));
+            verify(logger, timeout(5000)).info(eq("after idle"), any(Object[].class));
+        } finally {
+            dispatcher.stop();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.api.logging;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+/**
+ * Unit tests for {@link HotPathLogger}.
+ * <p>
+ * Verifies that DEBUG and INFO statements are rate capped per template while a dispatcher runs,
+ * and that WARN and ERROR statements are never dropped.
+ *
+ * @author skurade
+ */
+class HotPathLoggerTest {
+
+    private final Logger logger = mock(Logger.class);
+    private final HotPathLogger hotPathLogger = new HotPathLogger(logger);
+
+    /**
+     * Tests that statements are written directly and unsampled while no dispatcher is running.
+     */
+    @Test
+    void testWritesSynchronouslyWithoutDispatcher() {
+        when(logger.isInfoEnabled()).thenReturn(true);
+
+        for (int i = 0; i < 5; i++) {
+            hotPathLogger.info("Fetching all employees");
+        }
+
+        verify(logger, times(5)).info(eq("Fetching all employees"), any(Object[].class));
+    }
+
+    /**
+     * Tests that INFO statements are rate capped per template and written by the dispatcher.
+     */
+    @Test
+    void testInfoIsRateCappedPerTemplate() {
+        when(logger.isInfoEnabled()).thenReturn(true);
+        AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(true, 64, 1, 3, Duration.ofMinutes(1));
+        dispatcher.start();
+        try {
+            for (int i = 0; i < 10; i++) {
+                hotPathLogger.info("Fetching employee by id: {}", i);
+            }
+            hotPathLogger.info("Creating employee: {}", "John");
+        } finally {
+            dispatcher.stop();
+        }
+
+        verify(logger, times(3)).info(eq("Fetching employee by id: {}"), any(Object[].class));
+        verify(logger, times(1)).info(eq("Creating employee: {}"), any(Object[].class));
+    }
+
+    /**
+     * Tests that WARN and ERROR statements bypass sampling and rate caps.
+     */
+    @Test
+    void testWarnAndErrorAreNeverSampled() {
+        when(logger.isWarnEnabled()).thenReturn(true);
+        when(logger.isErrorEnabled()).thenReturn(true);
+        AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(true, 64, 1000, 1, Duration.ofMinutes(1));
+        dispatcher.start();
+        try {
+            for (int i = 0; i < 20; i++) {
+                hotPathLogger.warn("Employee not found for id: {}", i);
+            }
+            hotPathLogger.error("Error fetching all employees", new IllegalStateException("down"));
+        } finally {
+            dispatcher.stop();
+        }
+
+        verify(logger, times(20)).warn(eq("Employee not found for id: {}"), any(Object[].class));
+        verify(logger, times(1)).error(eq("Error fetching all employees"), any(Object[].class));
+    }
+
+    /**
+     * Tests that statements below the enabled level are discarded before sampling.
+     */
+    @Test
+    void testDisabledLevelIsDiscarded() {
+        hotPathLogger.debug("Filtering employees");
+
+        verify(logger, never()).debug(anyString(), any(Object[].class));
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.api.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LogRingBuffer}.
+ * <p>
+ * Verifies ordering, the full and empty states, and that concurrent producers lose nothing.
+ *
+ * @author skurade
+ */
+class LogRingBufferTest {
+
+    /**
+     * Tests that elements come out in the order they went in, and that a full buffer rejects elements.
+     */
+    @Test
+    void testFifoAndFull() {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(3);
+        assertEquals(4, buffer.capacity());
+        assertNull(buffer.poll());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+
+        assertEquals(0, (int) buffer.poll());
+        assertTrue(buffer.offer(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, (int) buffer.poll());
+        }
+        assertNull(buffer.poll());
+    }
+
+    /**
+     * Tests that every element offered by several producers is polled exactly once.
+     */
+    @Test
+    void testConcurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 20_000;
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(64);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int first = p * perProducer;
+            Thread thread = new Thread(() -> {
+                for (int i = first; i < first + perProducer; i++) {
+                    while (!buffer.offer(i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        BitSet seen = new BitSet(producers * perProducer);
+        int polled = 0;
+        while (polled < producers * perProducer) {
+            Integer element = buffer.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            assertFalse(seen.get(element), "duplicate " + element);
+            seen.set(element);
+            polled++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(buffer.poll());
+        assertEquals(producers * perProducer, seen.cardinality());
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.api.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.io.IOException;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CreateEmployeeInput}.
+ */
+class CreateEmployeeInputTest {
+
+    private static ValidatorFactory factory;
+    private static Validator validator;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @BeforeAll
+    static void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        factory.close();
+    }
+
+    /**
+     * Tests that a client's JSON body binds directly, and that it is sent upstream with the same properties.
+     */
+    @Test
+    void testJsonBinding() throws IOException {
+        CreateEmployeeInput input = mapper.readValue(
+                "{\"name\":\"Eve\",\"salary\":2500,\"age\":29,\"title\":\"DevOps\"}", CreateEmployeeInput.class);
+
+        assertEquals(new CreateEmployeeInput("Eve", 2500, 29, "DevOps"), input);
+        assertEquals(
+                "{\"name\":\"Eve\",\"salary\":2500,\"age\":29,\"title\":\"DevOps\"}", mapper.writeValueAsString(input));
+    }
+
+    /**
+     * Tests that a complete input within the bounds is valid.
+     */
+    @Test
+    void testValidInput() {
+        assertTrue(validator
+                .validate(new CreateEmployeeInput("Eve", 2500, 16, "DevOps"))
+                .isEmpty());
+        assertTrue(validator
+                .validate(new CreateEmployeeInput("Eve", 1, 75, "DevOps"))
+                .isEmpty());
+    }
+
+    /**
+     * Tests that missing or blank attributes, a salary that is not positive and an age out of bounds are rejected.
+     */
+    @Test
+    void testInvalidInput() {
+        assertEquals(
+                Set.of("name", "salary", "age", "title"), violations(new CreateEmployeeInput(" ", null, null, "")));
+        assertEquals(Set.of("salary", "age"), violations(new CreateEmployeeInput("Eve", 0, 15, "DevOps")));
+        assertEquals(Set.of("salary", "age"), violations(new CreateEmployeeInput("Eve", -1, 76, "DevOps")));
+    }
+
+    private static Set<String> violations(CreateEmployeeInput input) {
+        return validator.validate(input).stream()
+                .map(ConstraintViolation::getPropertyPath)
+                .map(Object::toString)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.api.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Employee}.
+ */
+class EmployeeTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Tests that the JSON body has one property per attribute, in declaration order.
+     */
+    @Test
+    void testJsonShape() throws IOException {
+        Employee employee = new Employee("1", "John", 1000, 30, "Dev", "john@company.com");
+
+        assertEquals(
+                "{\"id\":\"1\",\"name\":\"John\",\"salary\":1000,\"age\":30,\"title\":\"Dev\","
+                        + "\"email\":\"john@company.com\"}",
+                mapper.writeValueAsString(employee));
+    }
+
+    /**
+     * Tests that an employee survives a JSON round trip unchanged.
+     */
+    @Test
+    void testJsonRoundTrip() throws IOException {
+        Employee employee = new Employee("1", "John", 1000, 30, "Dev", "john@company.com");
+
+        Employee result = mapper.readValue(mapper.writeValueAsBytes(employee), Employee.class);
+
+        assertEquals(employee, result);
+        assertEquals(employee.hashCode(), result.hashCode());
+        assertEquals("john@company.com", result.getEmail());
+    }
+
+    /**
+     * Tests that titles and email domains are shared between employees.
+     */
+    @Test
+    void testTitleAndEmailDomainAreShared() {
+        Employee first = new Employee("1", "John", 1000, 30, new String("Dev"), "john@company.com");
+        Employee second = new Employee("2", "Jane", 2000, 28, new String("Dev"), "jane@company.com");
+
+        assertSame(first.getTitle(), second.getTitle());
+        assertEquals("jane@company.com", second.getEmail());
+        assertNotEquals(first, second);
+    }
+
+    /**
+     * Tests that missing and malformed email addresses are preserved as given.
+     */
+    @Test
+    void testEmailWithoutDomain() {
+        assertNull(new Employee("1", "John", 1000, 30, "Dev", null).getEmail());
+        assertEquals("john", new Employee("1", "John", 1000, 30, "Dev", "john").getEmail());
+        assertEquals("john@", new Employee("1", "John", 1000, 30, "Dev", "john@").getEmail());
+    }
+
+    /**
+     * Tests that a full dictionary returns new values as given instead of growing.
+     */
+    @Test
+    void testDictionaryIsBounded() {
+        StringDictionary dictionary = new StringDictionary(1);
+        String dev = dictionary.canonical("Dev");
+
+        assertSame(dev, dictionary.canonical(new String("Dev")));
+        String qa = new String("QA");
+        assertSame(qa, dictionary.canonical(qa));
+        assertEquals(1, dictionary.size());
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.api.profiling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.EndpointCostMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * Unit tests for {@link EndpointCostInterceptor}.
+ * <p>
+ * Verifies that the allocation of the handling thread is attributed to the handler method.
+ *
+ * @author skurade
+ */
+class EndpointCostInterceptorTest {
+
+    private final EndpointCosts costs = new EndpointCosts();
+
+    /**
+     * Handler standing in for a controller.
+     */
+    static class Handler {
+        List<Object> getAllEmployees() {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Tests that the allocation between the two callbacks is recorded under the handler method.
+     */
+    @Test
+    void testRecordsCostOfHandlerMethod() throws NoSuchMethodException {
+        EndpointCostInterceptor interceptor = new EndpointCostInterceptor(costs, true);
+        HandlerMethod handler = new HandlerMethod(new Handler(), Handler.class.getDeclaredMethod("getAllEmployees"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, handler));
+        long[] allocation = new long[100_000];
+        interceptor.afterCompletion(request, response, handler, null);
+
+        List<EndpointCostMetrics> metrics = costs.metrics();
+        assertEquals(1, metrics.size());
+        assertEquals("Handler.getAllEmployees", metrics.get(0).getEndpoint());
+        assertEquals(1, metrics.get(0).getRequests());
+        if (ThreadCosts.allocatedBytes() >= 0) {
+            assertTrue(metrics.get(0).getAllocatedBytes() >= 8L * allocation.length);
+        }
+    }
+
+    /**
+     * Tests that nothing is recorded while disabled, or for requests that were not measured.
+     */
+    @Test
+    void testSkipsUnmeasuredRequests() throws NoSuchMethodException {
+        HandlerMethod handler = new HandlerMethod(new Handler(), Handler.class.getDeclaredMethod("getAllEmployees"));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        EndpointCostInterceptor disabled = new EndpointCostInterceptor(costs, false);
+        assertTrue(disabled.preHandle(request, response, handler));
+        disabled.afterCompletion(request, response, handler, null);
+
+        new EndpointCostInterceptor(costs, true).afterCompletion(request, response, handler, null);
+        assertTrue(costs.metrics().isEmpty());
+    }
+}
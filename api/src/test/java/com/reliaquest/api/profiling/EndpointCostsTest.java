@@ -0,0 +1,58 @@
+package com.reliaquest.api.profiling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.EndpointCostMetrics;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link EndpointCosts}.
+ * <p>
+ * Verifies aggregation per endpoint and the reporting of unmeasurable counters.
+ *
+ * @author skurade
+ */
+class EndpointCostsTest {
+
+    private final EndpointCosts costs = new EndpointCosts();
+
+    /**
+     * Tests that totals, maxima and means are aggregated per endpoint, most allocating first.
+     */
+    @Test
+    void testAggregatesPerEndpoint() {
+        costs.record("EmployeeController.getEmployeeById", 1_000, 10_000);
+        costs.record("EmployeeController.getAllEmployees", 50_000, 200_000);
+        costs.record("EmployeeController.getAllEmployees", 30_000, 100_000);
+
+        List<EndpointCostMetrics> metrics = costs.metrics();
+        assertEquals(2, metrics.size());
+        EndpointCostMetrics all = metrics.get(0);
+        assertEquals("EmployeeController.getAllEmployees", all.getEndpoint());
+        assertEquals(2, all.getRequests());
+        assertEquals(80_000, all.getAllocatedBytes());
+        assertEquals(50_000, all.getMaxAllocatedBytes());
+        assertEquals(40_000, all.getAllocatedBytesPerRequest());
+        assertEquals(300_000, all.getCpuNanos());
+        assertEquals(200_000, all.getMaxCpuNanos());
+        assertEquals(150_000, all.getCpuNanosPerRequest());
+        assertEquals("EmployeeController.getEmployeeById", metrics.get(1).getEndpoint());
+    }
+
+    /**
+     * Tests that a counter that could not be measured for some request is reported as -1.
+     */
+    @Test
+    void testUnmeasuredCounterReportedAsUnavailable() {
+        costs.record("EmployeeController.getEmployeeById", 1_000, -1);
+        costs.record("EmployeeController.getEmployeeById", 2_000, 5_000);
+
+        EndpointCostMetrics metrics = costs.metrics().get(0);
+        assertEquals(2, metrics.getRequests());
+        assertEquals(3_000, metrics.getAllocatedBytes());
+        assertEquals(-1, metrics.getCpuNanos());
+        assertEquals(-1, metrics.getMaxCpuNanos());
+        assertEquals(-1, metrics.getCpuNanosPerRequest());
+    }
+}
@@ -0,0 +1,91 @@
+package com.reliaquest.api.query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeFilter;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link EmployeeFilterIndex}.
+ * <p>
+ * Verifies title, age, salary and name criteria and their combination.
+ *
+ * @author skurade
+ */
+class EmployeeFilterIndexTest {
+
+    private List<Employee> employees;
+    private EmployeeFilterIndex index;
+
+    /**
+     * Builds an index over employees spread across titles, ages and salaries.
+     */
+    @BeforeEach
+    void setUp() {
+        employees = new ArrayList<>();
+        String[] titles = {"Dev", "QA", "Lead"};
+        for (int i = 0; i < 300; i++) {
+            employees.add(new Employee(
+                    String.valueOf(i),
+                    "Emp" + i,
+                    50_000 + i * 1000,
+                    20 + i % 40,
+                    titles[i % 3],
+                    "e" + i + "@company.com"));
+        }
+        index = new EmployeeFilterIndex(employees);
+    }
+
+    /**
+     * Tests a combined title, age and salary query.
+     * Asserts that the result equals an exact scan.
+     */
+    @Test
+    void testCombinedCriteria() {
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setTitle(List.of("dev"));
+        filter.setMinAge(30);
+        filter.setMaxAge(40);
+        filter.setMinSalary(200_000);
+
+        List<Employee> expected = employees.stream()
+                .filter(e -> e.getTitle().equals("Dev"))
+                .filter(e -> e.getAge() >= 30 && e.getAge() <= 40)
+                .filter(e -> e.getSalary() >= 200_000)
+                .toList();
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, index.query(filter));
+    }
+
+    /**
+     * Tests that several titles are combined with OR and the name fragment is applied.
+     */
+    @Test
+    void testTitlesAndName() {
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setTitle(List.of("QA", "Lead"));
+        filter.setName("emp29");
+
+        List<Employee> result = index.query(filter);
+        assertEquals(
+                List.of("Emp29", "Emp290", "Emp292", "Emp293", "Emp295", "Emp296", "Emp298", "Emp299"),
+                result.stream().map(Employee::getName).toList());
+    }
+
+    /**
+     * Tests that an empty filter returns all employees and an impossible range returns none.
+     */
+    @Test
+    void testUnboundedAndEmptyRanges() {
+        assertEquals(employees, index.query(new EmployeeFilter()));
+
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setMinSalary(10);
+        filter.setMaxSalary(20);
+        assertTrue(index.query(filter).isEmpty());
+    }
+}
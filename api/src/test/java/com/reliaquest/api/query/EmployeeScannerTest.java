@@ -0,0 +1,91 @@
+package com.reliaquest.api.query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link EmployeeScanner}.
+ * <p>
+ * Verifies that the parallel path returns exactly what the sequential path returns.
+ */
+class EmployeeScannerTest {
+
+    private final EmployeeScanner parallel = new EmployeeScanner(1, 4);
+    private final EmployeeScanner sequential = new EmployeeScanner(Integer.MAX_VALUE, 1);
+    private final List<Employee> employees = employees(20_000);
+
+    /**
+     * Stops the scan threads after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        parallel.destroy();
+        sequential.destroy();
+    }
+
+    /**
+     * Tests that filtering keeps list order on both paths.
+     */
+    @Test
+    void testFilterMatchesSequential() {
+        Predicate<Employee> predicate = e -> e.getName().toLowerCase().contains("7");
+
+        List<Employee> expected = employees.stream().filter(predicate).collect(Collectors.toList());
+
+        assertEquals(expected, sequential.filter(employees, predicate));
+        assertEquals(expected, parallel.filter(employees, predicate));
+    }
+
+    /**
+     * Tests that the highest salary is the same on both paths, and 0 for no employees.
+     */
+    @Test
+    void testMaxSalaryMatchesSequential() {
+        int expected = employees.stream().mapToInt(Employee::getSalary).max().orElseThrow();
+
+        assertEquals(expected, sequential.maxSalary(employees));
+        assertEquals(expected, parallel.maxSalary(employees));
+        assertEquals(0, parallel.maxSalary(List.of()));
+    }
+
+    /**
+     * Tests that the highest earners match a stable sort by descending salary, ties included.
+     */
+    @Test
+    void testTopBySalaryMatchesStableSort() {
+        for (int limit : new int[] {0, 1, 10, 500}) {
+            List<Employee> expected = employees.stream()
+                    .sorted(Comparator.comparingInt(Employee::getSalary).reversed())
+                    .limit(limit)
+                    .collect(Collectors.toList());
+
+            assertEquals(expected, sequential.topBySalary(employees, limit), "limit " + limit);
+            assertEquals(expected, parallel.topBySalary(employees, limit), "limit " + limit);
+        }
+    }
+
+    /**
+     * Builds employees with few distinct salaries, so that ties are common.
+     *
+     * @param size the number of employees
+     * @return the employees
+     */
+    private static List<Employee> employees(int size) {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee(
+                    "id-" + i, "Employee " + i, 1000 * random.nextInt(50), 20 + random.nextInt(40), "Dev", null));
+        }
+        return employees;
+    }
+}
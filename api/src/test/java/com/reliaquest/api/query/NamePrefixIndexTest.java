@@ -0,0 +1,90 @@
+package com.reliaquest.api.query;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.AutocompleteRank;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link NamePrefixIndex}.
+ * <p>
+ * Verifies prefix matching on first and last names and the ranking of suggestions.
+ *
+ * @author skurade
+ */
+class NamePrefixIndexTest {
+
+    private final Employee johnSmith = new Employee("1", "John Smith", 1000, 30, "Dev", "john@company.com");
+    private final Employee joanJones = new Employee("2", "Joan Jones", 3000, 28, "QA", "joan@company.com");
+    private final Employee amyJohnson = new Employee("3", "Amy Johnson", 5000, 35, "Lead", "amy@company.com");
+    private final Employee bobJoyce = new Employee("4", "Bob Joyce", 2000, 40, "Ops", "bob@company.com");
+
+    private NamePrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NamePrefixIndex(List.of(johnSmith, joanJones, amyJohnson, bobJoyce));
+    }
+
+    /**
+     * Tests that first-name matches come before last-name matches, each ordered by salary.
+     */
+    @Test
+    void testFirstNameMatchesFirstThenSalary() {
+        assertEquals(
+                List.of(joanJones, johnSmith, amyJohnson, bobJoyce), index.suggest("jo", AutocompleteRank.SALARY, 10));
+    }
+
+    /**
+     * Tests alphabetical ranking, prefix narrowing, case-insensitivity and the limit.
+     */
+    @Test
+    void testAlphabeticalRankAndLimit() {
+        assertEquals(List.of(joanJones, johnSmith), index.suggest("JO", AutocompleteRank.ALPHABETICAL, 2));
+        assertEquals(List.of(johnSmith, amyJohnson), index.suggest("john", AutocompleteRank.ALPHABETICAL, 10));
+    }
+
+    /**
+     * Tests that an employee matching through two tokens is suggested once.
+     */
+    @Test
+    void testNameMatchingTwiceIsSuggestedOnce() {
+        Employee jojo = new Employee("5", "Jo Jones", 100, 20, "Dev", "jo@company.com");
+        NamePrefixIndex twice = new NamePrefixIndex(List.of(jojo));
+        assertEquals(List.of(jojo), twice.suggest("jo", AutocompleteRank.SALARY, 10));
+    }
+
+    /**
+     * Tests multi-word prefixes, unknown prefixes and blank input.
+     */
+    @Test
+    void testFullNameAndEmptyResults() {
+        assertEquals(List.of(amyJohnson), index.suggest("amy jo", AutocompleteRank.SALARY, 10));
+        assertTrue(index.suggest("zz", AutocompleteRank.SALARY, 10).isEmpty());
+        assertTrue(index.suggest("  ", AutocompleteRank.SALARY, 10).isEmpty());
+    }
+
+    /**
+     * Tests that every word of a multi-word prefix but the last must be a whole token at its position,
+     * that matches are ranked, and that a name holding a word twice is suggested once.
+     */
+    @Test
+    void testFullNameMatchesWholeLeadingWords() {
+        Employee maryAnnLee = new Employee("5", "Mary Ann Lee", 4000, 31, "Dev", "mary.ann@company.com");
+        Employee maryAnnLong = new Employee("6", "Mary-Ann Long", 6000, 44, "Dev", "mary.long@company.com");
+        Employee annMary = new Employee("7", "Ann Mary", 7000, 50, "Dev", "ann@company.com");
+        Employee maryMary = new Employee("8", "Mary Mary", 500, 22, "Dev", "mary@company.com");
+        NamePrefixIndex names = new NamePrefixIndex(List.of(maryAnnLee, maryAnnLong, annMary, maryMary, johnSmith));
+
+        assertEquals(List.of(maryAnnLong, maryAnnLee), names.suggest("mary ann", AutocompleteRank.SALARY, 10));
+        assertEquals(List.of(maryAnnLong), names.suggest("Mary Ann L", AutocompleteRank.SALARY, 1));
+        assertEquals(List.of(maryAnnLee), names.suggest("mary ann le", AutocompleteRank.SALARY, 10));
+        assertEquals(List.of(maryMary), names.suggest("mary m", AutocompleteRank.SALARY, 10));
+        assertTrue(names.suggest("jo smith", AutocompleteRank.SALARY, 10).isEmpty());
+        assertTrue(names.suggest("smith john", AutocompleteRank.SALARY, 10).isEmpty());
+        assertTrue(names.suggest("-", AutocompleteRank.SALARY, 10).isEmpty());
+    }
+}
@@ -5,8 +5,12 @@ import static org.mockito.Mockito.*;
 
 import com.reliaquest.api.constants.ApiConstants;
 import com.reliaquest.api.exception.EmployeeException;
+import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.upstream.UpstreamBalancer;
+import java.time.Duration;
 import java.util.*;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -29,9 +33,18 @@ class EmployeeRepositoryImplTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
     private EmployeeRepositoryImpl repository;
 
+    /**
+     * Initializes the repository before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        UpstreamBalancer upstreams = new UpstreamBalancer(
+                List.of(ApiConstants.BASE_URL), 3, Duration.ofSeconds(10), Duration.ZERO, Duration.ofMillis(500));
+        repository = new EmployeeRepositoryImpl(restTemplate, new RequestHedger(true, 0.95, 5, 32), upstreams);
+    }
+
     /**
      * Tests successful retrieval of all employees.
      * Asserts that the returned list contains expected employee data.
@@ -118,7 +131,7 @@ class EmployeeRepositoryImplTest {
      */
     @Test
     void testCreateSuccess() throws EmployeeException {
-        Employee emp = new Employee(null, "Jane", 2000, 28, "QA", null);
+        CreateEmployeeInput emp = new CreateEmployeeInput("Jane", 2000, 28, "QA");
         Map<String, Object> empMap = new HashMap<>();
         empMap.put("id", "2");
         empMap.put("employee_name", "Jane");
@@ -143,7 +156,7 @@ class EmployeeRepositoryImplTest {
      */
     @Test
     void testCreateThrowsException() {
-        Employee emp = new Employee(null, "Jane", 2000, 28, "QA", null);
+        CreateEmployeeInput emp = new CreateEmployeeInput("Jane", 2000, 28, "QA");
         when(restTemplate.postForEntity(eq(ApiConstants.BASE_URL), any(HttpEntity.class), eq(Map.class)))
                 .thenThrow(new RuntimeException("API error"));
         assertThrows(EmployeeException.class, () -> repository.create(emp));
@@ -162,10 +175,7 @@ class EmployeeRepositoryImplTest {
         ResponseEntity<Map> deleteResponse = new ResponseEntity<>(deleteResponseMap, HttpStatus.OK);
 
         when(restTemplate.exchange(
-                eq(ApiConstants.BASE_URL),
-                eq(HttpMethod.DELETE),
-                any(HttpEntity.class),
-                eq(Map.class)))
+                        eq(ApiConstants.BASE_URL), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Map.class)))
                 .thenReturn(deleteResponse);
 
         boolean result = repository.deleteById("1");
@@ -195,10 +205,7 @@ class EmployeeRepositoryImplTest {
         when(restTemplate.getForEntity(ApiConstants.BASE_URL + ApiConstants.SLASH + "1", Map.class))
                 .thenReturn(getByIdResponse);
         when(restTemplate.exchange(
-                eq(ApiConstants.BASE_URL),
-                eq(HttpMethod.DELETE),
-                any(HttpEntity.class),
-                eq(Map.class)))
+                        eq(ApiConstants.BASE_URL), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Map.class)))
                 .thenThrow(new RuntimeException("API error"));
 
         assertThrows(EmployeeException.class, () -> repository.deleteById("3"));
@@ -0,0 +1,148 @@
+package com.reliaquest.api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.EmployeeException;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.upstream.StubEmployeeUpstream;
+import com.reliaquest.api.upstream.StubEmployeeUpstream.Latency;
+import com.reliaquest.api.upstream.UpstreamBalancer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tests of {@link EmployeeRepositoryImpl} against a {@link StubEmployeeUpstream} over HTTP.
+ * <p>
+ * Verifies reads of a large generated dataset, that stubs with the same seed serve the same data, and
+ * that injected latency and 429/5xx failures reach the repository as they would from the mock server.
+ * Stubs with different seeds stand in for several mock server instances, each holding its own employees.
+ *
+ * @author skurade
+ */
+class EmployeeRepositoryScaleTest {
+
+    private static final int EMPLOYEES = 100_000;
+    private static final long SEED = 42;
+
+    /**
+     * Tests that every employee of a large dataset is read, in the order upstream lists them.
+     */
+    @Test
+    void testGetAllReadsLargeDataset() throws EmployeeException {
+        try (StubEmployeeUpstream upstream = new StubEmployeeUpstream(EMPLOYEES, SEED)) {
+            List<Employee> employees = repository(false, upstream.url()).getAll();
+
+            assertEquals(upstream.ids(), employees.stream().map(Employee::getId).toList());
+        }
+    }
+
+    /**
+     * Tests that stubs with the same size and seed serve the same employees, so they can stand in for
+     * replicated instances.
+     */
+    @Test
+    void testSameSeedServesSameEmployees() throws EmployeeException {
+        try (StubEmployeeUpstream a = new StubEmployeeUpstream(1_000, SEED);
+                StubEmployeeUpstream b = new StubEmployeeUpstream(1_000, SEED);
+                StubEmployeeUpstream other = new StubEmployeeUpstream(1_000, SEED + 1)) {
+            List<Employee> fromA = repository(false, a.url()).getAll();
+            List<Employee> fromB = repository(false, b.url()).getAll();
+
+            assertEquals(fromA, fromB);
+            assertNotEquals(fromA, repository(false, other.url()).getAll());
+        }
+    }
+
+    /**
+     * Tests that with instances holding different employees, the full list merges them, every employee is
+     * read and deleted on the instance holding it, and a created employee is read and deleted where it was
+     * created.
+     */
+    @Test
+    void testShardedInstances() throws EmployeeException {
+        try (StubEmployeeUpstream a = new StubEmployeeUpstream(50, SEED);
+                StubEmployeeUpstream b = new StubEmployeeUpstream(50, SEED + 1)) {
+            EmployeeRepositoryImpl repository = repository(false, a.url(), b.url());
+            List<String> ids = new ArrayList<>(a.ids());
+            ids.addAll(b.ids());
+
+            assertEquals(ids, repository.getAll().stream().map(Employee::getId).toList());
+            for (String id : ids) {
+                assertEquals(id, repository.getById(id).orElseThrow().getId());
+            }
+            assertTrue(repository.getById("unknown").isEmpty());
+
+            String fromB = b.ids().get(0);
+            assertTrue(repository.deleteById(fromB));
+            assertEquals(50, a.ids().size());
+            assertFalse(b.ids().contains(fromB));
+
+            Employee created = repository.create(new CreateEmployeeInput("Eve Lamport", 2500, 29, "DevOps"));
+            StubEmployeeUpstream owner = a.ids().contains(created.getId()) ? a : b;
+            StubEmployeeUpstream other = owner == a ? b : a;
+            long otherRequests = other.requests();
+            assertEquals(created, repository.getById(created.getId()).orElseThrow());
+            assertTrue(repository.deleteById(created.getId()));
+            assertFalse(owner.ids().contains(created.getId()));
+            assertEquals(otherRequests, other.requests());
+            assertEquals(99, repository.getAll().size());
+        }
+    }
+
+    /**
+     * Tests that injected 429s read as not found and injected 500s as failures, exactly on the requests
+     * the seed picks.
+     */
+    @Test
+    void testInjectedFailuresAreDeterministic() throws EmployeeException {
+        try (StubEmployeeUpstream upstream =
+                new StubEmployeeUpstream(100, SEED).tooManyRequestsRate(0.1).serverErrorRate(0.1)) {
+            EmployeeRepositoryImpl repository = repository(false, upstream.url());
+            String id = upstream.ids().get(0);
+            int throttled = 0;
+            int failed = 0;
+
+            for (int i = 0; i < 200; i++) {
+                int expected = upstream.injectedStatus(i);
+                if (expected == 500) {
+                    assertThrows(EmployeeException.class, () -> repository.getById(id));
+                    failed++;
+                } else {
+                    Optional<Employee> employee = repository.getById(id);
+                    assertEquals(expected == 200, employee.isPresent());
+                    throttled += expected == 429 ? 1 : 0;
+                }
+            }
+
+            assertEquals(200, upstream.requests());
+            assertTrue(throttled > 0 && failed > 0, throttled + " throttled, " + failed + " failed");
+        }
+    }
+
+    /**
+     * Tests that every request is delayed by the configured latency.
+     */
+    @Test
+    void testLatencyDelaysRequests() throws EmployeeException {
+        try (StubEmployeeUpstream upstream =
+                new StubEmployeeUpstream(10, SEED).latency(Latency.fixed(Duration.ofMillis(50)))) {
+            EmployeeRepositoryImpl repository = repository(false, upstream.url());
+
+            long start = System.nanoTime();
+            repository.getAll();
+
+            assertTrue(System.nanoTime() - start >= Duration.ofMillis(50).toNanos());
+        }
+    }
+
+    private static EmployeeRepositoryImpl repository(boolean hedge, String... urls) {
+        UpstreamBalancer upstreams =
+                new UpstreamBalancer(List.of(urls), 3, Duration.ofSeconds(10), Duration.ZERO, Duration.ofMillis(500));
+        return new EmployeeRepositoryImpl(new RestTemplate(), new RequestHedger(hedge, 0.95, 5, 32), upstreams);
+    }
+}
@@ -0,0 +1,101 @@
+package com.reliaquest.api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link OffHeapEmployeeRepository}.
+ */
+class OffHeapEmployeeRepositoryTest {
+
+    /**
+     * Tests that every employee reads back unchanged and in order.
+     */
+    @Test
+    void testGetAllRoundTrip() {
+        List<Employee> employees = employees(1000);
+
+        OffHeapEmployeeRepository repository = OffHeapEmployeeRepository.of(employees);
+
+        assertEquals(1000, repository.size());
+        assertEquals(employees, repository.getAll());
+    }
+
+    /**
+     * Tests that employees are found by id, and that unknown ids are not.
+     */
+    @Test
+    void testGetById() {
+        List<Employee> employees = employees(1000);
+        OffHeapEmployeeRepository repository = OffHeapEmployeeRepository.of(employees);
+
+        for (Employee employee : employees) {
+            assertEquals(Optional.of(employee), repository.getById(employee.getId()));
+        }
+        assertEquals(Optional.empty(), repository.getById("missing"));
+        assertEquals(Optional.empty(), repository.getById(null));
+    }
+
+    /**
+     * Tests that individual fields are read without materializing the employee.
+     */
+    @Test
+    void testFieldReads() {
+        OffHeapEmployeeRepository repository = OffHeapEmployeeRepository.of(List.of(
+                new Employee("a", "Zo\u00eb N\u00fa\u00f1ez", 1000, 30, "Dev", "zoe@company.com"),
+                new Employee("b", "Bob", 2000, 40, "Dev", "bob@company.com")));
+
+        int row = repository.rowOf("b");
+        assertEquals(1, row);
+        assertEquals(2000, repository.salary(row));
+        assertEquals(40, repository.age(row));
+        assertSame(repository.title(0), repository.title(1));
+        ByteBuffer name = repository.nameBytes(0);
+        assertTrue(name.isReadOnly());
+        assertEquals(
+                "Zo\u00eb N\u00fa\u00f1ez", StandardCharsets.UTF_8.decode(name).toString());
+        assertEquals(
+                "bob@company.com",
+                StandardCharsets.UTF_8.decode(repository.emailBytes(1)).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> repository.salary(2));
+    }
+
+    /**
+     * Tests that missing string attributes and an empty repository are handled.
+     */
+    @Test
+    void testNullAttributesAndEmptyRepository() {
+        Employee employee = new Employee("a", null, 1000, 30, null, null);
+        OffHeapEmployeeRepository repository = OffHeapEmployeeRepository.of(List.of(employee));
+
+        assertEquals(List.of(employee), repository.getAll());
+        assertNull(repository.nameBytes(0));
+        assertNull(repository.title(0));
+
+        OffHeapEmployeeRepository empty = OffHeapEmployeeRepository.of(List.of());
+        assertEquals(0, empty.size());
+        assertEquals(List.of(), empty.getAll());
+        assertEquals(Optional.empty(), empty.getById("a"));
+    }
+
+    private static List<Employee> employees(int size) {
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee(
+                    "id-" + i,
+                    "Employee " + i,
+                    1000 + i,
+                    20 + i % 40,
+                    "Title " + i % 7,
+                    "employee" + i + "@company.com"));
+        }
+        return employees;
+    }
+}
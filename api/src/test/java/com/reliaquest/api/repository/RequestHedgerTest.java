@@ -0,0 +1,273 @@
+package com.reliaquest.api.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.deadline.DeadlineClientHttpRequestFactory;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import com.sun.net.httpserver.HttpServer;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Unit tests for {@link RequestHedger}.
+ * <p>
+ * Verifies that slow requests are hedged within the budget and the thread limit, that the loser is
+ * aborted, even while blocked reading an upstream response, and that failed attempts count towards the
+ * threshold.
+ *
+ * @author skurade
+ */
+class RequestHedgerTest {
+
+    private RequestHedger hedger;
+
+    /**
+     * Shuts down the hedger after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        hedger.destroy();
+    }
+
+    /**
+     * Tests that requests run unhedged until enough latencies have been observed.
+     */
+    @Test
+    void testNoThresholdUntilWarmedUp() {
+        hedger = new RequestHedger(true, 0.95, 100, 32);
+        for (int i = 0; i < 19; i++) {
+            assertEquals("ok", hedger.call(() -> "ok"));
+        }
+        assertEquals(-1, hedger.thresholdNanos());
+        hedger.call(() -> "ok");
+        assertTrue(hedger.thresholdNanos() >= 0);
+    }
+
+    /**
+     * Tests that a slow first attempt is raced by a hedge, the hedge wins and the first attempt is interrupted.
+     */
+    @Test
+    void testSlowRequestIsHedged() throws InterruptedException {
+        hedger = new RequestHedger(true, 0.95, 100, 32);
+        warmUp();
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        String result = hedger.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "slow";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(2, attempts.get());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests that a losing attempt blocked reading an upstream response is aborted when the hedge wins,
+     * which interrupting its thread alone would not do.
+     */
+    @Test
+    void testLoserBlockedOnUpstreamReadIsAborted() throws Exception {
+        hedger = new RequestHedger(true, 0.95, 100, 32);
+        warmUp();
+        AtomicInteger requests = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            if (requests.incrementAndGet() == 1) {
+                awaitQuietly(release);
+            }
+            byte[] body = "hedge".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        DeadlineClientHttpRequestFactory factory = new DeadlineClientHttpRequestFactory();
+        factory.setReadTimeout(30_000);
+        RestTemplate restTemplate = new RestTemplate(factory);
+        String url = "http://localhost:" + server.getAddress().getPort() + "/";
+        CountDownLatch attemptsDone = new CountDownLatch(2);
+        try {
+            String result = hedger.call(() -> {
+                try {
+                    return restTemplate.getForObject(url, String.class);
+                } finally {
+                    attemptsDone.countDown();
+                }
+            });
+
+            assertEquals("hedge", result);
+            assertTrue(attemptsDone.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Tests that the hedge is used when the first attempt fails after the threshold.
+     */
+    @Test
+    void testFailedAttemptFallsBackToOther() {
+        hedger = new RequestHedger(true, 0.95, 100, 32);
+        warmUp();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(200);
+                throw new IllegalStateException("upstream error");
+            }
+            sleep(400);
+            return "hedge";
+        });
+        assertEquals("hedge", result);
+    }
+
+    /**
+     * Tests that no hedge is sent once the budget is spent.
+     */
+    @Test
+    void testHedgingStaysWithinBudget() {
+        hedger = new RequestHedger(true, 0.95, 0, 32);
+        warmUp();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.call(() -> {
+            attempts.incrementAndGet();
+            sleep(100);
+            return "slow";
+        });
+        assertEquals("slow", result);
+        assertEquals(1, attempts.get());
+    }
+
+    /**
+     * Tests that a disabled hedger runs every request once.
+     */
+    @Test
+    void testDisabled() {
+        hedger = new RequestHedger(false, 0.95, 100, 32);
+        warmUp();
+        AtomicInteger attempts = new AtomicInteger();
+        hedger.call(() -> {
+            attempts.incrementAndGet();
+            sleep(100);
+            return "slow";
+        });
+        assertEquals(1, attempts.get());
+    }
+
+    /**
+     * Tests that waiting for upstream stops at the deadline of the current request.
+     */
+    @Test
+    void testDeadlineExceeded() {
+        hedger = new RequestHedger(true, 0.95, 100, 32);
+        warmUp();
+        Deadline.set(Deadline.after(Duration.ofMillis(200)));
+        try {
+            long start = System.nanoTime();
+            assertThrows(
+                    DeadlineExceededException.class,
+                    () -> hedger.call(() -> {
+                        sleep(10_000);
+                        return "slow";
+                    }));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        } finally {
+            Deadline.set(null);
+        }
+    }
+
+    /**
+     * Tests that failed attempts count towards the threshold, so slow failures are not left out of it.
+     */
+    @Test
+    void testFailedAttemptsCountTowardsThreshold() {
+        hedger = new RequestHedger(true, 0.95, 100, 32);
+        for (int i = 0; i < 20; i++) {
+            assertThrows(
+                    IllegalStateException.class,
+                    () -> hedger.call(() -> {
+                        sleep(20);
+                        throw new IllegalStateException("upstream error");
+                    }));
+        }
+        assertTrue(hedger.thresholdNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    /**
+     * Tests that while every hedging thread is busy no hedge is sent, and requests run unhedged on the
+     * calling thread.
+     */
+    @Test
+    void testBusyThreadsFallBackToUnhedged() throws Exception {
+        hedger = new RequestHedger(true, 0.95, 100, 1);
+        warmUp();
+        Thread.sleep(50);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> busy = CompletableFuture.supplyAsync(() -> hedger.call(() -> {
+            attempts.incrementAndGet();
+            awaitQuietly(release);
+            return Thread.currentThread().getName();
+        }));
+        try {
+            Thread.sleep(50);
+            String caller = Thread.currentThread().getName();
+            assertEquals(caller, hedger.call(() -> Thread.currentThread().getName()));
+        } finally {
+            release.countDown();
+        }
+        assertTrue(busy.get(5, TimeUnit.SECONDS).startsWith("upstream-hedge-"));
+        assertEquals(1, attempts.get());
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < 50; i++) {
+            hedger.call(() -> "fast");
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
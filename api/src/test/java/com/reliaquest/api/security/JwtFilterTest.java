@@ -9,6 +9,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Duration;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -21,7 +22,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 @ExtendWith(MockitoExtension.class)
 class JwtFilterTest {
 
-    @InjectMocks
     private JwtFilter jwtFilter;
 
     @Mock
@@ -34,11 +34,13 @@ class JwtFilterTest {
     private FilterChain chain;
 
     /**
-     * Clears the security context before each test to ensure isolation.
+     * Clears the security context before each test to ensure isolation, and creates
+     * a filter allowing each subject a burst of ten tokens.
      */
     @BeforeEach
     void setUp() {
         SecurityContextHolder.clearContext();
+        jwtFilter = new JwtFilter(new SubjectRateLimiter(true, 10, 1, Duration.ofMinutes(5)));
     }
 
     /**
@@ -49,6 +51,8 @@ class JwtFilterTest {
     void testValidJwtTokenSetsAuthentication() throws ServletException, IOException {
         String token = JwtUtil.generateToken("admin");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/api/v1/employee/1");
 
         jwtFilter.doFilterInternal(request, response, chain);
 
@@ -58,6 +62,30 @@ class JwtFilterTest {
         verify(chain, times(1)).doFilter(request, response);
     }
 
+    /**
+     * Tests that a subject over its rate limit receives 429 Too Many Requests with Retry-After,
+     * while another subject is still served.
+     */
+    @Test
+    void testSubjectOverRateLimitReturns429() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + JwtUtil.generateToken("greedy"));
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/api/v1/employee");
+
+        jwtFilter.doFilterInternal(request, response, chain);
+        verify(chain, times(1)).doFilter(request, response);
+
+        jwtFilter.doFilterInternal(request, response, chain);
+        verify(response).setStatus(429);
+        verify(response).setHeader("Retry-After", "10");
+        verify(chain, times(1)).doFilter(request, response);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + JwtUtil.generateToken("admin"));
+        when(request.getRequestURI()).thenReturn("/api/v1/employee/1");
+        jwtFilter.doFilterInternal(request, response, chain);
+        verify(chain, times(2)).doFilter(request, response);
+    }
+
     /**
      * Tests that an invalid JWT token results in a 401 Unauthorized response
      * and does not set authentication or proceed through the filter chain.
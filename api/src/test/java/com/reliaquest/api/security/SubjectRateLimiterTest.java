@@ -0,0 +1,98 @@
+package com.reliaquest.api.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SubjectRateLimiter}.
+ */
+class SubjectRateLimiterTest {
+
+    /**
+     * Tests that a subject may spend its capacity at once and is then told how long to wait.
+     */
+    @Test
+    void testBurstUpToCapacityThenWait() {
+        SubjectRateLimiter limiter = new SubjectRateLimiter(true, 5, 1, Duration.ofMinutes(5));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("alice", 1));
+        }
+        long wait = limiter.tryAcquire("alice", 1);
+
+        assertTrue(
+                wait > Duration.ofMillis(900).toNanos()
+                        && wait <= Duration.ofSeconds(1).toNanos(),
+                "wait " + wait);
+    }
+
+    /**
+     * Tests that subjects are limited independently of each other.
+     */
+    @Test
+    void testSubjectsHaveSeparateBuckets() {
+        SubjectRateLimiter limiter = new SubjectRateLimiter(true, 10, 1, Duration.ofMinutes(5));
+
+        assertEquals(0, limiter.tryAcquire("alice", SubjectRateLimiter.COST_LIST));
+        assertTrue(limiter.tryAcquire("alice", SubjectRateLimiter.COST_SINGLE) > 0);
+        assertEquals(0, limiter.tryAcquire("bob", SubjectRateLimiter.COST_SINGLE));
+    }
+
+    /**
+     * Tests that tokens are regained over time.
+     */
+    @Test
+    void testTokensRefill() throws InterruptedException {
+        SubjectRateLimiter limiter = new SubjectRateLimiter(true, 2, 100, Duration.ofMinutes(5));
+        assertEquals(0, limiter.tryAcquire("alice", 2));
+        assertTrue(limiter.tryAcquire("alice", 1) > 0);
+
+        Thread.sleep(30);
+
+        assertEquals(0, limiter.tryAcquire("alice", 2));
+    }
+
+    /**
+     * Tests that a request costing more than the capacity is never admitted while a disabled limiter admits it.
+     */
+    @Test
+    void testCostAboveCapacityAndDisabledLimiter() {
+        assertTrue(new SubjectRateLimiter(true, 5, 1, Duration.ofMinutes(5)).tryAcquire("alice", 6) > 0);
+        assertEquals(0, new SubjectRateLimiter(false, 5, 1, Duration.ofMinutes(5)).tryAcquire("alice", 6));
+    }
+
+    /**
+     * Tests that only buckets which have been full for the idle period are evicted.
+     */
+    @Test
+    void testIdleBucketsAreEvicted() {
+        SubjectRateLimiter limiter = new SubjectRateLimiter(true, 10, 1, Duration.ofSeconds(60));
+        limiter.tryAcquire("alice", 1);
+        limiter.tryAcquire("bob", 10);
+        long now = System.nanoTime();
+
+        limiter.evictIdle(now + Duration.ofSeconds(65).toNanos());
+        assertEquals(1, limiter.trackedSubjects());
+
+        limiter.evictIdle(now + Duration.ofSeconds(75).toNanos());
+        assertEquals(0, limiter.trackedSubjects());
+    }
+
+    /**
+     * Tests that listings and searches cost more than reads of a single employee.
+     */
+    @Test
+    void testCostByEndpoint() {
+        assertEquals(SubjectRateLimiter.COST_LIST, SubjectRateLimiter.cost("GET", "/api/v1/employee"));
+        assertEquals(SubjectRateLimiter.COST_LIST, SubjectRateLimiter.cost("GET", "/api/v1/employee/search/Jo"));
+        assertEquals(SubjectRateLimiter.COST_LIST, SubjectRateLimiter.cost("GET", "/api/v1/employee/filter"));
+        assertEquals(
+                SubjectRateLimiter.COST_AGGREGATE, SubjectRateLimiter.cost("GET", "/api/v1/employee/highestSalary"));
+        assertEquals(SubjectRateLimiter.COST_SINGLE, SubjectRateLimiter.cost("GET", "/api/v1/employee/123"));
+        assertEquals(SubjectRateLimiter.COST_SINGLE, SubjectRateLimiter.cost("GET", "/api/v1/employee/autocomplete"));
+        assertEquals(SubjectRateLimiter.COST_WRITE, SubjectRateLimiter.cost("POST", "/api/v1/employee"));
+        assertEquals(SubjectRateLimiter.COST_SINGLE, SubjectRateLimiter.cost("GET", "/api/v1/admin/refresh"));
+    }
+}
@@ -3,11 +3,24 @@ package com.reliaquest.api.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.reliaquest.api.bulkhead.Bulkheads;
+import com.reliaquest.api.cache.EmployeeSnapshotStore;
+import com.reliaquest.api.exception.BulkheadFullException;
 import com.reliaquest.api.exception.EmployeeException;
 import com.reliaquest.api.exception.EmployeeRuntimeException;
+import com.reliaquest.api.exception.InvalidPageRequestException;
+import com.reliaquest.api.idempotency.IdempotencyStore;
+import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeFilter;
+import com.reliaquest.api.model.EmployeeOrder;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.query.EmployeeScanner;
 import com.reliaquest.api.repository.IEmployeeRepository;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,10 +38,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class EmployeeServiceTest {
 
+    /**
+     * Scans lists of two or more employees in parallel, so the parallel path is exercised.
+     */
+    private static final EmployeeScanner SCANNER = new EmployeeScanner(2, 2);
+
     @Mock
     private IEmployeeRepository repository;
 
-    @InjectMocks
     private EmployeeService service;
 
     private Employee emp1, emp2, emp3;
@@ -38,6 +55,8 @@ class EmployeeServiceTest {
      */
     @BeforeEach
     void setUp() {
+        service = new EmployeeService(
+                repository, new EmployeeSnapshotStore(Duration.ZERO, 4), bulkheads(), SCANNER, idempotency());
         emp1 = new Employee("1", "John", 1000, 30, "Dev", "john@company.com");
         emp2 = new Employee("2", "Jane", 2000, 28, "QA", "jane@company.com");
         emp3 = new Employee("3", "Jake", 3000, 35, "Lead", "jake@company.com");
@@ -98,6 +117,79 @@ class EmployeeServiceTest {
         assertThrows(EmployeeRuntimeException.class, () -> service.searchEmployeesByName("John"));
     }
 
+    /**
+     * Tests filtering employees by salary range.
+     * Asserts that only employees inside the range are returned.
+     */
+    @Test
+    void testFilterEmployees() throws EmployeeException {
+        when(repository.getAll()).thenReturn(List.of(emp1, emp2, emp3));
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setMinSalary(1500);
+        filter.setMaxSalary(2500);
+        assertEquals(List.of(emp2), service.filterEmployees(filter));
+    }
+
+    /**
+     * Tests paging through all employees ordered by salary.
+     * Asserts that pages follow the order and the last page has no cursor.
+     */
+    @Test
+    void testGetEmployeePageBySalary() throws EmployeeException {
+        when(repository.getAll()).thenReturn(List.of(emp3, emp1, emp2));
+        EmployeePage first = service.getEmployeePage(EmployeeOrder.SALARY, null, 2);
+        assertEquals(List.of(emp1, emp2), first.getItems());
+        assertNotNull(first.getNextCursor());
+
+        EmployeePage second = service.getEmployeePage(EmployeeOrder.SALARY, first.getNextCursor(), 2);
+        assertEquals(List.of(emp3), second.getItems());
+        assertNull(second.getNextCursor());
+    }
+
+    /**
+     * Tests that a cursor stays on the employee-data version of the first page.
+     * Asserts that an employee created after the first page is not returned by the following page.
+     */
+    @Test
+    void testEmployeePageIsPinnedToVersion() throws EmployeeException {
+        Employee emp0 = new Employee("0", "Zed", 500, 50, "Ops", "zed@company.com");
+        when(repository.getAll()).thenReturn(List.of(emp1, emp2, emp3));
+        EmployeePage first = service.getEmployeePage(EmployeeOrder.ID, null, 1);
+
+        when(repository.getAll()).thenReturn(List.of(emp0, emp1, emp2, emp3));
+        service.getAllEmployees();
+        EmployeePage second = service.getEmployeePage(EmployeeOrder.ID, first.getNextCursor(), 5);
+        assertEquals(List.of(emp2, emp3), second.getItems());
+    }
+
+    /**
+     * Tests paging through search results.
+     * Asserts that only matching employees are returned.
+     */
+    @Test
+    void testSearchEmployeePage() throws EmployeeException {
+        when(repository.getAll()).thenReturn(List.of(emp1, emp2, emp3));
+        EmployeePage first = service.searchEmployeePage("ja", EmployeeOrder.ID, null, 1);
+        assertEquals(List.of(emp2), first.getItems());
+        EmployeePage second = service.searchEmployeePage("ja", EmployeeOrder.ID, first.getNextCursor(), 1);
+        assertEquals(List.of(emp3), second.getItems());
+    }
+
+    /**
+     * Tests rejection of invalid page requests.
+     * Expects an {@link InvalidPageRequestException} for a bad limit, a malformed cursor and a mismatched order.
+     */
+    @Test
+    void testInvalidPageRequests() throws EmployeeException {
+        assertThrows(InvalidPageRequestException.class, () -> service.getEmployeePage(EmployeeOrder.ID, null, 0));
+        assertThrows(
+                InvalidPageRequestException.class, () -> service.getEmployeePage(EmployeeOrder.ID, "not-a-cursor", 5));
+
+        when(repository.getAll()).thenReturn(List.of(emp1, emp2));
+        String cursor = service.getEmployeePage(EmployeeOrder.ID, null, 1).getNextCursor();
+        assertThrows(InvalidPageRequestException.class, () -> service.getEmployeePage(EmployeeOrder.SALARY, cursor, 5));
+    }
+
     /**
      * Tests retrieval of an employee by ID when found.
      * Asserts that the returned employee matches the expected data.
@@ -129,6 +221,23 @@ class EmployeeServiceTest {
         assertThrows(EmployeeRuntimeException.class, () -> service.getEmployeeById("3"));
     }
 
+    /**
+     * Tests lookup of an employee in the current snapshot.
+     * Asserts that a fresh snapshot answers without calling upstream and a stale one does not answer.
+     */
+    @Test
+    void testGetCachedEmployeeById() throws EmployeeException {
+        assertNull(service.getCachedEmployeeById("1"));
+
+        EmployeeService cachingService = new EmployeeService(
+                repository, new EmployeeSnapshotStore(Duration.ofMinutes(1), 4), bulkheads(), SCANNER, idempotency());
+        when(repository.getAll()).thenReturn(List.of(emp1, emp2));
+        cachingService.getAllEmployees();
+        assertEquals(emp2, cachingService.getCachedEmployeeById("2"));
+        assertNull(cachingService.getCachedEmployeeById("9"));
+        verify(repository, times(1)).getAll();
+    }
+
     /**
      * Tests retrieval of the highest salary among employees.
      * Asserts that the returned salary is correct.
@@ -194,20 +303,22 @@ class EmployeeServiceTest {
      */
     @Test
     void testCreateEmployeeSuccess() throws EmployeeException {
-        Map<String, Object> empMap = getEmpMap();
-        Employee newEmp = new Employee(null, "New", 5000, 40, "Mgr", null);
-        when(repository.create(any())).thenReturn(emp1);
-        Employee result = service.createEmployee(empMap);
+        CreateEmployeeInput input = getInput();
+        when(repository.create(input)).thenReturn(emp1);
+        Employee result = service.createEmployee(input);
         assertEquals("John", result.getName());
     }
 
-    private static Map<String, Object> getEmpMap() {
-        Map<String, Object> empMap = new HashMap<>();
-        empMap.put("name", "New");
-        empMap.put("salary", 5000);
-        empMap.put("age", 40);
-        empMap.put("title", "Mgr");
-        return empMap;
+    private static Bulkheads bulkheads() {
+        return new Bulkheads(4, 4, 4, 4, 4, 4, Duration.ofSeconds(1));
+    }
+
+    private static IdempotencyStore idempotency() {
+        return new IdempotencyStore(100, Duration.ofMinutes(1));
+    }
+
+    private static CreateEmployeeInput getInput() {
+        return new CreateEmployeeInput("New", 5000, 40, "Mgr");
     }
 
     /**
@@ -216,9 +327,28 @@ class EmployeeServiceTest {
      */
     @Test
     void testCreateEmployeeThrowsException() throws EmployeeException {
-        Map<String, Object> empMap = getEmpMap();
+        CreateEmployeeInput input = getInput();
         when(repository.create(any())).thenThrow(new EmployeeException("API error"));
-        assertThrows(EmployeeRuntimeException.class, () -> service.createEmployee(empMap));
+        assertThrows(EmployeeRuntimeException.class, () -> service.createEmployee(input));
+    }
+
+    /**
+     * Tests that a create retried with the same idempotency key returns the first result
+     * without a second upstream call, while a create with another key, or with the same key by
+     * another subject, is sent upstream.
+     */
+    @Test
+    void testCreateEmployeeWithIdempotencyKeyIsSentOnce() throws EmployeeException {
+        when(repository.create(any())).thenReturn(emp1, emp2, emp3);
+
+        Employee first = service.createEmployee(getInput(), "alice", "key-1");
+        Employee retried = service.createEmployee(getInput(), "alice", "key-1");
+        service.createEmployee(getInput(), "alice", "key-2");
+        Employee other = service.createEmployee(getInput(), "bob", "key-1");
+
+        assertSame(first, retried);
+        assertSame(emp3, other);
+        verify(repository, times(3)).create(any());
     }
 
     /**
@@ -254,4 +384,65 @@ class EmployeeServiceTest {
         when(repository.deleteById("3")).thenThrow(new EmployeeException("API error"));
         assertThrows(EmployeeRuntimeException.class, () -> service.deleteEmployeeById("3"));
     }
+
+    /**
+     * Tests that created and deleted employees are visible to the following reads
+     * without waiting for the next refresh from upstream.
+     */
+    @Test
+    void testWritesAreVisibleToFollowingReads() throws EmployeeException {
+        service = new EmployeeService(
+                repository, new EmployeeSnapshotStore(Duration.ofMinutes(1), 4), bulkheads(), SCANNER, idempotency());
+        when(repository.getAll()).thenReturn(List.of(emp1, emp2));
+        when(repository.create(any())).thenReturn(emp3);
+        when(repository.getById("1")).thenReturn(Optional.of(emp1));
+        when(repository.deleteById("1")).thenReturn(true);
+
+        assertEquals(2, service.getAllEmployees().size());
+        service.createEmployee(getInput());
+        assertEquals(List.of(emp1, emp2, emp3), service.getAllEmployees());
+        assertEquals(3000, service.getHighestSalary());
+
+        service.deleteEmployeeById("1");
+        assertEquals(List.of(emp2, emp3), service.getAllEmployees());
+        verify(repository, times(1)).getAll();
+    }
+
+    /**
+     * Tests that a stale snapshot is served while the bulk compartment is full,
+     * and that a read with nothing to fall back on is rejected.
+     */
+    @Test
+    void testFullBulkheadServesStaleSnapshot() throws Exception {
+        Bulkheads bulkheads = new Bulkheads(4, 4, 4, 4, 1, 0, Duration.ZERO);
+        service = new EmployeeService(
+                repository, new EmployeeSnapshotStore(Duration.ZERO, 4), bulkheads, SCANNER, idempotency());
+        EmployeeService emptyService = new EmployeeService(
+                repository, new EmployeeSnapshotStore(Duration.ZERO, 4), bulkheads, SCANNER, idempotency());
+        when(repository.getAll()).thenReturn(List.of(emp1));
+        service.getAllEmployees();
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread occupant = new Thread(() -> {
+            try {
+                bulkheads.bulk().call(() -> {
+                    running.countDown();
+                    return release.await(1, TimeUnit.MINUTES);
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        occupant.start();
+        running.await();
+        try {
+            assertEquals(List.of(emp1), service.getAllEmployees());
+            assertThrows(BulkheadFullException.class, () -> emptyService.getAllEmployees());
+            verify(repository, times(1)).getAll();
+        } finally {
+            release.countDown();
+            occupant.join();
+        }
+    }
 }
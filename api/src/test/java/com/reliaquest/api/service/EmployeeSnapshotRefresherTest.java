@@ -0,0 +1,144 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.cache.EmployeeSnapshotStore;
+import com.reliaquest.api.exception.EmployeeException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.RefreshOutcome;
+import com.reliaquest.api.model.RefreshStatus;
+import com.reliaquest.api.repository.IEmployeeRepository;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Unit tests for {@link EmployeeSnapshotRefresher}.
+ * <p>
+ * Verifies that the refresh interval adapts to change rate and upstream throttling, that refreshing
+ * pauses while employee data is not read, and that a snapshot is held fresh no longer than the maximum
+ * interval.
+ *
+ * @author skurade
+ */
+@ExtendWith(MockitoExtension.class)
+class EmployeeSnapshotRefresherTest {
+
+    @Mock
+    private IEmployeeRepository repository;
+
+    private EmployeeSnapshotStore store;
+    private EmployeeSnapshotRefresher refresher;
+
+    private final Employee emp1 = new Employee("1", "John", 1000, 30, "Dev", "john@company.com");
+    private final Employee emp2 = new Employee("2", "Jane", 2000, 28, "QA", "jane@company.com");
+
+    /**
+     * Initializes the store and refresher before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        store = new EmployeeSnapshotStore(Duration.ZERO, 4);
+        refresher = new EmployeeSnapshotRefresher(
+                repository, store, true, Duration.ofMillis(100), Duration.ofSeconds(10), Duration.ofMinutes(1));
+    }
+
+    /**
+     * Tests that nothing is fetched from upstream while employee data has not been read.
+     */
+    @Test
+    void testIdleWithoutReads() throws EmployeeException {
+        refresher.refreshOnce();
+        assertEquals(RefreshOutcome.IDLE, refresher.status().getLastOutcome());
+        verify(repository, never()).getAll();
+    }
+
+    /**
+     * Tests that the interval lengthens while data does not change
+     * and the refreshed snapshot is held fresh until the next refresh.
+     */
+    @Test
+    void testUnchangedDataLengthensInterval() throws EmployeeException {
+        when(repository.getAll()).thenReturn(List.of(emp1));
+        store.markRead();
+
+        refresher.refreshOnce();
+        assertEquals(RefreshOutcome.CHANGED, refresher.status().getLastOutcome());
+        Duration afterChange = refresher.status().getInterval();
+
+        refresher.refreshOnce();
+        RefreshStatus status = refresher.status();
+        assertEquals(RefreshOutcome.UNCHANGED, status.getLastOutcome());
+        assertTrue(status.getInterval().compareTo(afterChange) > 0);
+        assertNotNull(status.getLastLatency());
+        assertTrue(store.isFresh());
+    }
+
+    /**
+     * Tests that the hold after a refresh never outlasts the maximum interval, even when the next refresh
+     * plus its latency margin is later than that.
+     */
+    @Test
+    void testHoldIsBoundedByMaxInterval() throws Exception {
+        refresher = new EmployeeSnapshotRefresher(
+                repository, store, true, Duration.ofMillis(100), Duration.ofMillis(300), Duration.ofMinutes(1));
+        when(repository.getAll()).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return List.of(emp1);
+        });
+        store.markRead();
+
+        refresher.refreshOnce();
+        assertTrue(store.isFresh());
+        Thread.sleep(500);
+        assertFalse(store.isFresh());
+    }
+
+    /**
+     * Tests that the interval shortens while data changes on every refresh.
+     */
+    @Test
+    void testChangingDataShortensInterval() throws EmployeeException {
+        when(repository.getAll())
+                .thenReturn(List.of(emp1))
+                .thenReturn(List.of(emp1, emp2))
+                .thenReturn(List.of(emp2));
+        store.markRead();
+        Duration initial = refresher.status().getInterval();
+
+        refresher.refreshOnce();
+        refresher.refreshOnce();
+        refresher.refreshOnce();
+        assertTrue(refresher.status().getChangeRate() > 0.5);
+        assertTrue(refresher.status().getInterval().compareTo(initial) < 0);
+    }
+
+    /**
+     * Tests that a 429 from upstream is recognized and backs the interval off.
+     */
+    @Test
+    void testThrottledBacksOff() throws EmployeeException {
+        when(repository.getAll())
+                .thenReturn(List.of(emp1))
+                .thenThrow(new EmployeeException(
+                        "Error fetching all employees", new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)));
+        store.markRead();
+
+        refresher.refreshOnce();
+        Duration afterSuccess = refresher.status().getInterval();
+        refresher.refreshOnce();
+
+        RefreshStatus status = refresher.status();
+        assertEquals(RefreshOutcome.THROTTLED, status.getLastOutcome());
+        assertEquals(1, status.getConsecutiveFailures());
+        assertTrue(status.getThrottleRate() > 0);
+        assertTrue(status.getInterval().compareTo(afterSuccess) > 0);
+    }
+}
@@ -0,0 +1,91 @@
+package com.reliaquest.api.timing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Unit tests for {@link ServerTimingFilter}.
+ * <p>
+ * Verifies when requests are timed, and that the header precedes an intact body.
+ *
+ * @author skurade
+ */
+class ServerTimingFilterTest {
+
+    private final ServerTimingLog log = new ServerTimingLog(16);
+
+    /**
+     * Chain that measures one upstream call and then writes a body.
+     */
+    private final FilterChain chain = (request, response) -> {
+        ServerTiming.stop(TimingStage.UPSTREAM, ServerTiming.start());
+        ServerTiming.startSerialize();
+        ((HttpServletResponse) response).getWriter().write("[\"John\"]");
+    };
+
+    /**
+     * Tests that a request sending the toggle header receives the breakdown and its full body,
+     * without being recorded in the log.
+     */
+    @Test
+    void testToggledRequestReceivesHeader() throws ServletException, IOException {
+        ServerTimingFilter filter = new ServerTimingFilter(log, true, 0);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ServerTimingFilter.TOGGLE_HEADER, "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilterInternal(request, response, chain);
+
+        String header = response.getHeader(ServerTiming.HEADER);
+        assertNotNull(header);
+        assertTrue(header.contains("upstream;"), header);
+        assertTrue(header.contains("serialize;"), header);
+        assertTrue(header.contains("total;dur="), header);
+        assertEquals("[\"John\"]", response.getContentAsString());
+        assertTrue(log.recent().isEmpty());
+        assertNull(ServerTiming.current());
+    }
+
+    /**
+     * Tests that an ordinary request is passed through without a bound timing or header.
+     */
+    @Test
+    void testUntimedRequestPassesThrough() throws ServletException, IOException {
+        ServerTimingFilter filter = new ServerTimingFilter(log, true, 0);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ServerTimingFilter.TOGGLE_HEADER, "false");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<ServerTiming> bound = new AtomicReference<>();
+
+        filter.doFilterInternal(request, response, (req, res) -> bound.set(ServerTiming.current()));
+
+        assertNull(bound.get());
+        assertNull(response.getHeader(ServerTiming.HEADER));
+        assertTrue(log.recent().isEmpty());
+    }
+
+    /**
+     * Tests that a sampled request is recorded in the log without a header.
+     */
+    @Test
+    void testSampledRequestIsLogged() throws ServletException, IOException {
+        ServerTimingFilter filter = new ServerTimingFilter(log, true, 1);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilterInternal(request, response, chain);
+
+        assertNull(response.getHeader(ServerTiming.HEADER));
+        assertEquals(1, log.recent().size());
+        assertTrue(log.recent().get(0).getMillis().containsKey("upstream"));
+        assertEquals(200, log.recent().get(0).getStatus());
+    }
+}
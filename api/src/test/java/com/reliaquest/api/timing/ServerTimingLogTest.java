@@ -0,0 +1,38 @@
+package com.reliaquest.api.timing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.RequestTiming;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ServerTimingLog}.
+ * <p>
+ * Verifies that the log keeps only the most recent entries.
+ *
+ * @author skurade
+ */
+class ServerTimingLogTest {
+
+    /**
+     * Tests that the oldest entries are overwritten once the log is full.
+     */
+    @Test
+    void testKeepsMostRecentEntries() {
+        ServerTimingLog log = new ServerTimingLog(3);
+        assertTrue(log.recent().isEmpty());
+
+        for (int i = 1; i <= 5; i++) {
+            log.add(new RequestTiming(Instant.now(), "GET", "/api/v1/employee/" + i, 200, Map.of("total", 1.0)));
+        }
+
+        List<RequestTiming> recent = log.recent();
+        assertEquals(3, recent.size());
+        assertEquals("/api/v1/employee/5", recent.get(0).getPath());
+        assertEquals("/api/v1/employee/4", recent.get(1).getPath());
+        assertEquals("/api/v1/employee/3", recent.get(2).getPath());
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.api.timing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ServerTiming}.
+ * <p>
+ * Verifies that stages are only measured while a timing is bound, and how they are reported.
+ *
+ * @author skurade
+ */
+class ServerTimingTest {
+
+    /**
+     * Unbinds any timing after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        ServerTiming.set(null);
+    }
+
+    /**
+     * Tests that nothing is measured while no timing is bound to the thread.
+     */
+    @Test
+    void testUntimedRequestIsNotMeasured() {
+        assertNull(ServerTiming.current());
+        assertEquals(0, ServerTiming.start());
+        ServerTiming.stop(TimingStage.UPSTREAM, 0);
+        ServerTiming.startSerialize();
+        assertNull(ServerTiming.current());
+    }
+
+    /**
+     * Tests that a stage measured several times accumulates.
+     */
+    @Test
+    void testStagesAccumulate() throws InterruptedException {
+        ServerTiming timing = new ServerTiming();
+        ServerTiming.set(timing);
+
+        long start = ServerTiming.start();
+        assertNotEquals(0, start);
+        Thread.sleep(2);
+        ServerTiming.stop(TimingStage.UPSTREAM, start);
+        long first = timing.nanos(TimingStage.UPSTREAM);
+        assertTrue(first >= 2_000_000);
+
+        ServerTiming.stop(TimingStage.UPSTREAM, ServerTiming.start());
+        assertTrue(timing.nanos(TimingStage.UPSTREAM) >= first);
+        assertEquals(0, timing.nanos(TimingStage.SORT));
+    }
+
+    /**
+     * Tests that serialization lasts from its mark until the timing is finished.
+     */
+    @Test
+    void testSerializeStageEndsAtFinish() throws InterruptedException {
+        ServerTiming timing = new ServerTiming();
+        ServerTiming.set(timing);
+        ServerTiming.startSerialize();
+        Thread.sleep(2);
+        timing.finish();
+
+        assertTrue(timing.nanos(TimingStage.SERIALIZE) >= 2_000_000);
+        assertTrue(timing.totalNanos() >= timing.nanos(TimingStage.SERIALIZE));
+    }
+
+    /**
+     * Tests that only measured stages are reported, in stage order and followed by the total.
+     */
+    @Test
+    void testHeaderAndMillis() {
+        ServerTiming timing = new ServerTiming();
+        timing.add(TimingStage.SORT, 250_000);
+        timing.add(TimingStage.AUTH, 1_500_000);
+        timing.finish();
+
+        String header = timing.header();
+        String stages = "auth;desc=\"JWT validation\";dur=1.500, sort;desc=\"Sorting\";dur=0.250, ";
+        assertTrue(header.startsWith(stages + "total;dur="), header);
+        Map<String, Double> millis = timing.millis();
+        assertArrayEquals(
+                new Object[] {"auth", "sort", "total"}, millis.keySet().toArray());
+        assertEquals(1.5, (double) millis.get("auth"));
+        assertEquals(0.25, (double) millis.get("sort"));
+    }
+}
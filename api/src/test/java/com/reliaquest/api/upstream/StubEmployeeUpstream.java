@@ -0,0 +1,387 @@
+package com.reliaquest.api.upstream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the Mock Employee API, for tests at production scale.
+ * <p>
+ * It serves the same resource and JSON shape as the mock server: a list of every employee, single reads by
+ * id, creates, and deletes by name. Its data is generated from a seed, so two stubs with the same size and
+ * seed serve identical employees, as replicated upstream instances do. The list body is serialized once and
+ * reused until a write changes the data, so listing millions of employees costs little more than copying
+ * bytes. Each request may be delayed by a latency distribution and answered with 429 Too Many Requests or
+ * 500 Internal Server Error at configured rates. Whether the n-th request fails depends only on the seed and
+ * n, so a run with the same requests sees the same failures.
+ *
+ * @author skurade
+ */
+public final class StubEmployeeUpstream implements AutoCloseable {
+
+    private static final String PATH = "/api/v1/employee";
+    private static final String[] FIRST_NAMES = {
+        "Ada",
+        "Alan",
+        "Barbara",
+        "Claude",
+        "Donald",
+        "Edsger",
+        "Frances",
+        "Grace",
+        "John",
+        "Ken",
+        "Leslie",
+        "Margaret",
+        "Niklaus",
+        "Radia",
+        "Tony",
+        "Vint"
+    };
+    private static final String[] LAST_NAMES = {
+        "Allen",
+        "Hoare",
+        "Hopper",
+        "Kay",
+        "Knuth",
+        "Lamport",
+        "Liskov",
+        "Perlman",
+        "Ritchie",
+        "Shannon",
+        "Thompson",
+        "Turing",
+        "Wirth"
+    };
+    private static final String[] TITLES = {
+        "Engineer", "Senior Engineer", "Staff Engineer", "Manager", "Director", "Analyst", "Designer", "DevOps"
+    };
+
+    static {
+        // without it, small responses wait for the client's delayed acknowledgement of the headers
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Map<String, Object>> employees = new LinkedHashMap<>();
+    private final long seed;
+    private final SplittableRandom latencyRandom;
+    private final SplittableRandom idRandom;
+    private final AtomicLong requests = new AtomicLong();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private volatile Latency latency = Latency.none();
+    private volatile double tooManyRequestsRate;
+    private volatile double serverErrorRate;
+    private byte[] listBody;
+
+    /**
+     * Starts a stub on a free local port.
+     *
+     * @param size the number of employees to generate
+     * @param seed the seed the employees, latencies and failures are derived from
+     */
+    public StubEmployeeUpstream(int size, long seed) {
+        this.seed = seed;
+        this.latencyRandom = new SplittableRandom(seed);
+        this.idRandom = latencyRandom.split();
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> employee = employee(
+                    new UUID(random.nextLong(), random.nextLong()).toString(),
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                            + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + i,
+                    random.nextInt(30_000, 500_000),
+                    random.nextInt(16, 76),
+                    TITLES[random.nextInt(TITLES.length)]);
+            employees.put((String) employee.get("id"), employee);
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "stub-employee-upstream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(PATH, this::handle);
+        server.start();
+    }
+
+    /**
+     * Gets the base URL of the employee resource, as configured for an upstream instance.
+     *
+     * @return the URL
+     */
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort() + PATH;
+    }
+
+    /**
+     * Delays every request by a sample of the given distribution.
+     *
+     * @param latency the latency distribution
+     * @return this stub
+     */
+    public StubEmployeeUpstream latency(Latency latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Answers the given share of requests with 429 Too Many Requests.
+     *
+     * @param rate the share, between 0 and 1
+     * @return this stub
+     */
+    public StubEmployeeUpstream tooManyRequestsRate(double rate) {
+        this.tooManyRequestsRate = rate;
+        return this;
+    }
+
+    /**
+     * Answers the given share of requests with 500 Internal Server Error.
+     *
+     * @param rate the share, between 0 and 1
+     * @return this stub
+     */
+    public StubEmployeeUpstream serverErrorRate(double rate) {
+        this.serverErrorRate = rate;
+        return this;
+    }
+
+    /**
+     * Gets the number of requests received so far.
+     *
+     * @return the requests
+     */
+    public long requests() {
+        return requests.get();
+    }
+
+    /**
+     * Gets the status the n-th request is answered with, before it reaches the data.
+     *
+     * @param request the number of the request, from 0
+     * @return 429, 500, or 200 if the request is not failed
+     */
+    public int injectedStatus(long request) {
+        double sample = (UpstreamBalancer.mix(seed + request) >>> 11) * 0x1.0p-53;
+        if (sample < tooManyRequestsRate) {
+            return 429;
+        }
+        return sample < tooManyRequestsRate + serverErrorRate ? 500 : 200;
+    }
+
+    /**
+     * Gets the ids of the employees, in the order they are listed.
+     *
+     * @return the ids
+     */
+    public synchronized List<String> ids() {
+        return new ArrayList<>(employees.keySet());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Answers a request to the employee resource.
+     *
+     * @param exchange the request and its response
+     * @throws IOException if the response cannot be written
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            long request = requests.getAndIncrement();
+            long delayNanos;
+            synchronized (latencyRandom) {
+                delayNanos = latency.nextNanos(latencyRandom);
+            }
+            if (delayNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(delayNanos);
+            }
+            int status = injectedStatus(request);
+            if (status != 200) {
+                send(exchange, status, body(null, status == 429 ? "Too many requests" : "Internal error"));
+                return;
+            }
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            String id = path.length() > PATH.length() + 1 ? path.substring(PATH.length() + 1) : null;
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+            } else if ("GET".equals(method) && id == null) {
+                send(exchange, 200, listBody());
+            } else if ("GET".equals(method)) {
+                Map<String, Object> employee = find(id);
+                send(exchange, employee == null ? 404 : 200, body(employee, null));
+            } else if ("POST".equals(method)) {
+                send(exchange, 200, body(create(mapper.readTree(exchange.getRequestBody())), null));
+            } else if ("DELETE".equals(method)) {
+                String name =
+                        mapper.readTree(exchange.getRequestBody()).path("name").asText();
+                send(exchange, 200, body(delete(name), null));
+            } else {
+                exchange.sendResponseHeaders(405, -1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the body listing every employee, serializing it only after the data has changed.
+     *
+     * @return the body
+     * @throws IOException if the body cannot be serialized
+     */
+    private synchronized byte[] listBody() throws IOException {
+        if (listBody == null) {
+            listBody = body(employees.values(), null);
+        }
+        return listBody;
+    }
+
+    private synchronized Map<String, Object> find(String id) {
+        return employees.get(id);
+    }
+
+    private synchronized Map<String, Object> create(JsonNode input) {
+        Map<String, Object> employee = employee(
+                new UUID(idRandom.nextLong(), idRandom.nextLong()).toString(),
+                input.path("name").asText(),
+                input.path("salary").asInt(),
+                input.path("age").asInt(),
+                input.path("title").asText());
+        employees.put((String) employee.get("id"), employee);
+        listBody = null;
+        return employee;
+    }
+
+    private synchronized boolean delete(String name) {
+        boolean removed = employees.values().removeIf(employee -> name.equals(employee.get("employee_name")));
+        if (removed) {
+            listBody = null;
+        }
+        return removed;
+    }
+
+    private byte[] body(Object data, String error) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("data", data);
+        body.put("status", "Successfully processed request.");
+        if (error != null) {
+            body.put("error", error);
+        }
+        return mapper.writeValueAsBytes(body);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, Object> employee(String id, String name, int salary, int age, String title) {
+        Map<String, Object> employee = new LinkedHashMap<>();
+        employee.put("id", id);
+        employee.put("employee_name", name);
+        employee.put("employee_salary", salary);
+        employee.put("employee_age", age);
+        employee.put("employee_title", title);
+        employee.put("employee_email", name.toLowerCase().replace(' ', '.') + "@company.com");
+        return employee;
+    }
+
+    /**
+     * Distribution of the latency added to each request.
+     */
+    @FunctionalInterface
+    public interface Latency {
+
+        /**
+         * Draws a latency.
+         *
+         * @param random the seeded source of randomness
+         * @return the latency in nanoseconds
+         */
+        long nextNanos(SplittableRandom random);
+
+        /**
+         * Adds no latency.
+         *
+         * @return the distribution
+         */
+        static Latency none() {
+            return random -> 0;
+        }
+
+        /**
+         * Adds the same latency to every request.
+         *
+         * @param latency the latency
+         * @return the distribution
+         */
+        static Latency fixed(Duration latency) {
+            long nanos = latency.toNanos();
+            return random -> nanos;
+        }
+
+        /**
+         * Adds a latency drawn uniformly between two bounds.
+         *
+         * @param min the lowest latency
+         * @param max the highest latency
+         * @return the distribution
+         */
+        static Latency uniform(Duration min, Duration max) {
+            long low = min.toNanos();
+            long high = max.toNanos();
+            return random -> low >= high ? low : random.nextLong(low, high);
+        }
+
+        /**
+         * Adds a log-normally distributed latency, whose long tail resembles that of a real service.
+         *
+         * @param median the median latency
+         * @param sigma the standard deviation of the logarithm, which sets how heavy the tail is
+         * @return the distribution
+         */
+        static Latency logNormal(Duration median, double sigma) {
+            double mu = Math.log(median.toNanos());
+            return random -> {
+                // Box-Muller transform of two uniform samples into a standard normal one
+                double gaussian =
+                        Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+                return (long) Math.exp(mu + sigma * gaussian);
+            };
+        }
+    }
+}
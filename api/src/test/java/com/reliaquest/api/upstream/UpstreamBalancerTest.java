@@ -0,0 +1,208 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.UpstreamMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Unit tests for {@link UpstreamBalancer}.
+ * <p>
+ * Verifies least-outstanding selection of reads, consistent routing of writes, ejection after
+ * consecutive failures and the effect of health probes.
+ *
+ * @author skurade
+ */
+class UpstreamBalancerTest {
+
+    private static final String A = "http://localhost:8112/api/v1/employee";
+    private static final String B = "http://localhost:8113/api/v1/employee";
+    private static final String C = "http://localhost:8114/api/v1/employee";
+
+    private final Set<String> down = new HashSet<>();
+
+    /**
+     * Tests that a read goes to the instance with the fewest requests in flight.
+     */
+    @Test
+    void testReadGoesToLeastOutstanding() {
+        UpstreamBalancer balancer = balancer(A, B);
+
+        for (int i = 0; i < 20; i++) {
+            String[] inner = new String[1];
+            String outer = balancer.call(url -> {
+                inner[0] = balancer.call(Function.identity());
+                return url;
+            });
+            assertNotEquals(outer, inner[0]);
+        }
+        assertTrue(balancer.metrics().stream().allMatch(metrics -> metrics.getOutstanding() == 0));
+    }
+
+    /**
+     * Tests that writes with the same key always reach the same instance, and that keys are spread
+     * across the instances.
+     */
+    @Test
+    void testWritesAreRoutedConsistently() {
+        UpstreamBalancer balancer = balancer(A, B, C);
+        Set<String> used = new HashSet<>();
+
+        for (int i = 0; i < 100; i++) {
+            String key = "Employee " + i;
+            String url = balancer.callFor(key, Function.identity());
+            assertEquals(url, balancer.callFor(key, Function.identity()));
+            used.add(url);
+        }
+        assertEquals(Set.of(A, B, C), used);
+    }
+
+    /**
+     * Tests that a full list is read from every instance, in the configured order.
+     */
+    @Test
+    void testListsEveryInstance() {
+        UpstreamBalancer balancer = balancer(A, B, C);
+
+        assertEquals(List.of(A, B, C), balancer.callEach(Function.identity()));
+    }
+
+    /**
+     * Tests that an employee is looked for until an instance holds it, and that its owner is then asked
+     * directly, as is the owner assigned by a create.
+     */
+    @Test
+    void testCallsOwnerOfEmployee() {
+        UpstreamBalancer balancer = balancer(A, B, C);
+        List<String> asked = new ArrayList<>();
+        Function<String, String> heldByB = url -> {
+            asked.add(url);
+            return url.equals(B) ? url : null;
+        };
+
+        assertEquals(B, balancer.callOwner("1", heldByB));
+        asked.clear();
+        assertEquals(B, balancer.callOwner("1", heldByB));
+        assertEquals(List.of(B), asked);
+
+        balancer.assignOwner("2", C);
+        assertEquals(C, balancer.callOwner("2", Function.identity()));
+        balancer.forgetOwner("2");
+        assertNull(balancer.callOwner("3", url -> null));
+    }
+
+    /**
+     * Tests that an instance failing consecutive requests is ejected and its writes move to another instance.
+     */
+    @Test
+    void testEjectsAfterConsecutiveFailures() {
+        UpstreamBalancer balancer = balancer(A, B);
+        String preferred = balancer.callFor("Eve", Function.identity());
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(
+                    ResourceAccessException.class,
+                    () -> balancer.callFor("Eve", url -> {
+                        throw new ResourceAccessException("Connection refused");
+                    }));
+        }
+
+        assertNotEquals(preferred, balancer.callFor("Eve", Function.identity()));
+        UpstreamMetrics metrics = metrics(balancer, preferred);
+        assertFalse(metrics.isAvailable());
+        assertEquals(1, metrics.getEjections());
+        assertEquals(2, metrics.getFailures());
+        assertEquals(3, metrics.getRequests());
+    }
+
+    /**
+     * Tests that client errors such as 429 do not count against an instance.
+     */
+    @Test
+    void testClientErrorsDoNotEject() {
+        UpstreamBalancer balancer = balancer(A, B);
+        String preferred = balancer.callFor("Eve", Function.identity());
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(
+                    HttpClientErrorException.class,
+                    () -> balancer.callFor("Eve", url -> {
+                        throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS);
+                    }));
+        }
+
+        assertEquals(preferred, balancer.callFor("Eve", Function.identity()));
+        assertTrue(metrics(balancer, preferred).isAvailable());
+    }
+
+    /**
+     * Tests that requests are still sent when every instance is out of rotation.
+     */
+    @Test
+    void testSendsWhenNoInstanceIsAvailable() {
+        UpstreamBalancer balancer = balancer(A);
+        for (int i = 0; i < 2; i++) {
+            assertThrows(
+                    ResourceAccessException.class,
+                    () -> balancer.call(url -> {
+                        throw new ResourceAccessException("Connection refused");
+                    }));
+        }
+
+        assertFalse(metrics(balancer, A).isAvailable());
+        assertEquals(A, balancer.call(Function.identity()));
+        assertEquals(A, balancer.callFor("Eve", Function.identity()));
+    }
+
+    /**
+     * Tests that an instance failing consecutive probes leaves rotation until a probe succeeds.
+     */
+    @Test
+    void testProbesTakeInstanceOutOfRotation() {
+        UpstreamBalancer balancer = balancer(A, B);
+        down.add(A);
+
+        balancer.probeOnce();
+        assertTrue(metrics(balancer, A).isAvailable());
+        balancer.probeOnce();
+        assertFalse(metrics(balancer, A).isAvailable());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(B, balancer.call(Function.identity()));
+        }
+
+        down.clear();
+        balancer.probeOnce();
+        assertTrue(metrics(balancer, A).isAvailable());
+    }
+
+    /**
+     * Tests that probing only starts automatically when there is more than one instance.
+     */
+    @Test
+    void testProbingNeedsSeveralInstances() {
+        assertFalse(balancer(A).isAutoStartup());
+        assertTrue(balancer(A, B).isAutoStartup());
+        assertThrows(IllegalArgumentException.class, () -> balancer(" "));
+    }
+
+    private UpstreamBalancer balancer(String... urls) {
+        return new UpstreamBalancer(
+                List.of(urls), 2, Duration.ofMinutes(1), Duration.ofSeconds(1), url -> !down.contains(url));
+    }
+
+    private static UpstreamMetrics metrics(UpstreamBalancer balancer, String url) {
+        return balancer.metrics().stream()
+                .filter(metrics -> metrics.getUrl().equals(url))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.api.kernel;
+
+import java.util.Arrays;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link IntKernels} built on the incubating Vector API, processing as many lanes per instruction as the
+ * CPU's preferred vector width allows and finishing the tail of each column with scalar code.
+ * Only loaded by {@link IntKernelsHolder} when the {@code jdk.incubator.vector} module is present. This is
+ * the one class of the {@code vector} source set, the only code compiled against the module.
+ *
+ * @author skurade
+ */
+final class VectorIntKernels implements IntKernels {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public int max(int[] column) {
+        int bound = INTS.loopBound(column.length);
+        IntVector max = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int row = 0;
+        for (; row < bound; row += INTS.length()) {
+            max = max.max(IntVector.fromArray(INTS, column, row));
+        }
+        int result = max.reduceLanes(VectorOperators.MAX);
+        for (; row < column.length; row++) {
+            result = Math.max(result, column[row]);
+        }
+        return result;
+    }
+
+    @Override
+    public long sum(int[] column) {
+        // ints are widened to longs half a vector at a time, so sums of large columns cannot overflow
+        int bound = INTS.loopBound(column.length);
+        LongVector sum = LongVector.zero(LONGS);
+        int row = 0;
+        for (; row < bound; row += INTS.length()) {
+            IntVector values = IntVector.fromArray(INTS, column, row);
+            sum = sum.add(values.convertShape(VectorOperators.I2L, LONGS, 0))
+                    .add(values.convertShape(VectorOperators.I2L, LONGS, 1));
+        }
+        long result = sum.reduceLanes(VectorOperators.ADD);
+        for (; row < column.length; row++) {
+            result += column[row];
+        }
+        return result;
+    }
+
+    @Override
+    public int countInRange(int[] column, int min, int max) {
+        int bound = INTS.loopBound(column.length);
+        int count = 0;
+        int row = 0;
+        for (; row < bound; row += INTS.length()) {
+            IntVector values = IntVector.fromArray(INTS, column, row);
+            count += values.compare(VectorOperators.GE, min)
+                    .and(values.compare(VectorOperators.LE, max))
+                    .trueCount();
+        }
+        for (; row < column.length; row++) {
+            if (column[row] >= min && column[row] <= max) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int[] rowsAtLeast(int[] column, int threshold) {
+        // without a compress operation in this JDK, vectors only skip blocks holding no selected row,
+        // which pays off for selective thresholds such as top earners
+        int bound = INTS.loopBound(column.length);
+        int[] rows = new int[column.length];
+        int count = 0;
+        int row = 0;
+        for (; row < bound; row += INTS.length()) {
+            if (IntVector.fromArray(INTS, column, row)
+                    .compare(VectorOperators.GE, threshold)
+                    .anyTrue()) {
+                for (int lane = row; lane < row + INTS.length(); lane++) {
+                    if (column[lane] >= threshold) {
+                        rows[count++] = lane;
+                    }
+                }
+            }
+        }
+        for (; row < column.length; row++) {
+            if (column[row] >= threshold) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + INTS.vectorBitSize();
+    }
+}